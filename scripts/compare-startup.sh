@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Time to a healthy /actuator/health and resident memory right after startup for the regular JVM build,
+# the AOT-initialized jar on the JVM and the native executable.
+#
+#   ./mvnw -DskipTests package && cp target/calculator-0.0.1-SNAPSHOT.jar target/calculator-jvm.jar
+#   ./mvnw -Pnative -DskipTests native:compile
+#   scripts/compare-startup.sh
+set -euo pipefail
+
+PORT=${PORT:-18081}
+RUNS=${RUNS:-5}
+JVM_JAR=${JVM_JAR:-target/calculator-jvm.jar}
+AOT_JAR=${AOT_JAR:-target/calculator-0.0.1-SNAPSHOT.jar}
+NATIVE=${NATIVE:-target/calculator}
+
+measure() {
+    local name=$1
+    shift
+    for run in $(seq "$RUNS"); do
+        local start pid ready rss
+        start=$(date +%s%N)
+        "$@" --server.port="$PORT" >/dev/null 2>&1 &
+        pid=$!
+        until curl -sf "http://localhost:$PORT/actuator/health" >/dev/null; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$name exited before becoming healthy" >&2
+                exit 1
+            fi
+            sleep 0.01
+        done
+        ready=$(( ($(date +%s%N) - start) / 1000000 ))
+        rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        printf '%-8s run %d: healthy in %6d ms, RSS %5d MB\n' "$name" "$run" "$ready" $((rss / 1024))
+    done
+}
+
+measure jvm java -jar "$JVM_JAR"
+measure jvm-aot java -Dspring.aot.enabled=true -jar "$AOT_JAR"
+measure native "$NATIVE"
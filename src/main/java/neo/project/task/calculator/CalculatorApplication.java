@@ -2,8 +2,12 @@ package neo.project.task.calculator;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(CalculatorRuntimeHints.class)
 public class CalculatorApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,32 @@
+package neo.project.task.calculator;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Jackson binding hints for every class of the DTO package. Controller signatures only cover the
+ * declared request and response types; wildcard responses, error bodies, batch item wrappers and the
+ * streaming and compact credit views are otherwise invisible to the AOT engine. The package is scanned
+ * at build time, so new DTOs are picked up without touching this class.
+ */
+class CalculatorRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final String DTO_PACKAGE = "neo.project.task.calculator.DTO";
+
+    private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+        for (BeanDefinition dto : scanner.findCandidateComponents(DTO_PACKAGE)) {
+            bindingHints.registerReflectionHints(hints.reflection(), ClassUtils.resolveClassName(dto.getBeanClassName(), classLoader));
+        }
+    }
+}
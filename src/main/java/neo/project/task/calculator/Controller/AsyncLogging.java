@@ -0,0 +1,65 @@
+package neo.project.task.calculator.Controller;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puts each of the root logger's appenders behind a non-blocking {@link AsyncAppender} once the application has
+ * started, so request threads only enqueue log events and formatting and console or file I/O happen on the
+ * appender thread. The appenders are still the ones Spring Boot configures, so {@code logging.structured.*}
+ * and {@code logging.file.*} apply as usual.
+ */
+@Component
+public class AsyncLogging {
+
+    static final String APPENDER_PREFIX = "ASYNC_";
+
+    private final int queueSize;
+
+    public AsyncLogging(@Value("${calculator.logging.async-queue-size:8192}") int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            wrapRootAppenders(context, queueSize);
+        }
+    }
+
+    /**
+     * Replaces every appender of the root logger with an async appender forwarding to it; appenders that are
+     * already async are left alone, so calling this again does nothing.
+     */
+    static void wrapRootAppenders(LoggerContext context, int queueSize) {
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+        root.iteratorForAppenders().forEachRemaining(appenders::add);
+        for (Appender<ILoggingEvent> appender : appenders) {
+            if (appender instanceof AsyncAppender) {
+                continue;
+            }
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName(APPENDER_PREFIX + appender.getName());
+            async.setQueueSize(queueSize);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(true);
+            async.addAppender(appender);
+            async.start();
+            root.addAppender(async);
+            root.detachAppender(appender);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package neo.project.task.calculator.Controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import neo.project.task.calculator.DTO.BatchItemResultDto;
+import neo.project.task.calculator.DTO.CreditDto;
+import neo.project.task.calculator.DTO.LoanOfferDto;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+import neo.project.task.calculator.Service.BatchExecutor;
+import neo.project.task.calculator.Service.CreditCalculationServiceInterface;
+import neo.project.task.calculator.Service.LoanCalculatorServiceInterface;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/calculator")
+@Tag(name = "Batch Calculator API", description = "API для пакетных расчётов")
+public class BatchController {
+    private final CreditCalculationServiceInterface calculationService;
+    private final LoanCalculatorServiceInterface calculatorService;
+    private final BatchExecutor batchExecutor;
+
+    public BatchController(CreditCalculationServiceInterface calculationService, LoanCalculatorServiceInterface calculatorService,
+                           BatchExecutor batchExecutor) {
+        this.calculationService = calculationService;
+        this.calculatorService = calculatorService;
+        this.batchExecutor = batchExecutor;
+    }
+
+    @Operation(
+            summary = "Пакетный расчёт кредитов",
+            description = "Рассчитывает кредит для каждого элемента массива параллельно. Ошибки валидации и отказы возвращаются для каждого элемента отдельно, порядок ответов совпадает с порядком запросов.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Результаты по каждому элементу",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchItemResultDto.class)))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Пустой или слишком большой пакет",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping("/calc/batch")
+    public ResponseEntity<List<BatchItemResultDto<CreditDto>>> calculateBatch(@RequestBody List<ScoringDataDto> requests) {
+        log.info("Received scoring batch: size={}", requests == null ? 0 : requests.size());
+        List<BatchItemResultDto<CreditDto>> results = batchExecutor.executeResults(requests, calculationService::tryCalculateCredit);
+        log.info("Successfully processed scoring batch: size={}", results.size());
+        return ResponseEntity.ok(results);
+    }
+
+    @Operation(
+            summary = "Пакетное получение кредитных предложений",
+            description = "Вычисляет предложения для каждого запроса параллельно. Одинаковые пары сумма/срок внутри пакета рассчитываются один раз, у каждого запроса свой statementId.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Результаты по каждому элементу",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchItemResultDto.class)))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Пустой или слишком большой пакет",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping("/offers/batch")
+    public ResponseEntity<List<BatchItemResultDto<List<LoanOfferDto>>>> getLoanOffersBatch(@RequestBody List<LoanStatementRequestDto> requests) {
+        log.info("Received loan request batch: size={}", requests == null ? 0 : requests.size());
+        List<BatchItemResultDto<List<LoanOfferDto>>> results = calculatorService.processLoanRequests(requests);
+        log.info("Successfully processed loan request batch: size={}", results.size());
+        return ResponseEntity.ok(results);
+    }
+}
@@ -0,0 +1,32 @@
+package neo.project.task.calculator.Controller;
+
+import neo.project.task.calculator.DTO.ErrorResponse;
+import neo.project.task.calculator.Service.CalculationResult;
+import neo.project.task.calculator.Service.RequestValidationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Maps a {@link CalculationResult} to the HTTP response {@link ControllerException} would have produced
+ * for the equivalent exception.
+ */
+final class CalculationResponses {
+
+    private CalculationResponses() {
+    }
+
+    static ResponseEntity<?> toResponse(CalculationResult<?> result) {
+        return switch (result) {
+            case CalculationResult.Success<?> success -> ResponseEntity.ok(success.value());
+            case CalculationResult.Invalid<?> invalid -> badRequest(RequestValidationException.describe(invalid.message()));
+            case CalculationResult.Rejected<?> rejected -> badRequest(rejected.message());
+        };
+    }
+
+    private static ResponseEntity<ErrorResponse> badRequest(String message) {
+        ErrorResponse error = new ErrorResponse();
+        error.setStatus(HttpStatus.BAD_REQUEST.value());
+        error.setMessage(message);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+}
@@ -9,8 +9,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import neo.project.task.calculator.DTO.LoanOfferDto;
 import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.Service.CalculationResult;
 import neo.project.task.calculator.Service.LoanCalculatorServiceInterface;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -25,8 +26,15 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/calculator")
 @Tag(name = "Loan Calculator API", description = "API для расчёта возможности кредитации")
 public class CalculatorController {
-    @Autowired
-    private LoanCalculatorServiceInterface calculatorService;
+    private final LoanCalculatorServiceInterface calculatorService;
+    private final double logSampleRate;
+
+    public CalculatorController(LoanCalculatorServiceInterface calculatorService,
+                                @Value("${calculator.logging.sample-rate:1.0}") double logSampleRate) {
+        this.calculatorService = calculatorService;
+        this.logSampleRate = logSampleRate;
+    }
+
     @Operation(
             summary = "Получение кредитных предложений",
             description = "Вычисляет список возможных кредитных предложений по параметрам клиента.",
@@ -44,10 +52,21 @@ public class CalculatorController {
             }
     )
     @PostMapping("/offers")
-    public ResponseEntity<List<LoanOfferDto>> getLoanOffers(@RequestBody LoanStatementRequestDto request) {
-        log.info("Received loan request: {}", request);
-        List<LoanOfferDto> offers = calculatorService.processLoanRequest(request);
-        log.info("Successfully generated {} loan offers", offers.size());
-        return ResponseEntity.ok(offers);
+    public ResponseEntity<?> getLoanOffers(@RequestBody LoanStatementRequestDto request) {
+        boolean sampled = log.isInfoEnabled() && RequestLogFormatter.sampled(logSampleRate);
+        if (sampled) {
+            log.info("Received loan request: {}", RequestLogFormatter.summary(request));
+        }
+        log.debug("Loan request payload: {}", request);
+        CalculationResult<List<LoanOfferDto>> result = calculatorService.tryProcessLoanRequest(request);
+        if (result instanceof CalculationResult.Success<List<LoanOfferDto>> success) {
+            if (sampled) {
+                log.info("Successfully generated loan offers: {}", RequestLogFormatter.summary(success.value()));
+            }
+            log.debug("Loan offers payload: {}", success.value());
+        } else if (sampled) {
+            log.info("Loan offers not generated: {}", result);
+        }
+        return CalculationResponses.toResponse(result);
     }
 }
@@ -0,0 +1,34 @@
+package neo.project.task.calculator.Controller;
+
+import neo.project.task.calculator.Service.ConcurrencyLimitProperties;
+import neo.project.task.calculator.Service.ConcurrencyLimiter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers a {@link ConcurrencyLimitInterceptor} for the paths of every configured endpoint group.
+ */
+@Configuration
+public class ConcurrencyLimitConfiguration implements WebMvcConfigurer {
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final ConcurrencyLimitProperties properties;
+
+    public ConcurrencyLimitConfiguration(ObjectProvider<ConcurrencyLimiter> concurrencyLimiter,
+                                         ObjectProvider<ConcurrencyLimitProperties> properties) {
+        this.concurrencyLimiter = concurrencyLimiter.getIfAvailable();
+        this.properties = properties.getIfAvailable();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (concurrencyLimiter == null || properties == null || !properties.isEnabled()) {
+            return;
+        }
+        properties.getEndpoints().forEach((name, endpoint) -> registry
+                .addInterceptor(new ConcurrencyLimitInterceptor(concurrencyLimiter.limit(name), properties.getRetryAfter()))
+                .addPathPatterns(endpoint.getPaths()));
+    }
+}
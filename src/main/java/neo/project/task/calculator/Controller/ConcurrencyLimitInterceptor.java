@@ -0,0 +1,44 @@
+package neo.project.task.calculator.Controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import neo.project.task.calculator.Service.AdaptiveConcurrencyLimit;
+import neo.project.task.calculator.Service.ConcurrencyLimitExceededException;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Bulkhead in front of one endpoint group: a request either gets a slot of the group's
+ * {@link AdaptiveConcurrencyLimit} or fails straight away with {@link ConcurrencyLimitExceededException}.
+ * The slot is released with the request's latency, including response serialization.
+ */
+class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final Duration retryAfter;
+    private final String startAttribute;
+
+    ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimit limit, Duration retryAfter) {
+        this.limit = limit;
+        this.retryAfter = retryAfter;
+        this.startAttribute = ConcurrencyLimitInterceptor.class.getName() + "." + limit.name();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!limit.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException(limit.name(), limit.limit(), retryAfter);
+        }
+        request.setAttribute(startAttribute, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(startAttribute) instanceof Long start) {
+            request.removeAttribute(startAttribute);
+            limit.release(System.nanoTime() - start);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package neo.project.task.calculator.Controller;
 
 import neo.project.task.calculator.DTO.ErrorResponse;
+import neo.project.task.calculator.Service.ConcurrencyLimitExceededException;
 import neo.project.task.calculator.Service.LoanApplicationRejectedException;
+import neo.project.task.calculator.Service.RequestValidationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -19,11 +22,22 @@ public class ControllerException {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyLimitExceeded(ConcurrencyLimitExceededException ex) {
+        ErrorResponse error = new ErrorResponse();
+        error.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        error.setMessage(ex.getMessage());
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(error);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
         ErrorResponse error = new ErrorResponse();
         error.setStatus(HttpStatus.BAD_REQUEST.value());
-        error.setMessage("Validation error" + ex.getMessage());
+        error.setMessage(RequestValidationException.describe(ex.getMessage()));
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
@@ -2,19 +2,33 @@ package neo.project.task.calculator.Controller;
 
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import neo.project.task.calculator.DTO.CreditDto;
 import neo.project.task.calculator.DTO.LoanOfferDto;
+import neo.project.task.calculator.DTO.PaymentScheduleElementDto;
+import neo.project.task.calculator.DTO.PrepaymentRequestDto;
+import neo.project.task.calculator.DTO.PrepaymentScheduleDto;
+import neo.project.task.calculator.DTO.ScheduleFormat;
 import neo.project.task.calculator.DTO.ScoringDataDto;
+import neo.project.task.calculator.DTO.StreamingCreditDto;
+import neo.project.task.calculator.Service.CalculationResult;
 import neo.project.task.calculator.Service.CreditCalculationService;
 import neo.project.task.calculator.Service.CreditCalculationServiceInterface;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDate;
+import java.util.List;
+
 
 
 @Slf4j
@@ -22,10 +36,21 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/calculator")
 @Tag(name = "Credit Calculator API", description = "API для расчёта кредитных условий")
 public class CreditController {
+    /**
+     * Accept type that selects {@link ScheduleFormat#COLUMNAR} without the query parameter.
+     */
+    public static final String COMPACT_SCHEDULE_MEDIA_TYPE = "application/vnd.calculator.compact+json";
+
     private final CreditCalculationServiceInterface calculationService;
+    private final double logSampleRate;
+    private final int streamingMinTerm;
 
-    public CreditController(CreditCalculationService calculationService) {
+    public CreditController(CreditCalculationService calculationService,
+                            @Value("${calculator.logging.sample-rate:1.0}") double logSampleRate,
+                            @Value("${calculator.schedule-streaming.min-term:120}") int streamingMinTerm) {
         this.calculationService = calculationService;
+        this.logSampleRate = logSampleRate;
+        this.streamingMinTerm = streamingMinTerm;
     }
     @Operation(
             summary = "Рассчитать кредитные предложения",
@@ -44,10 +69,140 @@ public class CreditController {
             }
     )
     @PostMapping("/calc")
-    public ResponseEntity<CreditDto> calculate(@RequestBody ScoringDataDto request) {
-        log.info("Received scoring request: {}", request);
-        CreditDto credit = calculationService.calculateCredit(request);
-        log.info("Successfully calculated credit: {}", credit);
-        return ResponseEntity.ok(credit);
+    public ResponseEntity<?> calculate(@RequestBody ScoringDataDto request,
+                                               @Parameter(description = "Сколько первых платежей графика пропустить")
+                                               @RequestParam(required = false) Integer scheduleOffset,
+                                               @Parameter(description = "Сколько платежей графика вернуть (0 - без графика)")
+                                               @RequestParam(required = false) Integer scheduleLimit,
+                                               @Parameter(description = "Формат графика: ROWS - список платежей, COLUMNAR - массивы сумм в копейках")
+                                               @RequestParam(required = false) ScheduleFormat scheduleFormat,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        boolean sampled = log.isInfoEnabled() && RequestLogFormatter.sampled(logSampleRate);
+        if (sampled) {
+            log.info("Received scoring request: {}", RequestLogFormatter.summary(request));
+        }
+        log.debug("Scoring request payload: {}", request);
+        ScheduleFormat format = scheduleFormat != null ? scheduleFormat
+                : accept != null && accept.contains(COMPACT_SCHEDULE_MEDIA_TYPE) ? ScheduleFormat.COLUMNAR : ScheduleFormat.ROWS;
+        int offset = scheduleOffset == null ? 0 : scheduleOffset;
+        int limit = scheduleLimit == null ? Integer.MAX_VALUE : scheduleLimit;
+        if (format == ScheduleFormat.ROWS && limit != 0 && request.getTerm() != null && request.getTerm() >= streamingMinTerm) {
+            CalculationResult<StreamingCreditDto> streamed = calculationService.tryStreamCredit(request, offset, limit);
+            if (sampled && streamed instanceof CalculationResult.Success<StreamingCreditDto> success) {
+                log.info("Successfully priced credit, streaming schedule: {}", RequestLogFormatter.summary(success.value().getCredit()));
+            } else if (sampled) {
+                log.info("Credit not calculated: {}", streamed);
+            }
+            return CalculationResponses.toResponse(streamed);
+        }
+        CalculationResult<CreditDto> result;
+        if (format == ScheduleFormat.COLUMNAR) {
+            result = calculationService.tryCalculateCredit(request, offset, limit, format);
+        } else if (scheduleOffset == null && scheduleLimit == null) {
+            result = calculationService.tryCalculateCredit(request);
+        } else {
+            result = calculationService.tryCalculateCredit(request, offset, limit);
+        }
+        if (result instanceof CalculationResult.Success<CreditDto> success) {
+            if (sampled) {
+                log.info("Successfully calculated credit: {}", RequestLogFormatter.summary(success.value()));
+            }
+            log.debug("Credit payload: {}", success.value());
+        } else if (sampled) {
+            log.info("Credit not calculated: {}", result);
+        }
+        return CalculationResponses.toResponse(result);
+    }
+
+    @Operation(
+            summary = "Получить часть графика платежей",
+            description = "Пересчитывает кредит и возвращает только запрошенные строки графика: по смещению и количеству или по диапазону дат",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Строки графика платежей",
+                            content = @Content(mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = PaymentScheduleElementDto.class)))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Некорректные входные данные",
+                            content = @Content)
+            }
+    )
+    @PostMapping("/calc/schedule")
+    public ResponseEntity<?> schedule(@RequestBody ScoringDataDto request,
+                                      @RequestParam(defaultValue = "0") int offset,
+                                      @RequestParam(required = false) Integer limit,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Received schedule request: offset={}, limit={}, from={}, to={}", offset, limit, from, to);
+        CalculationResult<List<PaymentScheduleElementDto>> result = from != null || to != null
+                ? calculationService.tryCalculateSchedule(request, from, to)
+                : calculationService.tryCalculateSchedule(request, offset, limit == null ? Integer.MAX_VALUE : limit);
+        if (result instanceof CalculationResult.Success<List<PaymentScheduleElementDto>> success) {
+            log.info("Successfully calculated {} schedule rows", success.value().size());
+        } else {
+            log.info("Schedule not calculated: {}", result);
+        }
+        return CalculationResponses.toResponse(result);
+    }
+
+    @Operation(
+            summary = "Получить один платёж графика",
+            description = "Возвращает платёж с указанным номером, в том числе остаток долга после него, без построения всего графика",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Платёж графика",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = PaymentScheduleElementDto.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Некорректные входные данные",
+                            content = @Content)
+            }
+    )
+    @PostMapping("/calc/schedule/{number}")
+    public ResponseEntity<?> scheduleRow(@RequestBody ScoringDataDto request, @PathVariable int number) {
+        log.info("Received schedule row request: number={}", number);
+        CalculationResult<PaymentScheduleElementDto> result = calculationService.tryCalculateScheduleRow(request, number);
+        if (result instanceof CalculationResult.Success<PaymentScheduleElementDto>) {
+            log.info("Successfully calculated schedule row {}", number);
+        } else {
+            log.info("Schedule row {} not calculated: {}", number, result);
+        }
+        return CalculationResponses.toResponse(result);
+    }
+
+    @Operation(
+            summary = "Рассчитать частичное досрочное погашение",
+            description = "Показывает, как изменится график после одного или нескольких досрочных погашений: с сокращением срока или с уменьшением платежа. Пересчитываются только платежи после первого погашения",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "График после досрочных погашений",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = PrepaymentScheduleDto.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Некорректные входные данные",
+                            content = @Content)
+            }
+    )
+    @PostMapping("/calc/prepayment")
+    public ResponseEntity<?> prepayment(@RequestBody PrepaymentRequestDto request) {
+        log.info("Received prepayment request: mode={}, prepayments={}", request.getMode(),
+                request.getPrepayments() == null ? 0 : request.getPrepayments().size());
+        CalculationResult<PrepaymentScheduleDto> result = calculationService.tryCalculatePrepayment(request);
+        if (result instanceof CalculationResult.Success<PrepaymentScheduleDto> success) {
+            log.info("Successfully calculated prepayment: term={}, interestSaved={}", success.value().getTerm(),
+                    success.value().getInterestSaved());
+        } else {
+            log.info("Prepayment not calculated: {}", result);
+        }
+        return CalculationResponses.toResponse(result);
     }
 }
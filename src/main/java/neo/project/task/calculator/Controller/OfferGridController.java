@@ -0,0 +1,59 @@
+package neo.project.task.calculator.Controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import neo.project.task.calculator.DTO.OfferGridDto;
+import neo.project.task.calculator.DTO.OfferGridRequestDto;
+import neo.project.task.calculator.Service.CalculationResult;
+import neo.project.task.calculator.Service.OfferGridServiceInterface;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/calculator")
+@Tag(name = "Loan Calculator API", description = "API для расчёта возможности кредитации")
+public class OfferGridController {
+    private final OfferGridServiceInterface offerGridService;
+
+    public OfferGridController(OfferGridServiceInterface offerGridService) {
+        this.offerGridService = offerGridService;
+    }
+
+    @Operation(
+            summary = "Таблица ежемесячных платежей",
+            description = "Рассчитывает ежемесячные платежи для всех сумм и сроков из заданных диапазонов по каждому сочетанию страховки и зарплатного клиента за один запрос.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Таблицы платежей",
+                            content = @Content(schema = @Schema(implementation = OfferGridDto.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Некорректные диапазоны или слишком большая таблица",
+                            content = @Content
+                    )
+            }
+    )
+    @PostMapping("/offers/grid")
+    public ResponseEntity<?> getOfferGrid(@RequestBody OfferGridRequestDto request) {
+        log.info("Received offer grid request: amounts {}..{} step {}, terms {}..{} step {}",
+                request.getAmountFrom(), request.getAmountTo(), request.getAmountStep(),
+                request.getTermFrom(), request.getTermTo(), request.getTermStep());
+        CalculationResult<OfferGridDto> result = offerGridService.tryCalculateOfferGrid(request);
+        if (result instanceof CalculationResult.Success<OfferGridDto> success) {
+            log.info("Successfully calculated offer grid: {} x {}", success.value().getTerms().size(), success.value().getAmounts().size());
+        } else {
+            log.info("Offer grid not calculated: {}", result);
+        }
+        return CalculationResponses.toResponse(result);
+    }
+}
@@ -0,0 +1,105 @@
+package neo.project.task.calculator.Controller;
+
+import neo.project.task.calculator.DTO.CompactScheduleDto;
+import neo.project.task.calculator.DTO.CreditDto;
+import neo.project.task.calculator.DTO.EmploymentDto;
+import neo.project.task.calculator.DTO.LoanOfferDto;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One-line summaries of requests and responses for INFO logs. Personal data is masked and payment
+ * schedules are reduced to their size; the full payload is only logged at DEBUG.
+ */
+final class RequestLogFormatter {
+
+    private static final String MASK = "***";
+
+    private RequestLogFormatter() {
+    }
+
+    /**
+     * Decides whether to log the current request, keeping roughly {@code sampleRate} of them.
+     */
+    static boolean sampled(double sampleRate) {
+        return sampleRate >= 1.0 || sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    static String summary(LoanStatementRequestDto request) {
+        if (request == null) {
+            return "null";
+        }
+        return new StringBuilder(128)
+                .append("amount=").append(request.getAmount())
+                .append(", term=").append(request.getTerm())
+                .append(", lastName=").append(maskName(request.getLastName()))
+                .append(", email=").append(maskEmail(request.getEmail()))
+                .append(", passport=").append(maskPassport(request.getPassportSeries(), request.getPassportNumber()))
+                .toString();
+    }
+
+    static String summary(ScoringDataDto request) {
+        if (request == null) {
+            return "null";
+        }
+        EmploymentDto employment = request.getEmployment();
+        return new StringBuilder(160)
+                .append("amount=").append(request.getAmount())
+                .append(", term=").append(request.getTerm())
+                .append(", insurance=").append(request.getIsInsuranceEnabled())
+                .append(", salaryClient=").append(request.getIsSalaryClient())
+                .append(", employment=").append(employment == null ? null : employment.getEmploymentStatus())
+                .append(", lastName=").append(maskName(request.getLastName()))
+                .append(", passport=").append(maskPassport(request.getPassportSeries(), request.getPassportNumber()))
+                .toString();
+    }
+
+    static String summary(CreditDto credit) {
+        List<?> schedule = credit.getPaymentSchedule();
+        CompactScheduleDto compact = credit.getCompactSchedule();
+        int rows = schedule != null ? schedule.size()
+                : compact != null && compact.getDebtCents() != null ? compact.getDebtCents().length : 0;
+        return new StringBuilder(128)
+                .append("amount=").append(credit.getAmount())
+                .append(", term=").append(credit.getTerm())
+                .append(", rate=").append(credit.getRate())
+                .append(", monthlyPayment=").append(credit.getMonthlyPayment())
+                .append(", psk=").append(credit.getPsk())
+                .append(", scheduleRows=").append(rows)
+                .toString();
+    }
+
+    static String summary(List<LoanOfferDto> offers) {
+        if (offers.isEmpty()) {
+            return "offers=0";
+        }
+        LoanOfferDto best = offers.get(0);
+        return new StringBuilder(96)
+                .append("offers=").append(offers.size())
+                .append(", statementId=").append(best.getStatementId())
+                .append(", rates=").append(best.getRate()).append("..").append(offers.get(offers.size() - 1).getRate())
+                .toString();
+    }
+
+    static String maskName(String name) {
+        return name == null || name.isEmpty() ? name : name.charAt(0) + MASK;
+    }
+
+    static String maskEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.indexOf('@');
+        return at <= 0 ? MASK : email.charAt(0) + MASK + email.substring(at);
+    }
+
+    static String maskPassport(String series, String number) {
+        if (number == null || number.length() < 2) {
+            return MASK;
+        }
+        return MASK + " " + MASK + number.substring(number.length() - 2);
+    }
+}
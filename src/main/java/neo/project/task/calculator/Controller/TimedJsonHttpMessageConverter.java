@@ -0,0 +1,64 @@
+package neo.project.task.calculator.Controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import neo.project.task.calculator.DTO.BatchItemResultDto;
+import neo.project.task.calculator.DTO.CreditDto;
+import neo.project.task.calculator.DTO.LoanOfferDto;
+import neo.project.task.calculator.DTO.OfferGridDto;
+import neo.project.task.calculator.DTO.PaymentScheduleElementDto;
+import neo.project.task.calculator.DTO.StreamingCreditDto;
+import neo.project.task.calculator.Service.CalculationMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * The application's JSON converter. Replaces the auto-configured one with the same {@link ObjectMapper} and
+ * records how long each calculation response takes to serialize as the
+ * {@link CalculationMetrics.Stage#SERIALIZATION} stage.
+ */
+@Component
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final CalculationMetrics metrics;
+
+    public TimedJsonHttpMessageConverter(ObjectMapper objectMapper, ObjectProvider<CalculationMetrics> metrics) {
+        super(objectMapper);
+        this.metrics = metrics.getIfAvailable();
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        CalculationMetrics.Pipeline pipeline = metrics == null ? null : pipelineOf(object);
+        if (pipeline == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        super.writeInternal(object, type, outputMessage);
+        metrics.record(pipeline, CalculationMetrics.Stage.SERIALIZATION, start);
+    }
+
+    static CalculationMetrics.Pipeline pipelineOf(Object body) {
+        Object sample = first(body);
+        if (sample instanceof BatchItemResultDto<?> item) {
+            sample = first(item.getResult());
+        }
+        if (sample instanceof CreditDto || sample instanceof StreamingCreditDto || sample instanceof PaymentScheduleElementDto) {
+            return CalculationMetrics.Pipeline.CREDIT;
+        }
+        if (sample instanceof OfferGridDto) {
+            return CalculationMetrics.Pipeline.OFFER_GRID;
+        }
+        return sample instanceof LoanOfferDto ? CalculationMetrics.Pipeline.OFFERS : null;
+    }
+
+    private static Object first(Object body) {
+        return body instanceof List<?> list && !list.isEmpty() ? list.get(0) : body;
+    }
+}
@@ -0,0 +1,7 @@
+package neo.project.task.calculator.DTO;
+
+public enum ApplicationStatus {
+    PREAPPROVAL,
+    CC_APPROVED,
+    CC_DENIED
+}
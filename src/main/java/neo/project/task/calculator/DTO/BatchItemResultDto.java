@@ -0,0 +1,22 @@
+package neo.project.task.calculator.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Результат обработки одного элемента пакетного запроса")
+public class BatchItemResultDto<T> {
+    @Schema(description = "Позиция элемента во входном массиве", example = "0")
+    private int index;
+
+    @Schema(description = "Статус обработки", example = "OK")
+    private BatchItemStatus status;
+
+    @Schema(description = "Результат расчёта, если статус OK")
+    private T result;
+
+    @Schema(description = "Причина ошибки или отказа", example = "Отказано в одобрении")
+    private String message;
+}
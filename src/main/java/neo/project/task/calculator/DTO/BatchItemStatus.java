@@ -0,0 +1,8 @@
+package neo.project.task.calculator.DTO;
+
+public enum BatchItemStatus {
+    OK,
+    VALIDATION_ERROR,
+    REJECTED,
+    ERROR
+}
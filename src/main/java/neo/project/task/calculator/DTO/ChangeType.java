@@ -0,0 +1,6 @@
+package neo.project.task.calculator.DTO;
+
+public enum ChangeType {
+    AUTOMATIC,
+    MANUAL
+}
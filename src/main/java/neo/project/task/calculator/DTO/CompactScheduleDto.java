@@ -0,0 +1,28 @@
+package neo.project.task.calculator.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Schema(description = "График платежей в колоночном виде: строка i - платёж номер firstNumber + i с датой startDate + (firstNumber + i) месяцев, суммы в копейках")
+public class CompactScheduleDto {
+    @Schema(description = "Дата выдачи кредита, от которой отсчитываются даты платежей", example = "2025-06-01")
+    private LocalDate startDate;
+
+    @Schema(description = "Номер первого платежа в массивах", example = "1")
+    private int firstNumber;
+
+    @Schema(description = "Общая сумма каждого платежа в копейках", example = "4500000")
+    private long totalPaymentCents;
+
+    @Schema(description = "Процент по кредиту в копейках, по платежам")
+    private long[] interestCents;
+
+    @Schema(description = "Погашение основного долга в копейках, по платежам")
+    private long[] debtCents;
+
+    @Schema(description = "Оставшийся долг в копейках после каждого платежа")
+    private long[] remainingDebtCents;
+}
@@ -1,5 +1,6 @@
 package neo.project.task.calculator.DTO;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
@@ -29,6 +30,11 @@ public class CreditDto {
     @Schema(description = "Зарплатный клиент", example = "false")
     private Boolean isSalaryClient;
 
-    @Schema(description = "График платежей")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "График платежей (может быть неполным или отсутствовать, если запрошено окно графика)")
     private List<PaymentScheduleElementDto> paymentSchedule;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "График платежей в колоночном виде, если он запрошен вместо paymentSchedule")
+    private CompactScheduleDto compactSchedule;
 }
@@ -1,10 +1,12 @@
 package neo.project.task.calculator.DTO;
 import lombok.Data;
 
+import java.util.UUID;
+
 @Data
 public class EmailMessage {
     private String address;
-    private Enum theme;
-    private Long statementId;
+    private EmailTheme theme;
+    private UUID statementId;
     private String text;
 }
@@ -0,0 +1,5 @@
+package neo.project.task.calculator.DTO;
+
+public enum EmailTheme {
+    FINISH_REGISTRATION
+}
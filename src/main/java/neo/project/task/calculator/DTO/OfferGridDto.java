@@ -0,0 +1,20 @@
+package neo.project.task.calculator.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Schema(description = "Таблица ежемесячных платежей по суммам и срокам для каждого сочетания страховки и зарплатного клиента")
+public class OfferGridDto {
+    @Schema(description = "Суммы - столбцы таблиц")
+    private List<BigDecimal> amounts;
+
+    @Schema(description = "Сроки (месяцы) - строки таблиц")
+    private List<Integer> terms;
+
+    @Schema(description = "Таблицы по сочетаниям условий, по возрастанию ставки")
+    private List<OfferGridMatrixDto> offers;
+}
@@ -0,0 +1,23 @@
+package neo.project.task.calculator.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Schema(description = "Ежемесячные платежи для одного сочетания условий")
+public class OfferGridMatrixDto {
+    @Schema(description = "Процентная ставка", example = "9.5")
+    private BigDecimal rate;
+
+    @Schema(description = "Включено страхование", example = "true")
+    private Boolean isInsuranceEnabled;
+
+    @Schema(description = "Является зарплатным клиентом", example = "false")
+    private Boolean isSalaryClient;
+
+    @Schema(description = "Ежемесячный платёж: monthlyPayments[i][j] - срок terms[i], сумма amounts[j]")
+    private List<List<BigDecimal>> monthlyPayments;
+}
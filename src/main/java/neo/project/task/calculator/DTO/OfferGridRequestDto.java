@@ -0,0 +1,28 @@
+package neo.project.task.calculator.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Schema(description = "Диапазоны сумм и сроков для таблицы ежемесячных платежей; границы включаются")
+public class OfferGridRequestDto {
+    @Schema(description = "Минимальная сумма", example = "100000")
+    private BigDecimal amountFrom;
+
+    @Schema(description = "Максимальная сумма", example = "1000000")
+    private BigDecimal amountTo;
+
+    @Schema(description = "Шаг суммы", example = "100000")
+    private BigDecimal amountStep;
+
+    @Schema(description = "Минимальный срок (месяцы)", example = "6")
+    private Integer termFrom;
+
+    @Schema(description = "Максимальный срок (месяцы)", example = "60")
+    private Integer termTo;
+
+    @Schema(description = "Шаг срока (месяцы)", example = "6")
+    private Integer termStep;
+}
@@ -0,0 +1,16 @@
+package neo.project.task.calculator.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Schema(description = "Частичное досрочное погашение")
+public class PrepaymentDto {
+    @Schema(description = "Номер платежа, вместе с которым вносится досрочное погашение", example = "12")
+    private Integer month;
+
+    @Schema(description = "Сумма досрочного погашения", example = "100000.00")
+    private BigDecimal amount;
+}
@@ -0,0 +1,12 @@
+package neo.project.task.calculator.DTO;
+
+public enum PrepaymentMode {
+    /**
+     * Keep the monthly payment and finish the loan earlier.
+     */
+    REDUCE_TERM,
+    /**
+     * Keep the end date and lower the monthly payment.
+     */
+    REDUCE_PAYMENT
+}
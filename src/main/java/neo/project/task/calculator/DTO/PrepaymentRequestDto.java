@@ -0,0 +1,19 @@
+package neo.project.task.calculator.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "Расчёт графика при частичных досрочных погашениях")
+public class PrepaymentRequestDto {
+    @Schema(description = "Данные кредита, как для /calculator/calc")
+    private ScoringDataDto scoring;
+
+    @Schema(description = "Что уменьшать после каждого погашения", example = "REDUCE_TERM")
+    private PrepaymentMode mode;
+
+    @Schema(description = "Досрочные погашения")
+    private List<PrepaymentDto> prepayments;
+}
@@ -0,0 +1,23 @@
+package neo.project.task.calculator.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Schema(description = "График после досрочных погашений; платежи до первого погашения включительно не меняются и не возвращаются")
+public class PrepaymentScheduleDto {
+    @Schema(description = "Срок кредита после погашений (месяцы)", example = "98")
+    private Integer term;
+
+    @Schema(description = "Ежемесячный платёж после последнего погашения", example = "41000.00")
+    private BigDecimal monthlyPayment;
+
+    @Schema(description = "Экономия на процентах по сравнению с графиком без погашений", example = "152000.00")
+    private BigDecimal interestSaved;
+
+    @Schema(description = "Платежи после первого досрочного погашения")
+    private List<PaymentScheduleElementDto> paymentSchedule;
+}
@@ -0,0 +1,12 @@
+package neo.project.task.calculator.DTO;
+
+public enum ScheduleFormat {
+    /**
+     * {@link CreditDto#getPaymentSchedule()}: one object per payment.
+     */
+    ROWS,
+    /**
+     * {@link CreditDto#getCompactSchedule()}: parallel arrays of kopecks.
+     */
+    COLUMNAR
+}
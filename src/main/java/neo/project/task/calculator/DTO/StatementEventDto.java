@@ -0,0 +1,21 @@
+package neo.project.task.calculator.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one offer or credit calculation for downstream services. {@code statementId} is the id
+ * stamped on the offers; credit calculations carry none and are identified by {@code correlationId}
+ * instead, which is derived from the applicant's passport and the requested amount and term, so repeated
+ * calculations of the same credit share it.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StatementEventDto {
+    private UUID statementId;
+    private UUID correlationId;
+    private StatementStatusHistoryDto status;
+    private EmailMessage email;
+}
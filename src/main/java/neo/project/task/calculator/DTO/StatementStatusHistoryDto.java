@@ -6,7 +6,7 @@ import java.time.LocalDateTime;
 
 @Data
 public class StatementStatusHistoryDto {
-    private Enum status;
+    private ApplicationStatus status;
     private LocalDateTime time;
-    private Enum changeType;
+    private ChangeType changeType;
 }
@@ -0,0 +1,20 @@
+package neo.project.task.calculator.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+/**
+ * Serializes exactly like a {@link CreditDto} with its payment schedule, but the rows come from an
+ * {@link Iterable} that computes them while Jackson writes the array, after the headline fields.
+ */
+@Data
+@Schema(implementation = CreditDto.class)
+public class StreamingCreditDto {
+    @JsonUnwrapped
+    private CreditDto credit;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Iterable<PaymentScheduleElementDto> paymentSchedule;
+}
@@ -0,0 +1,99 @@
+package neo.project.task.calculator.Service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit of one endpoint group, adjusted from observed latency (AIMD). While requests finish within
+ * the latency threshold and at least half of the limit is in use, the limit grows by one per limit's worth of
+ * requests. A slower request multiplies it by the backoff ratio, at most once per threshold interval so one
+ * burst of slow responses counts as a single congestion signal. Requests over the limit are rejected, never queued.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+    private double estimate;
+    private long lastBackoffNanos;
+
+    public AdaptiveConcurrencyLimit(String name, ConcurrencyLimitProperties.Endpoint config) {
+        this(name, config, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(String name, ConcurrencyLimitProperties.Endpoint config, LongSupplier clock) {
+        if (config.getMinLimit() < 1 || config.getMaxLimit() < config.getMinLimit()) {
+            throw new IllegalArgumentException("Invalid concurrency limit range for " + name + ": "
+                    + config.getMinLimit() + " - " + config.getMaxLimit());
+        }
+        if (config.getBackoffRatio() <= 0 || config.getBackoffRatio() >= 1) {
+            throw new IllegalArgumentException("Backoff ratio of " + name + " must be within (0, 1): " + config.getBackoffRatio());
+        }
+        this.name = name;
+        this.minLimit = config.getMinLimit();
+        this.maxLimit = config.getMaxLimit();
+        this.latencyThresholdNanos = config.getLatencyThreshold().toNanos();
+        this.backoffRatio = config.getBackoffRatio();
+        this.clock = clock;
+        this.estimate = Math.clamp(config.getInitialLimit(), minLimit, maxLimit);
+        this.limit = (int) estimate;
+        this.lastBackoffNanos = clock.getAsLong() - latencyThresholdNanos;
+    }
+
+    /**
+     * Takes a slot if one is free; every successful call must be paired with {@link #release}.
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        onSample(latencyNanos, inFlightBefore);
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightBefore) {
+        if (latencyNanos > latencyThresholdNanos) {
+            long now = clock.getAsLong();
+            if (now - lastBackoffNanos >= latencyThresholdNanos) {
+                lastBackoffNanos = now;
+                estimate = Math.max(minLimit, estimate * backoffRatio);
+            }
+        } else if (inFlightBefore * 2 >= limit) {
+            estimate = Math.min(maxLimit, estimate + 1 / estimate);
+        }
+        limit = (int) estimate;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+}
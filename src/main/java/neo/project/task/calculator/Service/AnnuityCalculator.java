@@ -0,0 +1,38 @@
+package neo.project.task.calculator.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Annuity math shared by the offers and the scoring calculations, so both endpoints price the same
+ * rate and term to the cent. The discount factor {@code (1 + r)^-n} is evaluated with a fixed 10-digit
+ * {@link MathContext}, which keeps the cost independent of the term.
+ */
+public final class AnnuityCalculator {
+
+    public static final int MONTHLY_RATE_SCALE = 10;
+    public static final MathContext FACTOR_CONTEXT = new MathContext(10);
+
+    private static final BigDecimal MONTHS_PERCENT = BigDecimal.valueOf(12 * 100);
+
+    private AnnuityCalculator() {
+    }
+
+    public static BigDecimal monthlyRate(BigDecimal annualRate) {
+        return annualRate.divide(MONTHS_PERCENT, MONTHLY_RATE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    public static BigDecimal denominator(BigDecimal monthlyRate, int term) {
+        BigDecimal pow = monthlyRate.add(BigDecimal.ONE).pow(-term, FACTOR_CONTEXT);
+        return BigDecimal.ONE.subtract(pow);
+    }
+
+    public static BigDecimal monthlyPayment(BigDecimal amount, BigDecimal monthlyRate, BigDecimal denominator) {
+        return amount.multiply(monthlyRate).divide(denominator, RoundingMode.HALF_UP);
+    }
+
+    public static BigDecimal monthlyPayment(BigDecimal amount, BigDecimal monthlyRate, int term) {
+        return monthlyPayment(amount, monthlyRate, denominator(monthlyRate, term));
+    }
+}
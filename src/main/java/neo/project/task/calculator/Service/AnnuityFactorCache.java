@@ -0,0 +1,94 @@
+package neo.project.task.calculator.Service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Bounded cache of annuity denominators {@code 1 - (1 + r)^-n} keyed by monthly rate and term, shared by
+ * both calculation services.
+ */
+@Slf4j
+@Component
+public class AnnuityFactorCache implements MeterBinder {
+
+    private final BoundedFifoCache<Key, BigDecimal> denominators;
+    private final List<BigDecimal> warmUpRates;
+    private final int warmUpMaxTerm;
+
+    @Autowired
+    public AnnuityFactorCache(@Value("${calculator.annuity-cache.max-size:4096}") int maxSize,
+                              @Value("${calculator.annuity-cache.warm-up.rates:}") List<BigDecimal> warmUpRates,
+                              @Value("${calculator.annuity-cache.warm-up.max-term:0}") int warmUpMaxTerm) {
+        this.denominators = new BoundedFifoCache<>(maxSize);
+        this.warmUpRates = List.copyOf(warmUpRates);
+        this.warmUpMaxTerm = warmUpMaxTerm;
+    }
+
+    public BigDecimal denominator(BigDecimal monthlyRate, int term) {
+        return denominators.get(new Key(monthlyRate, term), key -> AnnuityCalculator.denominator(key.monthlyRate(), key.term()));
+    }
+
+    public BigDecimal monthlyPayment(BigDecimal amount, BigDecimal monthlyRate, int term) {
+        return AnnuityCalculator.monthlyPayment(amount, monthlyRate, denominator(monthlyRate, term));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmUpRates.isEmpty() || warmUpMaxTerm <= 0) {
+            return;
+        }
+        for (BigDecimal annualRate : warmUpRates) {
+            BigDecimal monthlyRate = AnnuityCalculator.monthlyRate(annualRate);
+            for (int term = 1; term <= warmUpMaxTerm; term++) {
+                denominator(monthlyRate, term);
+            }
+        }
+        log.info("Annuity factor cache warmed up: rates={}, maxTerm={}, size={}", warmUpRates, warmUpMaxTerm, size());
+    }
+
+    public int size() {
+        return denominators.size();
+    }
+
+    public long hitCount() {
+        return denominators.hitCount();
+    }
+
+    public long missCount() {
+        return denominators.missCount();
+    }
+
+    public void clear() {
+        denominators.clear();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("calculator.annuity.cache.hits", denominators, BoundedFifoCache::hitCount)
+                .description("Annuity factor cache hits")
+                .register(registry);
+        FunctionCounter.builder("calculator.annuity.cache.misses", denominators, BoundedFifoCache::missCount)
+                .description("Annuity factor cache misses")
+                .register(registry);
+        FunctionCounter.builder("calculator.annuity.cache.evictions", denominators, BoundedFifoCache::evictionCount)
+                .description("Annuity factor cache evictions")
+                .register(registry);
+        Gauge.builder("calculator.annuity.cache.size", denominators, BoundedFifoCache::size)
+                .description("Number of cached annuity factors")
+                .register(registry);
+    }
+
+    private record Key(BigDecimal monthlyRate, int term) {
+    }
+}
@@ -0,0 +1,137 @@
+package neo.project.task.calculator.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import neo.project.task.calculator.DTO.BatchItemResultDto;
+import neo.project.task.calculator.DTO.BatchItemStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Runs every item of a batch on its own virtual thread. A semaphore shared by all batches caps how many
+ * items are computed at once. Validation errors and rejections are reported per item instead of failing
+ * the whole batch.
+ */
+@Slf4j
+@Component
+public class BatchExecutor {
+
+    private final int maxBatchSize;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public BatchExecutor(@Value("${calculator.batch.parallelism:64}") int parallelism,
+                         @Value("${calculator.batch.max-size:10000}") int maxBatchSize) {
+        if (parallelism <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch parallelism and size must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.permits = new Semaphore(parallelism);
+    }
+
+    /**
+     * Runs {@code task} for every item; the task reports validation errors and rejections as a
+     * {@link CalculationResult} instead of throwing.
+     */
+    public <T, R> List<BatchItemResultDto<R>> executeResults(List<T> items, Function<T, CalculationResult<R>> task) {
+        if (items == null || items.isEmpty()) {
+            throw new RequestValidationException("Batch must contain at least one item", List.of("batch"));
+        }
+        if (items.size() > maxBatchSize) {
+            throw new RequestValidationException("Batch must not contain more than " + maxBatchSize + " items", List.of("batch"));
+        }
+        List<Future<BatchItemResultDto<R>>> futures = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            int index = i;
+            T item = items.get(i);
+            futures.add(executor.submit(() -> runWithPermit(index, item, task)));
+        }
+        List<BatchItemResultDto<R>> results = new ArrayList<>(items.size());
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(await(i, futures.get(i)));
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T, R> BatchItemResultDto<R> runWithPermit(int index, T item, Function<T, CalculationResult<R>> task)
+            throws InterruptedException {
+        permits.acquire();
+        try {
+            return runResult(index, item, task);
+        } finally {
+            permits.release();
+        }
+    }
+
+    static <T, R> BatchItemResultDto<R> runResult(int index, T item, Function<T, CalculationResult<R>> task) {
+        BatchItemResultDto<R> result = new BatchItemResultDto<>();
+        result.setIndex(index);
+        if (item == null) {
+            result.setStatus(BatchItemStatus.VALIDATION_ERROR);
+            result.setMessage(RequestValidationException.describe("item must not be null"));
+            return result;
+        }
+        try {
+            switch (task.apply(item)) {
+                case CalculationResult.Success<R> success -> {
+                    result.setStatus(BatchItemStatus.OK);
+                    result.setResult(success.value());
+                }
+                case CalculationResult.Invalid<R> invalid -> {
+                    result.setStatus(BatchItemStatus.VALIDATION_ERROR);
+                    result.setMessage(RequestValidationException.describe(invalid.message()));
+                }
+                case CalculationResult.Rejected<R> rejected -> {
+                    result.setStatus(BatchItemStatus.REJECTED);
+                    result.setMessage(rejected.message());
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Batch item {} failed", index, ex);
+            return failed(index);
+        }
+        return result;
+    }
+
+    /**
+     * A failure to obtain one item's result, including an error the task let escape, is reported as that item's
+     * {@link BatchItemStatus#ERROR}. Once interrupted, the remaining items are cancelled and reported the same way.
+     */
+    private static <R> BatchItemResultDto<R> await(int index, Future<BatchItemResultDto<R>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            log.warn("Batch item {} was interrupted", index);
+        } catch (ExecutionException | CancellationException ex) {
+            log.warn("Batch item {} failed", index, ex.getCause());
+        }
+        return failed(index);
+    }
+
+    private static <R> BatchItemResultDto<R> failed(int index) {
+        BatchItemResultDto<R> result = new BatchItemResultDto<>();
+        result.setIndex(index);
+        result.setStatus(BatchItemStatus.ERROR);
+        result.setMessage("Unexpected error occurred");
+        return result;
+    }
+}
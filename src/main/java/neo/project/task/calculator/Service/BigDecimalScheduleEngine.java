@@ -0,0 +1,147 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.PaymentScheduleElementDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reference engine. A window that starts past the first {@link ScheduleRowCalculator#CHECKPOINT_STRIDE} payments,
+ * including a single row, starts from the nearest remaining-debt checkpoint of the loan instead of replaying
+ * every payment before it. Checkpoints are computed once per loan and kept in a bounded cache.
+ */
+@Component
+@ConditionalOnProperty(name = "calculator.schedule-engine", havingValue = "bigdecimal", matchIfMissing = true)
+public class BigDecimalScheduleEngine implements PaymentScheduleEngineInterface {
+
+    private static final int DEFAULT_CHECKPOINT_CACHE_SIZE = 1024;
+
+    private final BoundedFifoCache<Loan, BigDecimal[]> checkpoints;
+
+    public BigDecimalScheduleEngine() {
+        this(DEFAULT_CHECKPOINT_CACHE_SIZE);
+    }
+
+    @Autowired
+    public BigDecimalScheduleEngine(@Value("${calculator.schedule-row-cache.max-size:1024}") int checkpointCacheSize) {
+        this.checkpoints = new BoundedFifoCache<>(checkpointCacheSize);
+    }
+
+    @Override
+    public List<PaymentScheduleElementDto> buildSchedule(BigDecimal amount, int term, BigDecimal rate, BigDecimal monthlyPayment,
+                                                         int offset, int limit) {
+        RowIterator rows = rows(amount, term, rate, monthlyPayment, offset, limit);
+        List<PaymentScheduleElementDto> list = new ArrayList<>(rows.remaining());
+        while (rows.hasNext()) {
+            list.add(rows.next());
+        }
+        return list;
+    }
+
+    @Override
+    public Iterator<PaymentScheduleElementDto> scheduleRows(BigDecimal amount, int term, BigDecimal rate, BigDecimal monthlyPayment,
+                                                            int offset, int limit) {
+        return rows(amount, term, rate, monthlyPayment, offset, limit);
+    }
+
+    int checkpointCacheSize() {
+        return checkpoints.size();
+    }
+
+    private RowIterator rows(BigDecimal amount, int term, BigDecimal rate, BigDecimal monthlyPayment, int offset, int limit) {
+        int end = PaymentScheduleEngineInterface.windowEnd(term, offset, limit);
+        if (offset < ScheduleRowCalculator.CHECKPOINT_STRIDE || offset >= end) {
+            return new RowIterator(amount, 0, rate, monthlyPayment, offset, end);
+        }
+        int index = offset / ScheduleRowCalculator.CHECKPOINT_STRIDE;
+        BigDecimal[] loanCheckpoints = checkpoints.get(new Loan(amount, term, rate, monthlyPayment), BigDecimalScheduleEngine::checkpoints);
+        return new RowIterator(loanCheckpoints[index], index * ScheduleRowCalculator.CHECKPOINT_STRIDE, rate, monthlyPayment, offset, end);
+    }
+
+    /**
+     * Remaining debt before payments 1, 1 + stride, 1 + 2 * stride and so on.
+     */
+    private static BigDecimal[] checkpoints(Loan loan) {
+        BigDecimal[] remaining = new BigDecimal[loan.term() / ScheduleRowCalculator.CHECKPOINT_STRIDE + 1];
+        RowIterator rows = new RowIterator(loan.amount(), 0, loan.rate(), loan.monthlyPayment(), 0, loan.term());
+        for (int i = 0; i < remaining.length; i++) {
+            remaining[i] = rows.remaining;
+            for (int step = 0; step < ScheduleRowCalculator.CHECKPOINT_STRIDE && rows.hasNext(); step++) {
+                rows.step();
+            }
+        }
+        return remaining;
+    }
+
+    private record Loan(BigDecimal amount, int term, BigDecimal rate, BigDecimal monthlyPayment) {
+    }
+
+    private static final class RowIterator implements Iterator<PaymentScheduleElementDto> {
+        private final BigDecimal rate;
+        private final BigDecimal monthlyPayment;
+        private final BigDecimal totalPayment;
+        private final LocalDate date = LocalDate.now();
+        private final int end;
+        private BigDecimal interest;
+        private BigDecimal debt;
+        private BigDecimal remaining;
+        private int number;
+
+        /**
+         * Starts from {@code remainingDebt}, the debt left after payment {@code paid}.
+         */
+        RowIterator(BigDecimal remainingDebt, int paid, BigDecimal rate, BigDecimal monthlyPayment, int offset, int end) {
+            this.rate = rate;
+            this.monthlyPayment = monthlyPayment;
+            this.totalPayment = monthlyPayment.setScale(2, RoundingMode.HALF_UP);
+            this.end = end;
+            this.remaining = remainingDebt;
+            this.number = paid;
+            // Rows before the window are still needed for the remaining debt, just not materialized.
+            while (number < offset && number < end) {
+                step();
+            }
+        }
+
+        int remaining() {
+            return Math.max(0, end - number);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return number < end;
+        }
+
+        @Override
+        public PaymentScheduleElementDto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            step();
+            PaymentScheduleElementDto elem = new PaymentScheduleElementDto();
+            elem.setNumber(number);
+            elem.setDate(date.plusMonths(number));
+            elem.setTotalPayment(totalPayment);
+            elem.setInterestPayment(interest);
+            elem.setDebtPayment(debt);
+            elem.setRemainingDebt(remaining.compareTo(BigDecimal.ZERO) < 0 ? BigDecimal.ZERO : remaining);
+            return elem;
+        }
+
+        private void step() {
+            interest = remaining.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+            debt = monthlyPayment.subtract(interest).setScale(2, RoundingMode.HALF_UP);
+            remaining = remaining.subtract(debt).setScale(2, RoundingMode.HALF_UP);
+            number++;
+        }
+    }
+}
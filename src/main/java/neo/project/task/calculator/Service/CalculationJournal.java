@@ -0,0 +1,465 @@
+package neo.project.task.calculator.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import neo.project.task.calculator.DTO.CreditDto;
+import neo.project.task.calculator.DTO.LoanOfferDto;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+import neo.project.task.calculator.DTO.StreamingCreditDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only audit journal of every credit decision and every set of offers, in memory-mapped segment
+ * files under {@code calculator.journal.directory}. An append encodes the record straight into the mapped
+ * segment (see {@link JournalCodec}) under a short lock and does not allocate; a committer thread forces
+ * what has been appended as one group, as often as the {@link JournalSyncPolicy} asks for. The committer also
+ * keeps the next segment file created ahead of time, so a full segment is retired by swapping that one in and
+ * leaving the full segment's last force to the committer; appends never wait for a file to be created or
+ * forced. A failed append is logged and counted, never failed back to the request.
+ * <p>
+ * One journal owns its directory: it holds an exclusive lock on {@value #LOCK_FILE} there for as long as it
+ * is open, and fails to start if another process or context already holds it.
+ * <p>
+ * Positions are the segment index in the high and the offset in the low 32 bits, so they only grow.
+ */
+@Slf4j
+@Component
+public class CalculationJournal {
+
+    public static final String APPENDS = "calculator.journal.appends";
+    public static final String COMMIT_TIMER = "calculator.journal.commit";
+    public static final String ERRORS = "calculator.journal.errors";
+
+    static final String LOCK_FILE = "journal.lock";
+
+    private static final int MIN_SEGMENT_SIZE = 64 * 1024;
+    private static final long AWAIT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final JournalSyncPolicy syncPolicy;
+    private final long commitIntervalNanos;
+    private final Duration commitTimeout;
+
+    private final Object appendLock = new Object();
+    // Guards creating segment files, so the committer and an append that rolls never create the same index.
+    private final Object rollLock = new Object();
+    private FileChannel lockChannel;
+    private JournalSegment segment;
+    private JournalSegment next;
+    private final ArrayDeque<JournalSegment> retired = new ArrayDeque<>();
+    private boolean prepareFailed;
+    private volatile long appended;
+    private final AtomicLong committed = new AtomicLong();
+    private Thread committer;
+    private volatile boolean running;
+
+    private final Counter creditAppends;
+    private final Counter offersAppends;
+    private final Counter errors;
+    private final Timer commitTimer;
+    private final DistributionSummary commitBytes;
+
+    @Autowired
+    public CalculationJournal(CalculationJournalProperties properties, MeterRegistry registry) {
+        long size = properties.getSegmentSize().toBytes();
+        if (size < MIN_SEGMENT_SIZE || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("calculator.journal.segment-size must be between 64KB and 2GB: "
+                    + properties.getSegmentSize());
+        }
+        this.directory = properties.getDirectory();
+        this.segmentSize = (int) size;
+        this.syncPolicy = properties.getSyncPolicy();
+        this.commitIntervalNanos = properties.getCommitInterval().toNanos();
+        this.commitTimeout = properties.getCommitTimeout();
+
+        this.creditAppends = appendCounter(registry, "credit");
+        this.offersAppends = appendCounter(registry, "offers");
+        this.errors = Counter.builder(ERRORS)
+                .description("Calculations that could not be written to the journal")
+                .register(registry);
+        this.commitTimer = Timer.builder(COMMIT_TIMER)
+                .description("Time to force one group of journal records to disk")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(registry);
+        this.commitBytes = DistributionSummary.builder("calculator.journal.commit.size")
+                .description("Bytes forced per group commit")
+                .baseUnit("bytes")
+                .register(registry);
+
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            lockDirectory();
+            segment = openLast(JournalSegment.list(directory));
+        } catch (IOException e) {
+            unlockDirectory();
+            throw new UncheckedIOException("Cannot open calculation journal in " + directory.toAbsolutePath(), e);
+        } catch (RuntimeException e) {
+            unlockDirectory();
+            throw e;
+        }
+        appended = position(segment.index(), segment.writeOffset());
+        committed.set(appended);
+        running = true;
+        if (syncPolicy != JournalSyncPolicy.NEVER) {
+            Gauge.builder("calculator.journal.uncommitted", this, CalculationJournal::uncommittedBytes)
+                    .description("Bytes appended to the current segment but not forced yet")
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+        committer = Thread.ofPlatform().daemon().name("calculation-journal-commit").start(this::commitLoop);
+        log.info("Calculation journal: directory={}, segment={}, offset={}, sync={}", directory.toAbsolutePath(),
+                segment.file().getFileName(), segment.writeOffset(), syncPolicy);
+    }
+
+    /**
+     * Records approved and rejected credits; invalid requests are not decisions and are not recorded.
+     */
+    public void creditCalculated(ScoringDataDto scoring, CalculationResult<?> result) {
+        if (!running) {
+            return;
+        }
+        switch (result) {
+            case CalculationResult.Success<?> success -> appendCredit(scoring, credit(success.value()), null);
+            case CalculationResult.Rejected<?> rejected -> appendCredit(scoring, null, rejected.rule());
+            case CalculationResult.Invalid<?> invalid -> {
+            }
+        }
+    }
+
+    public void offersCalculated(LoanStatementRequestDto request, List<LoanOfferDto> offers) {
+        if (!running) {
+            return;
+        }
+        if (offers.size() > JournalCodec.MAX_OFFERS) {
+            errors.increment();
+            log.warn("Calculation journal: {} offers do not fit one record", offers.size());
+            return;
+        }
+        long end;
+        try {
+            synchronized (appendLock) {
+                ByteBuffer out = beginRecord(JournalCodec.offersSize(offers.size()));
+                JournalCodec.writeOffers(out, System.currentTimeMillis(), request, offers);
+                end = endRecord();
+            }
+        } catch (IOException | RuntimeException e) {
+            failed(e);
+            return;
+        }
+        offersAppends.increment();
+        awaitCommit(end);
+    }
+
+    private void appendCredit(ScoringDataDto scoring, CreditDto credit, ScoringRule rejectedBy) {
+        long end;
+        try {
+            synchronized (appendLock) {
+                ByteBuffer out = beginRecord(JournalCodec.CREDIT_SIZE);
+                JournalCodec.writeCredit(out, System.currentTimeMillis(), scoring, credit, rejectedBy);
+                end = endRecord();
+            }
+        } catch (IOException | RuntimeException e) {
+            failed(e);
+            return;
+        }
+        creditAppends.increment();
+        awaitCommit(end);
+    }
+
+    private ByteBuffer beginRecord(int payloadSize) throws IOException {
+        if (!segment.hasRoom(payloadSize)) {
+            roll();
+        }
+        return segment.beginRecord();
+    }
+
+    private long endRecord() {
+        long end = position(segment.index(), segment.endRecord());
+        appended = end;
+        return end;
+    }
+
+    /**
+     * Swaps in the segment the committer created ahead and queues the full one for its last force. Only when
+     * segments fill up faster than the committer replaces them is the next file created here.
+     */
+    private void roll() throws IOException {
+        JournalSegment full = segment;
+        synchronized (rollLock) {
+            segment = next != null ? next : JournalSegment.create(directory, full.index() + 1, segmentSize);
+            next = null;
+        }
+        if (syncPolicy == JournalSyncPolicy.NEVER) {
+            committed.accumulateAndGet(position(full.index(), full.writeOffset()), Math::max);
+        } else {
+            retired.add(full);
+        }
+        LockSupport.unpark(committer);
+        log.info("Calculation journal: rolled to {}", segment.file().getFileName());
+    }
+
+    /**
+     * Creates the segment that follows the current one, if it does not exist yet.
+     */
+    private void prepareNext() {
+        synchronized (rollLock) {
+            if (next != null) {
+                return;
+            }
+            try {
+                next = JournalSegment.create(directory, segment.index() + 1, segmentSize);
+                prepareFailed = false;
+            } catch (IOException | RuntimeException e) {
+                if (!prepareFailed) {
+                    log.warn("Calculation journal: cannot create the next segment ahead", e);
+                }
+                prepareFailed = true;
+            }
+        }
+    }
+
+    /**
+     * Opens the last segment for appending. A trailing empty segment is one created ahead and never used, so
+     * appending continues in the segment before it, which a torn record may have to be cleared from.
+     */
+    private JournalSegment openLast(List<Path> segments) throws IOException {
+        if (segments.isEmpty()) {
+            return JournalSegment.create(directory, 0, segmentSize);
+        }
+        int last = segments.size() - 1;
+        JournalSegment opened = JournalSegment.open(segments.get(last), true);
+        if (last > 0 && opened.writeOffset() == JournalSegment.HEADER_SIZE) {
+            Files.delete(segments.get(last));
+            return JournalSegment.open(segments.get(last - 1), true);
+        }
+        return opened;
+    }
+
+    /**
+     * Waits for the committer to force {@code end}, but no longer than {@code commit-timeout}: a journal that
+     * cannot force only costs the request that much latency, and the missed commit is counted as an error.
+     */
+    private void awaitCommit(long end) {
+        if (syncPolicy != JournalSyncPolicy.ALWAYS) {
+            return;
+        }
+        LockSupport.unpark(committer);
+        long deadline = System.nanoTime() + commitTimeout.toNanos();
+        while (committed.get() < end && running) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                errors.increment();
+                log.warn("Calculation journal: position {} not forced within {}", end, commitTimeout);
+                return;
+            }
+            LockSupport.parkNanos(Math.min(AWAIT_PARK_NANOS, remaining));
+        }
+    }
+
+    private void commitLoop() {
+        while (running) {
+            boolean forced = syncPolicy != JournalSyncPolicy.NEVER && commit();
+            prepareNext();
+            if (!forced || syncPolicy == JournalSyncPolicy.INTERVAL) {
+                LockSupport.parkNanos(commitIntervalNanos);
+            }
+        }
+    }
+
+    /**
+     * Forces the rest of every retired segment, then everything appended to the current segment since the last
+     * commit, as one group.
+     */
+    private boolean commit() {
+        boolean forced = false;
+        while (true) {
+            JournalSegment full;
+            synchronized (appendLock) {
+                full = retired.peek();
+            }
+            if (full == null) {
+                break;
+            }
+            if (!force(full, position(full.index(), full.writeOffset()))) {
+                return forced;
+            }
+            synchronized (appendLock) {
+                retired.poll();
+            }
+            forced = true;
+        }
+        JournalSegment target;
+        long end;
+        synchronized (appendLock) {
+            if (!retired.isEmpty()) {
+                return true;
+            }
+            target = segment;
+            end = appended;
+        }
+        return force(target, end) || forced;
+    }
+
+    private boolean force(JournalSegment target, long end) {
+        long from = committed.get();
+        if (end <= from) {
+            return false;
+        }
+        int fromOffset = segmentIndex(from) == target.index() ? offset(from) : 0;
+        long start = System.nanoTime();
+        try {
+            target.force(fromOffset, offset(end));
+        } catch (RuntimeException e) {
+            log.error("Calculation journal: force failed for {}", target.file().getFileName(), e);
+            return false;
+        }
+        commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        commitBytes.record(offset(end) - fromOffset);
+        committed.accumulateAndGet(end, Math::max);
+        return true;
+    }
+
+    /**
+     * Position after the last appended record.
+     */
+    public long appendedPosition() {
+        return appended;
+    }
+
+    /**
+     * Position up to which records are known to be on disk.
+     */
+    public long committedPosition() {
+        return committed.get();
+    }
+
+    private long uncommittedBytes() {
+        long end = appended;
+        long from = committed.get();
+        return segmentIndex(from) == segmentIndex(end) ? Math.max(0, offset(end) - offset(from)) : offset(end);
+    }
+
+    public CalculationJournalReader reader() {
+        return new CalculationJournalReader(directory);
+    }
+
+    /**
+     * Stops the committer, forces what it has not forced yet and releases the directory.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            LockSupport.unpark(committer);
+            committer.join(SHUTDOWN_TIMEOUT);
+            if (syncPolicy != JournalSyncPolicy.NEVER) {
+                commit();
+            }
+            discardNext();
+        } finally {
+            unlockDirectory();
+        }
+    }
+
+    private void discardNext() {
+        synchronized (rollLock) {
+            if (next == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(next.file());
+            } catch (IOException e) {
+                log.warn("Calculation journal: cannot remove unused segment {}", next.file().getFileName(), e);
+            }
+            next = null;
+        }
+    }
+
+    private void lockDirectory() throws IOException {
+        Path lockFile = directory.resolve(LOCK_FILE);
+        lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            throw new IllegalStateException("Calculation journal directory " + directory.toAbsolutePath()
+                    + " is already in use: " + lockFile + " is locked by another journal");
+        }
+    }
+
+    private void unlockDirectory() {
+        if (lockChannel == null) {
+            return;
+        }
+        try {
+            lockChannel.close();
+        } catch (IOException e) {
+            log.warn("Calculation journal: cannot release {}", directory.resolve(LOCK_FILE), e);
+        }
+        lockChannel = null;
+    }
+
+    private void failed(Exception e) {
+        errors.increment();
+        log.warn("Calculation journal: append failed", e);
+    }
+
+    private static CreditDto credit(Object value) {
+        return value instanceof StreamingCreditDto streaming ? streaming.getCredit() : (CreditDto) value;
+    }
+
+    static long position(long segmentIndex, int offset) {
+        return segmentIndex << 32 | offset;
+    }
+
+    static long segmentIndex(long position) {
+        return position >>> 32;
+    }
+
+    static int offset(long position) {
+        return (int) position;
+    }
+
+    private static Counter appendCounter(MeterRegistry registry, String type) {
+        return Counter.builder(APPENDS)
+                .description("Records appended to the calculation journal")
+                .tag("type", type)
+                .register(registry);
+    }
+}
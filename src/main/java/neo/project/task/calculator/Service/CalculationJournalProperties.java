@@ -0,0 +1,33 @@
+package neo.project.task.calculator.Service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Calculation journal as configured under {@code calculator.journal}. Off by default: a deployment that keeps
+ * the journal turns it on and points {@code directory} at a volume it owns.
+ */
+@Data
+@ConfigurationProperties(prefix = "calculator.journal")
+public class CalculationJournalProperties {
+
+    private boolean enabled = false;
+    private Path directory = Path.of("journal");
+    /**
+     * Size each segment file is created and mapped with; a record never spans two segments.
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    private JournalSyncPolicy syncPolicy = JournalSyncPolicy.INTERVAL;
+    /**
+     * How often {@link JournalSyncPolicy#INTERVAL} forces, and how long an idle committer parks.
+     */
+    private Duration commitInterval = Duration.ofMillis(5);
+    /**
+     * Longest an append waits for its commit under {@link JournalSyncPolicy#ALWAYS}.
+     */
+    private Duration commitTimeout = Duration.ofSeconds(1);
+}
@@ -0,0 +1,54 @@
+package neo.project.task.calculator.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads a journal directory, also while it is being appended to. Each segment is read up to its last intact
+ * record, so a record still being written ends the scan of the current segment. A lookup by statement id
+ * compares the id in place and only decodes matching records.
+ */
+public class CalculationJournalReader {
+
+    private final Path directory;
+
+    public CalculationJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Passes every record to {@code consumer}, oldest first.
+     */
+    public void scan(Consumer<JournalEntry> consumer) throws IOException {
+        read(null, consumer);
+    }
+
+    public List<JournalEntry> findByStatementId(UUID statementId) throws IOException {
+        List<JournalEntry> entries = new ArrayList<>();
+        read(statementId, entries::add);
+        return entries;
+    }
+
+    private void read(UUID statementId, Consumer<JournalEntry> consumer) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        for (Path file : JournalSegment.list(directory)) {
+            JournalSegment segment = JournalSegment.open(file, false);
+            int offset = JournalSegment.HEADER_SIZE;
+            for (int end = segment.recordEnd(offset); end > 0; end = segment.recordEnd(offset)) {
+                ByteBuffer payload = segment.payload(offset);
+                if (statementId == null || JournalCodec.hasStatementId(payload, statementId)) {
+                    consumer.accept(JournalCodec.read(payload, CalculationJournal.position(segment.index(), offset)));
+                }
+                offset = end;
+            }
+        }
+    }
+}
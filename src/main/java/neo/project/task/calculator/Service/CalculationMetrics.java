@@ -0,0 +1,144 @@
+package neo.project.task.calculator.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stage timers, rejection counters and request distributions for both calculation pipelines. All meters
+ * are registered up front (validation field counters on first use), so recording is an array lookup and
+ * a {@link Timer#record} call.
+ */
+@Component
+public class CalculationMetrics {
+
+    public static final String STAGE_TIMER = "calculator.stage";
+    public static final String REJECTIONS = "calculator.rejections";
+    public static final String REQUEST_TERM = "calculator.request.term";
+    public static final String REQUEST_AMOUNT = "calculator.request.amount";
+    public static final String COALESCED = "calculator.requests.coalesced";
+
+    private static final String VALIDATION_REASON = "validation";
+    private static final String NO_FIELD = "none";
+
+    public enum Pipeline {
+        CREDIT, OFFERS, OFFER_GRID
+    }
+
+    public enum Stage {
+        VALIDATION, SCORING, MONTHLY_PAYMENT, SCHEDULE, SERIALIZATION
+    }
+
+    private final MeterRegistry registry;
+    private final Timer[][] stageTimers;
+    private final Counter[][] ruleRejections;
+    private final DistributionSummary[] terms;
+    private final DistributionSummary[] amounts;
+    private final Counter[] coalesced;
+    private final Map<String, Counter> validationRejections = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CalculationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Pipeline[] pipelines = Pipeline.values();
+        this.stageTimers = new Timer[pipelines.length][Stage.values().length];
+        this.ruleRejections = new Counter[pipelines.length][ScoringRule.values().length];
+        this.terms = new DistributionSummary[pipelines.length];
+        this.amounts = new DistributionSummary[pipelines.length];
+        this.coalesced = new Counter[pipelines.length];
+        for (Pipeline pipeline : pipelines) {
+            String pipelineTag = tag(pipeline);
+            for (Stage stage : Stage.values()) {
+                stageTimers[pipeline.ordinal()][stage.ordinal()] = Timer.builder(STAGE_TIMER)
+                        .description("Time spent in one stage of the calculation pipeline")
+                        .tags("pipeline", pipelineTag, "stage", tag(stage))
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(500))
+                        .maximumExpectedValue(Duration.ofSeconds(1))
+                        .register(registry);
+            }
+            for (ScoringRule rule : ScoringRule.values()) {
+                ruleRejections[pipeline.ordinal()][rule.ordinal()] = rejectionCounter(pipelineTag, tag(rule), NO_FIELD);
+            }
+            terms[pipeline.ordinal()] = DistributionSummary.builder(REQUEST_TERM)
+                    .description("Requested loan term")
+                    .baseUnit("months")
+                    .tag("pipeline", pipelineTag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(600.0)
+                    .register(registry);
+            amounts[pipeline.ordinal()] = DistributionSummary.builder(REQUEST_AMOUNT)
+                    .description("Requested loan amount")
+                    .baseUnit("rubles")
+                    .tag("pipeline", pipelineTag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1_000.0)
+                    .maximumExpectedValue(100_000_000.0)
+                    .register(registry);
+            coalesced[pipeline.ordinal()] = Counter.builder(COALESCED)
+                    .description("Requests answered by an identical request's in-flight computation")
+                    .tag("pipeline", pipelineTag)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Records the time since {@code startNanos} against the stage and returns the current
+     * {@link System#nanoTime()}, so consecutive stages can be chained.
+     */
+    public long record(Pipeline pipeline, Stage stage, long startNanos) {
+        long now = System.nanoTime();
+        stageTimers[pipeline.ordinal()][stage.ordinal()].record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void request(Pipeline pipeline, Number amount, Integer term) {
+        if (amount != null) {
+            amounts[pipeline.ordinal()].record(amount.doubleValue());
+        }
+        if (term != null) {
+            terms[pipeline.ordinal()].record(term);
+        }
+    }
+
+    public void rejected(Pipeline pipeline, ScoringRule rule) {
+        ruleRejections[pipeline.ordinal()][rule.ordinal()].increment();
+    }
+
+    public void invalid(Pipeline pipeline, List<String> fields) {
+        for (String field : fields) {
+            validationRejections.computeIfAbsent(tag(pipeline) + '/' + field,
+                    key -> rejectionCounter(tag(pipeline), VALIDATION_REASON, field)).increment();
+        }
+    }
+
+    public void coalesced(Pipeline pipeline) {
+        coalesced[pipeline.ordinal()].increment();
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    private Counter rejectionCounter(String pipeline, String reason, String field) {
+        return Counter.builder(REJECTIONS)
+                .description("Applications rejected by scoring rules or request validation")
+                .tags("pipeline", pipeline, "reason", reason, "field", field)
+                .register(registry);
+    }
+
+    private static String tag(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
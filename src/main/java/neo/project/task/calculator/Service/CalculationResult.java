@@ -0,0 +1,73 @@
+package neo.project.task.calculator.Service;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Outcome of a calculation: a value, a request that failed validation, or an application rejected by
+ * scoring. Services return it instead of throwing, so the rejected share of traffic costs no exception
+ * construction or stack unwinding; {@link #orThrow()} bridges to the exception-based API.
+ */
+public sealed interface CalculationResult<T> {
+
+    record Success<T>(T value) implements CalculationResult<T> {
+    }
+
+    record Invalid<T>(String message, List<String> fields) implements CalculationResult<T> {
+        public Invalid {
+            fields = List.copyOf(fields);
+        }
+    }
+
+    record Rejected<T>(String reason, ScoringRule rule) implements CalculationResult<T> {
+        public String message() {
+            return LoanApplicationRejectedException.describe(reason, rule);
+        }
+    }
+
+    static <T> CalculationResult<T> success(T value) {
+        return new Success<>(value);
+    }
+
+    static <T> CalculationResult<T> invalid(String message, List<String> fields) {
+        return new Invalid<>(message, fields);
+    }
+
+    static <T> CalculationResult<T> rejected(String reason, ScoringRule rule) {
+        return new Rejected<>(reason, rule);
+    }
+
+    default boolean isSuccess() {
+        return this instanceof Success<T>;
+    }
+
+    /**
+     * Applies {@code mapper} to a successful value; failures are passed through unchanged.
+     */
+    default <U> CalculationResult<U> map(Function<? super T, ? extends U> mapper) {
+        return switch (this) {
+            case Success<T> success -> new Success<>(mapper.apply(success.value()));
+            case Invalid<T> invalid -> new Invalid<>(invalid.message(), invalid.fields());
+            case Rejected<T> rejected -> new Rejected<>(rejected.reason(), rejected.rule());
+        };
+    }
+
+    /**
+     * Continues with a step that can fail itself; failures of this result are passed through unchanged.
+     */
+    default <U> CalculationResult<U> flatMap(Function<? super T, ? extends CalculationResult<U>> mapper) {
+        return switch (this) {
+            case Success<T> success -> mapper.apply(success.value());
+            case Invalid<T> invalid -> new Invalid<>(invalid.message(), invalid.fields());
+            case Rejected<T> rejected -> new Rejected<>(rejected.reason(), rejected.rule());
+        };
+    }
+
+    default T orThrow() {
+        return switch (this) {
+            case Success<T> success -> success.value();
+            case Invalid<T> invalid -> throw new RequestValidationException(invalid.message(), invalid.fields());
+            case Rejected<T> rejected -> throw new LoanApplicationRejectedException(rejected.reason(), rejected.rule());
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package neo.project.task.calculator.Service;
+
+import java.time.Duration;
+
+/**
+ * An endpoint group is at its concurrency limit and the request was shed. Shedding has to stay cheap under
+ * overload, so no stack trace is captured.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    private final String endpoint;
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitExceededException(String endpoint, int limit, Duration retryAfter) {
+        super("Concurrency limit of " + endpoint + " reached: " + limit);
+        this.endpoint = endpoint;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
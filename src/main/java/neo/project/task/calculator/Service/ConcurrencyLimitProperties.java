@@ -0,0 +1,66 @@
+package neo.project.task.calculator.Service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-endpoint bulkheads as configured under {@code calculator.concurrency-limit}. Each group of paths gets
+ * its own adaptive limit, so expensive long-term scoring cannot take the request threads the cheap offer
+ * endpoints need.
+ */
+@Data
+@ConfigurationProperties(prefix = "calculator.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+    /**
+     * Sent as {@code Retry-After} with the 503 of a rejected request; rounded up to whole seconds.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+    /**
+     * Path groups by name. A group set in configuration replaces the default of the same name as a whole, so it
+     * has to list its paths; a group without paths fails startup.
+     */
+    private Map<String, Endpoint> endpoints = defaultEndpoints();
+
+    private static Map<String, Endpoint> defaultEndpoints() {
+        Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+        endpoints.put("offers", Endpoint.of(List.of("/calculator/offers", "/calculator/offers/grid"),
+                64, 8, 512, Duration.ofMillis(50)));
+        endpoints.put("calc", Endpoint.of(List.of("/calculator/calc", "/calculator/calc/schedule/**", "/calculator/calc/prepayment"),
+                32, 4, 256, Duration.ofMillis(250)));
+        endpoints.put("batch", Endpoint.of(List.of("/calculator/offers/batch", "/calculator/calc/batch"),
+                8, 1, 64, Duration.ofSeconds(2)));
+        return endpoints;
+    }
+
+    /**
+     * AIMD limit of one path group: grows by one per window of requests that finish within
+     * {@code latencyThreshold} while the limit is in use, and is multiplied by {@code backoffRatio} when
+     * they take longer.
+     */
+    @Data
+    public static class Endpoint {
+        private List<String> paths = List.of();
+        private int initialLimit = 32;
+        private int minLimit = 1;
+        private int maxLimit = 256;
+        private Duration latencyThreshold = Duration.ofMillis(250);
+        private double backoffRatio = 0.9;
+
+        static Endpoint of(List<String> paths, int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold) {
+            Endpoint endpoint = new Endpoint();
+            endpoint.setPaths(paths);
+            endpoint.setInitialLimit(initialLimit);
+            endpoint.setMinLimit(minLimit);
+            endpoint.setMaxLimit(maxLimit);
+            endpoint.setLatencyThreshold(latencyThreshold);
+            return endpoint;
+        }
+    }
+}
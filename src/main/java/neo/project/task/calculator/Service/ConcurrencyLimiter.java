@@ -0,0 +1,64 @@
+package neo.project.task.calculator.Service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@link AdaptiveConcurrencyLimit} of every configured endpoint group, with their limits, in-flight
+ * requests and rejections published as metrics tagged by group.
+ */
+@Component
+public class ConcurrencyLimiter implements MeterBinder {
+
+    private final ConcurrencyLimitProperties properties;
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new LinkedHashMap<>();
+
+    public ConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        properties.getEndpoints().forEach((name, endpoint) -> {
+            // An interceptor without path patterns would gate every endpoint.
+            if (endpoint.getPaths() == null || endpoint.getPaths().isEmpty()) {
+                throw new IllegalArgumentException("Concurrency limit group " + name + " has no paths; a configured group"
+                        + " replaces the built-in one of the same name, so it must list its paths too");
+            }
+            limits.put(name, new AdaptiveConcurrencyLimit(name, endpoint));
+        });
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Collection<AdaptiveConcurrencyLimit> limits() {
+        return limits.values();
+    }
+
+    public AdaptiveConcurrencyLimit limit(String name) {
+        return limits.get(name);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (AdaptiveConcurrencyLimit limit : limits.values()) {
+            Gauge.builder("calculator.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("endpoint", limit.name())
+                    .register(registry);
+            Gauge.builder("calculator.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                    .description("Requests currently holding a concurrency slot")
+                    .tag("endpoint", limit.name())
+                    .register(registry);
+            FunctionCounter.builder("calculator.concurrency.rejected", limit, AdaptiveConcurrencyLimit::rejectedCount)
+                    .description("Requests shed with 503 at the concurrency limit")
+                    .tag("endpoint", limit.name())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package neo.project.task.calculator.Service;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/concurrencylimits}: current limit, in-flight requests and rejections of every endpoint group.
+ */
+@Component
+@Endpoint(id = "concurrencylimits")
+public class ConcurrencyLimitsEndpoint {
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    public ConcurrencyLimitsEndpoint(ConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> limits() {
+        Map<String, Object> limits = new LinkedHashMap<>();
+        for (AdaptiveConcurrencyLimit limit : concurrencyLimiter.limits()) {
+            limits.put(limit.name(), Map.of(
+                    "limit", limit.limit(),
+                    "inFlight", limit.inFlight(),
+                    "rejected", limit.rejectedCount()));
+        }
+        return Map.of("enabled", concurrencyLimiter.isEnabled(), "endpoints", limits);
+    }
+}
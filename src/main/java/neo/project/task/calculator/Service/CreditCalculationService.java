@@ -3,49 +3,138 @@ package neo.project.task.calculator.Service;
 import neo.project.task.calculator.DTO.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.MathContext;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.Period;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
 public class CreditCalculationService implements CreditCalculationServiceInterface {
 
+    private final PaymentScheduleEngineInterface scheduleEngine;
+    private final AnnuityFactorCache annuityFactorCache;
+    private final RequestValidator requestValidator;
+    private final ScoringRuleEngine scoringRuleEngine;
+    private final CalculationMetrics metrics;
+    private final PrepaymentCalculator prepaymentCalculator;
+    private final StatementEventPublisher statementEvents;
+    private final CalculationJournal journal;
+    private final SingleFlight<CreditKey, CalculationResult<CreditDto>> credits = new SingleFlight<>();
+
+    @Autowired
+    public CreditCalculationService(PaymentScheduleEngineInterface scheduleEngine, AnnuityFactorCache annuityFactorCache,
+                                    RequestValidator requestValidator, ScoringRuleEngine scoringRuleEngine,
+                                    CalculationMetrics metrics, StatementEventPublisher statementEvents,
+                                    CalculationJournal journal) {
+        this.scheduleEngine = scheduleEngine;
+        this.annuityFactorCache = annuityFactorCache;
+        this.requestValidator = requestValidator;
+        this.scoringRuleEngine = scoringRuleEngine;
+        this.metrics = metrics;
+        this.prepaymentCalculator = new PrepaymentCalculator(scheduleEngine, annuityFactorCache);
+        this.statementEvents = statementEvents;
+        this.journal = journal;
+    }
+
     @Override
     public CreditDto calculateCredit(ScoringDataDto scoring) {
-        validateRequest(scoring);
-        BigDecimal amount = scoring.getAmount();
-        int term = scoring.getTerm();
-        boolean insurance = Boolean.TRUE.equals(scoring.getIsInsuranceEnabled());
-        boolean salary = Boolean.TRUE.equals(scoring.getIsSalaryClient());
+        return tryCalculateCredit(scoring).orThrow();
+    }
 
-        BigDecimal baseRate = new BigDecimal("10.0");
+    @Override
+    public CreditDto calculateCredit(ScoringDataDto scoring, int scheduleOffset, int scheduleLimit) {
+        return tryCalculateCredit(scoring, scheduleOffset, scheduleLimit).orThrow();
+    }
+
+    @Override
+    public CalculationResult<CreditDto> tryCalculateCredit(ScoringDataDto scoring) {
+        return tryCalculateCredit(scoring, 0, Integer.MAX_VALUE);
+    }
 
-        if (insurance) baseRate = baseRate.subtract(new BigDecimal("1.0"));
-        if (salary) baseRate = baseRate.subtract(new BigDecimal("0.5"));
+    @Override
+    public CalculationResult<CreditDto> tryCalculateCredit(ScoringDataDto scoring, int scheduleOffset, int scheduleLimit) {
+        return tryCalculateCredit(scoring, scheduleOffset, scheduleLimit, ScheduleFormat.ROWS);
+    }
 
-        BigDecimal scoringDelta = applyScoringAdjustments(scoring);
-        if (scoringDelta == null) {
-            throw new LoanApplicationRejectedException("Отказано в одобрении");
+    @Override
+    public CalculationResult<CreditDto> tryCalculateCredit(ScoringDataDto scoring, int scheduleOffset, int scheduleLimit,
+                                                           ScheduleFormat format) {
+        Optional<CalculationResult.Invalid<CreditDto>> invalidWindow = checkWindow(scheduleOffset, scheduleLimit);
+        if (invalidWindow.isPresent()) {
+            return invalidWindow.get();
         }
+        Optional<CalculationResult.Invalid<CreditDto>> invalid = validate(scoring);
+        CalculationResult<CreditDto> result = invalid.isPresent()
+                ? invalid.get()
+                : coalescedCredit(scoring, scheduleOffset, scheduleLimit, format);
+        statementEvents.creditCalculated(scoring, result);
+        journal.creditCalculated(scoring, result);
+        return result;
+    }
 
-        baseRate = baseRate.add(scoringDelta);
-        log.debug("scoringDelta: {}, baseRate: {}", scoringDelta, baseRate);
-        BigDecimal monthlyRate = baseRate.divide(BigDecimal.valueOf(12 * 100), 10, RoundingMode.HALF_UP);
-        log.debug("monthlyRate: {}", monthlyRate);
-        BigDecimal monthlyPayment = calculateMonthlyPayment(amount, monthlyRate, term);
-        log.debug("monthlyPayment: {}", monthlyPayment);
-        List<PaymentScheduleElementDto> schedule = buildSchedule(amount, term, monthlyRate, monthlyPayment);
+    /**
+     * Prices the credit now but leaves the schedule rows to be computed while the response is written.
+     */
+    @Override
+    public CalculationResult<StreamingCreditDto> tryStreamCredit(ScoringDataDto scoring, int scheduleOffset, int scheduleLimit) {
+        Optional<CalculationResult.Invalid<StreamingCreditDto>> invalidWindow = checkWindow(scheduleOffset, scheduleLimit);
+        if (invalidWindow.isPresent()) {
+            return invalidWindow.get();
+        }
+        CalculationResult<StreamingCreditDto> result = price(scoring).map(pricing -> {
+            StreamingCreditDto credit = new StreamingCreditDto();
+            credit.setCredit(toCredit(pricing, scheduleOffset, 0, ScheduleFormat.ROWS));
+            if (scheduleLimit != 0) {
+                credit.setPaymentSchedule(() -> scheduleEngine.scheduleRows(pricing.amount(), pricing.term(),
+                        pricing.monthlyRate(), pricing.monthlyPayment(), scheduleOffset, scheduleLimit));
+            }
+            return credit;
+        });
+        statementEvents.creditCalculated(scoring, result);
+        journal.creditCalculated(scoring, result);
+        return result;
+    }
+
+    /**
+     * Identical requests arriving while one is being calculated share that calculation; every caller after
+     * the first gets its own copy of the credit. Requests are validated before, so only scoring inputs matter.
+     */
+    private CalculationResult<CreditDto> coalescedCredit(ScoringDataDto scoring, int scheduleOffset, int scheduleLimit,
+                                                         ScheduleFormat format) {
+        ScoringRuleTable rules = scoringRuleEngine.current();
+        int age = age(scoring);
+        CreditKey key = CreditKey.of(scoring, age, rules.getVersion(), scheduleOffset, scheduleLimit, format);
+        return credits.execute(key,
+                () -> score(scoring, rules, age).map(pricing -> toCredit(pricing, scheduleOffset, scheduleLimit, format)),
+                this::shareCredit);
+    }
+
+    private CalculationResult<CreditDto> shareCredit(CalculationResult<CreditDto> result) {
+        metrics.coalesced(CalculationMetrics.Pipeline.CREDIT);
+        if (result instanceof CalculationResult.Rejected<CreditDto> rejected) {
+            metrics.rejected(CalculationMetrics.Pipeline.CREDIT, rejected.rule());
+        }
+        return result instanceof CalculationResult.Success<CreditDto> success
+                ? CalculationResult.success(copyOf(success.value()))
+                : result;
+    }
+
+    private CreditDto toCredit(CreditPricing pricing, int scheduleOffset, int scheduleLimit, ScheduleFormat format) {
+        BigDecimal amount = pricing.amount();
+        int term = pricing.term();
+        BigDecimal monthlyPayment = pricing.monthlyPayment();
 
         BigDecimal totalPayments = monthlyPayment.multiply(BigDecimal.valueOf(term));
-        if (insurance) {
+        if (pricing.insurance()) {
             BigDecimal insuranceCost = amount.multiply(new BigDecimal("0.01"));
             totalPayments = totalPayments.add(insuranceCost);
         }
@@ -56,160 +145,281 @@ public class CreditCalculationService implements CreditCalculationServiceInterfa
         CreditDto credit = new CreditDto();
         credit.setAmount(amount);
         credit.setTerm(term);
-        credit.setRate(baseRate.setScale(2, RoundingMode.HALF_UP));
+        credit.setRate(pricing.rate().setScale(2, RoundingMode.HALF_UP));
         credit.setMonthlyPayment(monthlyPayment.setScale(2, RoundingMode.HALF_UP));
         credit.setPsk(psk.setScale(2, RoundingMode.HALF_UP));
-        credit.setIsInsuranceEnabled(insurance);
-        credit.setIsSalaryClient(salary);
-        credit.setPaymentSchedule(schedule);
+        credit.setIsInsuranceEnabled(pricing.insurance());
+        credit.setIsSalaryClient(pricing.salary());
+        if (scheduleLimit != 0) {
+            if (format == ScheduleFormat.COLUMNAR) {
+                credit.setCompactSchedule(buildCompactSchedule(pricing, scheduleOffset, scheduleLimit));
+            } else {
+                credit.setPaymentSchedule(buildSchedule(pricing, scheduleOffset, scheduleLimit));
+            }
+        }
         return credit;
     }
-    private BigDecimal applyScoringAdjustments(ScoringDataDto dto) {
-        BigDecimal delta = BigDecimal.ZERO;
-
-        LocalDate now = LocalDate.now();
-        int age = now.getYear() - dto.getBirthdate().getYear();
 
+    @Override
+    public List<PaymentScheduleElementDto> calculateSchedule(ScoringDataDto scoring, int offset, int limit) {
+        return tryCalculateSchedule(scoring, offset, limit).orThrow();
+    }
 
-        if (age < 20 || age > 65) {
-            return null;
-        }
+    @Override
+    public List<PaymentScheduleElementDto> calculateSchedule(ScoringDataDto scoring, LocalDate from, LocalDate to) {
+        return tryCalculateSchedule(scoring, from, to).orThrow();
+    }
 
-        EmploymentDto emp = dto.getEmployment();
-        if (emp == null || emp.getEmploymentStatus() == EmploymentStatus.UNEMPLOYED) {
-            return null;
-        } else if (emp.getEmploymentStatus() == EmploymentStatus.BUSINESS_OWNER) {
-            delta = delta.add(new BigDecimal("1.0"));
-        }
-        else if (emp.getEmploymentStatus() == EmploymentStatus.SELF_EMPLOYED) {
-            delta = delta.add(new BigDecimal("2.0"));
-        }
+    @Override
+    public PaymentScheduleElementDto calculateScheduleRow(ScoringDataDto scoring, int number) {
+        return tryCalculateScheduleRow(scoring, number).orThrow();
+    }
 
-        if (emp.getSalary() != null && emp.getSalary().multiply(BigDecimal.valueOf(24)).compareTo(dto.getAmount()) < 0) {
-            return null;
+    @Override
+    public CalculationResult<List<PaymentScheduleElementDto>> tryCalculateSchedule(ScoringDataDto scoring, int offset, int limit) {
+        Optional<CalculationResult.Invalid<List<PaymentScheduleElementDto>>> invalidWindow = checkWindow(offset, limit);
+        if (invalidWindow.isPresent()) {
+            return invalidWindow.get();
         }
+        return price(scoring).map(pricing -> buildSchedule(pricing, offset, limit));
+    }
 
-        if (emp.getWorkExperienceCurrent() != null && emp.getWorkExperienceCurrent() < 3) {
-            delta = delta.add(new BigDecimal("1.0"));
+    @Override
+    public CalculationResult<List<PaymentScheduleElementDto>> tryCalculateSchedule(ScoringDataDto scoring, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            return CalculationResult.invalid("Schedule date range is invalid", List.of("from", "to"));
         }
+        return price(scoring).map(pricing -> {
+            LocalDate start = LocalDate.now();
+            int first = from == null ? 1 : firstPaymentOnOrAfter(start, from, pricing.term());
+            int last = to == null ? pricing.term() : firstPaymentOnOrAfter(start, to.plusDays(1), pricing.term()) - 1;
+            return last < first ? List.of() : buildSchedule(pricing, first - 1, last - first + 1);
+        });
+    }
 
-        if (emp.getWorkExperienceTotal() != null && emp.getWorkExperienceTotal() < 18) {
-            delta = delta.add(new BigDecimal("2.0"));
-        }
+    @Override
+    public CalculationResult<PaymentScheduleElementDto> tryCalculateScheduleRow(ScoringDataDto scoring, int number) {
+        return price(scoring).flatMap(pricing -> {
+            if (number < 1 || number > pricing.term()) {
+                return CalculationResult.invalid("Payment number must be between 1 and " + pricing.term(), List.of("number"));
+            }
+            long start = System.nanoTime();
+            PaymentScheduleElementDto row = scheduleEngine.buildRow(pricing.amount(), pricing.term(), pricing.monthlyRate(),
+                    pricing.monthlyPayment(), number);
+            metrics.record(CalculationMetrics.Pipeline.CREDIT, CalculationMetrics.Stage.SCHEDULE, start);
+            return CalculationResult.success(row);
+        });
+    }
 
-        if (dto.getDependentAmount() != null && dto.getDependentAmount() > 3) {
-            delta = delta.add(new BigDecimal("0.5"));
+    @Override
+    public CalculationResult<PrepaymentScheduleDto> tryCalculatePrepayment(PrepaymentRequestDto request) {
+        if (request.getScoring() == null) {
+            return CalculationResult.invalid("Scoring data is required", List.of("scoring"));
         }
+        return price(request.getScoring()).flatMap(pricing -> {
+            Optional<CalculationResult.Invalid<PrepaymentScheduleDto>> invalid = checkPrepayments(request, pricing.term());
+            if (invalid.isPresent()) {
+                return invalid.get();
+            }
+            List<PrepaymentDto> events = request.getPrepayments().stream()
+                    .sorted(Comparator.comparing(PrepaymentDto::getMonth))
+                    .toList();
+            long start = System.nanoTime();
+            PrepaymentScheduleDto schedule = prepaymentCalculator.calculate(pricing.amount(), pricing.term(), pricing.monthlyRate(),
+                    pricing.monthlyPayment(), request.getMode(), events);
+            metrics.record(CalculationMetrics.Pipeline.CREDIT, CalculationMetrics.Stage.SCHEDULE, start);
+            return CalculationResult.success(schedule);
+        });
+    }
 
-        if (dto.getMaritalStatus() == MaritalStatus.MARRIED) {
-            delta = delta.subtract(new BigDecimal("3.0"));
-        } else if (dto.getMaritalStatus() == MaritalStatus.NON_MARRIED) {
-            delta = delta.add(new BigDecimal("1.0"));
-        }
+    private List<PaymentScheduleElementDto> buildSchedule(CreditPricing pricing, int offset, int limit) {
+        long start = System.nanoTime();
+        List<PaymentScheduleElementDto> schedule = scheduleEngine.buildSchedule(pricing.amount(), pricing.term(),
+                pricing.monthlyRate(), pricing.monthlyPayment(), offset, limit);
+        metrics.record(CalculationMetrics.Pipeline.CREDIT, CalculationMetrics.Stage.SCHEDULE, start);
+        return schedule;
+    }
 
-        if ((dto.getGender() == Gender.MALE && age < 55) || (dto.getGender() == Gender.FEMALE && age < 60) ||
-                (dto.getGender() == Gender.MALE && age > 30) || (dto.getGender() == Gender.FEMALE && age > 32)) {
-            delta = delta.subtract(new BigDecimal("3.0"));
-        }
+    private CompactScheduleDto buildCompactSchedule(CreditPricing pricing, int offset, int limit) {
+        long start = System.nanoTime();
+        CompactScheduleDto schedule = scheduleEngine.buildCompactSchedule(pricing.amount(), pricing.term(),
+                pricing.monthlyRate(), pricing.monthlyPayment(), offset, limit);
+        metrics.record(CalculationMetrics.Pipeline.CREDIT, CalculationMetrics.Stage.SCHEDULE, start);
+        return schedule;
+    }
 
-        return delta;
+    private CalculationResult<CreditPricing> price(ScoringDataDto scoring) {
+        Optional<CalculationResult.Invalid<CreditPricing>> invalid = validate(scoring);
+        return invalid.isPresent() ? invalid.get() : score(scoring, scoringRuleEngine.current(), age(scoring));
     }
-    private void validateRequest(ScoringDataDto req) {
-        if (req.getAmount() == null || req.getAmount().compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("Amount must be a positive number");
-        }
 
-        if (req.getTerm() == null || req.getTerm() <= 0) {
-            throw new IllegalArgumentException("Term must be a positive number");
+    /**
+     * Returns the validation failure, or an empty {@link Optional} if the request can be scored.
+     */
+    private <T> Optional<CalculationResult.Invalid<T>> validate(ScoringDataDto scoring) {
+        metrics.request(CalculationMetrics.Pipeline.CREDIT, scoring.getAmount(), scoring.getTerm());
+        long stageStart = System.nanoTime();
+        Optional<CalculationResult.Invalid<T>> invalid = requestValidator.findInvalid(scoring);
+        if (invalid.isPresent()) {
+            metrics.invalid(CalculationMetrics.Pipeline.CREDIT, invalid.get().fields());
+            return invalid;
         }
+        metrics.record(CalculationMetrics.Pipeline.CREDIT, CalculationMetrics.Stage.VALIDATION, stageStart);
+        return invalid;
+    }
 
-        if (req.getFirstName() == null || req.getFirstName().length() < 2 || req.getFirstName().length() > 30) {
-            throw new IllegalArgumentException("First name must be between 2 and 30 characters");
-        }
+    private CalculationResult<CreditPricing> score(ScoringDataDto scoring, ScoringRuleTable rules, int age) {
+        long stageStart = System.nanoTime();
+        BigDecimal amount = scoring.getAmount();
+        int term = scoring.getTerm();
+        boolean insurance = Boolean.TRUE.equals(scoring.getIsInsuranceEnabled());
+        boolean salary = Boolean.TRUE.equals(scoring.getIsSalaryClient());
 
-        if (!req.getFirstName().matches("^[A-Za-zА-Яа-яЁё\\-]+$")) {
-            throw new IllegalArgumentException("First name contains invalid characters");
+        int rateUnits = rules.rate(scoring, age, insurance, salary);
+        stageStart = metrics.record(CalculationMetrics.Pipeline.CREDIT, CalculationMetrics.Stage.SCORING, stageStart);
+        if (ScoringRuleTable.isRejection(rateUnits)) {
+            ScoringRule rule = ScoringRuleTable.rejectionRule(rateUnits);
+            metrics.rejected(CalculationMetrics.Pipeline.CREDIT, rule);
+            return CalculationResult.rejected("Отказано в одобрении", rule);
         }
 
-        if (req.getLastName() == null || req.getLastName().length() < 2 || req.getLastName().length() > 30) {
-            throw new IllegalArgumentException("Last name must be between 2 and 30 characters");
-        }
+        BigDecimal baseRate = ScoringRuleTable.toRate(rateUnits);
+        log.debug("baseRate: {}, rulesVersion: {}", baseRate, rules.getVersion());
+        BigDecimal monthlyRate = AnnuityCalculator.monthlyRate(baseRate);
+        log.debug("monthlyRate: {}", monthlyRate);
+        BigDecimal monthlyPayment = calculateMonthlyPayment(amount, monthlyRate, term);
+        metrics.record(CalculationMetrics.Pipeline.CREDIT, CalculationMetrics.Stage.MONTHLY_PAYMENT, stageStart);
+        log.debug("monthlyPayment: {}", monthlyPayment);
+        return CalculationResult.success(new CreditPricing(amount, term, insurance, salary, baseRate, monthlyRate, monthlyPayment));
+    }
 
-        if (!req.getLastName().matches("^[A-Za-zА-Яа-яЁё\\-]+$")) {
-            throw new IllegalArgumentException("Last name contains invalid characters");
-        }
+    private static int age(ScoringDataDto scoring) {
+        return LocalDate.now().getYear() - scoring.getBirthdate().getYear();
+    }
 
-        if (req.getMiddleName() == null || req.getMiddleName().length() < 2 || req.getMiddleName().length() > 30) {
-            throw new IllegalArgumentException("Middle name must be between 2 and 30 characters");
+    private static CreditDto copyOf(CreditDto source) {
+        CreditDto credit = new CreditDto();
+        credit.setAmount(source.getAmount());
+        credit.setTerm(source.getTerm());
+        credit.setMonthlyPayment(source.getMonthlyPayment());
+        credit.setRate(source.getRate());
+        credit.setPsk(source.getPsk());
+        credit.setIsInsuranceEnabled(source.getIsInsuranceEnabled());
+        credit.setIsSalaryClient(source.getIsSalaryClient());
+        if (source.getPaymentSchedule() != null) {
+            List<PaymentScheduleElementDto> schedule = new ArrayList<>(source.getPaymentSchedule().size());
+            for (PaymentScheduleElementDto row : source.getPaymentSchedule()) {
+                schedule.add(copyOf(row));
+            }
+            credit.setPaymentSchedule(schedule);
         }
-
-        if (!req.getMiddleName().matches("^[A-Za-zА-Яа-яЁё\\-]+$")) {
-            throw new IllegalArgumentException("Middle name contains invalid characters");
+        if (source.getCompactSchedule() != null) {
+            credit.setCompactSchedule(copyOf(source.getCompactSchedule()));
         }
+        return credit;
+    }
 
-        if (req.getBirthdate() == null) {
-            throw new IllegalArgumentException("Birthdate is required");
-        }
+    private static PaymentScheduleElementDto copyOf(PaymentScheduleElementDto source) {
+        PaymentScheduleElementDto row = new PaymentScheduleElementDto();
+        row.setNumber(source.getNumber());
+        row.setDate(source.getDate());
+        row.setTotalPayment(source.getTotalPayment());
+        row.setInterestPayment(source.getInterestPayment());
+        row.setDebtPayment(source.getDebtPayment());
+        row.setRemainingDebt(source.getRemainingDebt());
+        return row;
+    }
 
-        LocalDate birthdate = req.getBirthdate();
-        int age = Period.between(birthdate, LocalDate.now()).getYears();
-        if (age < 20 || age > 65) {
-            throw new IllegalArgumentException("Age must be between 20 and 65 years");
-        }
+    private static CompactScheduleDto copyOf(CompactScheduleDto source) {
+        CompactScheduleDto schedule = new CompactScheduleDto();
+        schedule.setStartDate(source.getStartDate());
+        schedule.setFirstNumber(source.getFirstNumber());
+        schedule.setTotalPaymentCents(source.getTotalPaymentCents());
+        schedule.setInterestCents(source.getInterestCents().clone());
+        schedule.setDebtCents(source.getDebtCents().clone());
+        schedule.setRemainingDebtCents(source.getRemainingDebtCents().clone());
+        return schedule;
+    }
 
-        if (req.getPassportSeries() == null || !req.getPassportSeries().matches("\\d{4}")) {
-            throw new IllegalArgumentException("Passport series must be exactly 4 digits");
+    // Payment number i is due on start.plusMonths(i); returns term + 1 when no payment is due on or after the date.
+    private static int firstPaymentOnOrAfter(LocalDate start, LocalDate date, int term) {
+        long months = Math.max(1, ChronoUnit.MONTHS.between(start, date));
+        if (months > term) {
+            return term + 1;
         }
-
-        if (req.getPassportNumber() == null || !req.getPassportNumber().matches("\\d{6}")) {
-            throw new IllegalArgumentException("Passport number must be 6 digits");
+        int number = (int) months;
+        while (number > 1 && !start.plusMonths(number - 1).isBefore(date)) {
+            number--;
         }
-
-        EmploymentDto emp = req.getEmployment();
-        if (emp == null || emp.getEmploymentStatus() == EmploymentStatus.UNEMPLOYED) {
-            throw new IllegalArgumentException("Employment status is required and must not be UNEMPLOYED");
+        while (number <= term && start.plusMonths(number).isBefore(date)) {
+            number++;
         }
+        return number;
+    }
 
-        if (emp.getSalary() == null) {
-            throw new IllegalArgumentException("Salary must not be null");
+    private static <T> Optional<CalculationResult.Invalid<T>> checkPrepayments(PrepaymentRequestDto request, int term) {
+        if (request.getMode() == null) {
+            return invalid("Prepayment mode is required", "mode");
         }
-
-        BigDecimal minSalary = req.getAmount().divide(BigDecimal.valueOf(24), RoundingMode.HALF_UP);
-        if (emp.getSalary().compareTo(minSalary) < 0) {
-            throw new IllegalArgumentException("Salary too low for requested amount");
+        List<PrepaymentDto> prepayments = request.getPrepayments();
+        if (prepayments == null || prepayments.isEmpty() || prepayments.size() > term) {
+            return invalid("Between 1 and " + term + " prepayments are required", "prepayments");
+        }
+        for (PrepaymentDto prepayment : prepayments) {
+            if (prepayment == null || prepayment.getMonth() == null || prepayment.getMonth() < 1 || prepayment.getMonth() >= term) {
+                return invalid("Prepayment month must be between 1 and " + (term - 1), "prepayments.month");
+            }
+            if (prepayment.getAmount() == null || prepayment.getAmount().signum() <= 0) {
+                return invalid("Prepayment amount must be a positive number", "prepayments.amount");
+            }
         }
+        return Optional.empty();
     }
 
+    private static <T> Optional<CalculationResult.Invalid<T>> checkWindow(int offset, int limit) {
+        if (offset < 0) {
+            return invalid("Schedule offset must not be negative", "scheduleOffset");
+        }
+        if (limit < 0) {
+            return invalid("Schedule limit must not be negative", "scheduleLimit");
+        }
+        return Optional.empty();
+    }
 
+    private static <T> Optional<CalculationResult.Invalid<T>> invalid(String message, String field) {
+        return Optional.of(new CalculationResult.Invalid<>(message, List.of(field)));
+    }
 
     private BigDecimal calculateMonthlyPayment(BigDecimal amount, BigDecimal monthlyRate, int term) {
-        BigDecimal onePlusR = monthlyRate.add(BigDecimal.ONE);
-        BigDecimal pow = onePlusR.pow(-term, new MathContext(10));
-        return amount.multiply(monthlyRate).divide(BigDecimal.ONE.subtract(pow), RoundingMode.HALF_UP);
+        return annuityFactorCache.monthlyPayment(amount, monthlyRate, term);
     }
 
-    private List<PaymentScheduleElementDto> buildSchedule(BigDecimal amount, int term, BigDecimal rate, BigDecimal monthlyPayment) {
-        List<PaymentScheduleElementDto> list = new ArrayList<>();
-        BigDecimal remaining = amount;
-        LocalDate date = LocalDate.now();
-
-        for (int i = 1; i <= term; i++) {
-
-            BigDecimal interest = remaining.multiply(rate).setScale(2, RoundingMode.HALF_UP);
-            BigDecimal debt = monthlyPayment.subtract(interest).setScale(2, RoundingMode.HALF_UP);
-            remaining = remaining.subtract(debt).setScale(2, RoundingMode.HALF_UP);
-
-            PaymentScheduleElementDto elem = new PaymentScheduleElementDto();
-            elem.setNumber(i);
-            elem.setDate(date.plusMonths(i));
-            elem.setTotalPayment(monthlyPayment.setScale(2, RoundingMode.HALF_UP));
-            elem.setInterestPayment(interest);
-            elem.setDebtPayment(debt);
-            elem.setRemainingDebt(remaining.compareTo(BigDecimal.ZERO) < 0 ? BigDecimal.ZERO : remaining);
-
-            list.add(elem);
+    /**
+     * Everything the credit depends on: the inputs the scoring rules and the annuity read, with the age instead
+     * of the birthdate, plus the rules version and the requested schedule window. Amounts compare including
+     * their scale, since the response echoes the requested amount.
+     */
+    private record CreditKey(BigDecimal amount, int term, boolean insurance, boolean salaryClient, int age,
+                             Gender gender, MaritalStatus maritalStatus, Integer dependentAmount, boolean employed,
+                             EmploymentStatus employmentStatus, BigDecimal salary, Integer workExperienceTotal,
+                             Integer workExperienceCurrent, long rulesVersion, int scheduleOffset, int scheduleLimit,
+                             ScheduleFormat format) {
+
+        static CreditKey of(ScoringDataDto scoring, int age, long rulesVersion, int scheduleOffset, int scheduleLimit,
+                            ScheduleFormat format) {
+            EmploymentDto employment = scoring.getEmployment();
+            return new CreditKey(scoring.getAmount(), scoring.getTerm(), Boolean.TRUE.equals(scoring.getIsInsuranceEnabled()),
+                    Boolean.TRUE.equals(scoring.getIsSalaryClient()), age, scoring.getGender(), scoring.getMaritalStatus(),
+                    scoring.getDependentAmount(), employment != null,
+                    employment == null ? null : employment.getEmploymentStatus(),
+                    employment == null ? null : employment.getSalary(),
+                    employment == null ? null : employment.getWorkExperienceTotal(),
+                    employment == null ? null : employment.getWorkExperienceCurrent(),
+                    rulesVersion, scheduleOffset, scheduleLimit, format);
         }
+    }
 
-        return list;
+    private record CreditPricing(BigDecimal amount, int term, boolean insurance, boolean salary,
+                                 BigDecimal rate, BigDecimal monthlyRate, BigDecimal monthlyPayment) {
     }
 }
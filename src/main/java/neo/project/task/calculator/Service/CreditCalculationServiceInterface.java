@@ -1,8 +1,41 @@
 package neo.project.task.calculator.Service;
 
 import neo.project.task.calculator.DTO.CreditDto;
+import neo.project.task.calculator.DTO.PaymentScheduleElementDto;
+import neo.project.task.calculator.DTO.PrepaymentRequestDto;
+import neo.project.task.calculator.DTO.PrepaymentScheduleDto;
+import neo.project.task.calculator.DTO.ScheduleFormat;
 import neo.project.task.calculator.DTO.ScoringDataDto;
+import neo.project.task.calculator.DTO.StreamingCreditDto;
+
+import java.time.LocalDate;
+import java.util.List;
 
 public interface CreditCalculationServiceInterface {
     CreditDto calculateCredit(ScoringDataDto scoring);
+
+    CreditDto calculateCredit(ScoringDataDto scoring, int scheduleOffset, int scheduleLimit);
+
+    CalculationResult<CreditDto> tryCalculateCredit(ScoringDataDto scoring);
+
+    CalculationResult<CreditDto> tryCalculateCredit(ScoringDataDto scoring, int scheduleOffset, int scheduleLimit);
+
+    CalculationResult<CreditDto> tryCalculateCredit(ScoringDataDto scoring, int scheduleOffset, int scheduleLimit,
+                                                    ScheduleFormat format);
+
+    CalculationResult<StreamingCreditDto> tryStreamCredit(ScoringDataDto scoring, int scheduleOffset, int scheduleLimit);
+
+    List<PaymentScheduleElementDto> calculateSchedule(ScoringDataDto scoring, int offset, int limit);
+
+    List<PaymentScheduleElementDto> calculateSchedule(ScoringDataDto scoring, LocalDate from, LocalDate to);
+
+    PaymentScheduleElementDto calculateScheduleRow(ScoringDataDto scoring, int number);
+
+    CalculationResult<List<PaymentScheduleElementDto>> tryCalculateSchedule(ScoringDataDto scoring, int offset, int limit);
+
+    CalculationResult<List<PaymentScheduleElementDto>> tryCalculateSchedule(ScoringDataDto scoring, LocalDate from, LocalDate to);
+
+    CalculationResult<PaymentScheduleElementDto> tryCalculateScheduleRow(ScoringDataDto scoring, int number);
+
+    CalculationResult<PrepaymentScheduleDto> tryCalculatePrepayment(PrepaymentRequestDto request);
 }
@@ -0,0 +1,19 @@
+package neo.project.task.calculator.Service;
+
+/**
+ * What publishing does when the event ring is full.
+ */
+public enum EventOverflowPolicy {
+    /**
+     * Drop the event being published; the request thread never waits.
+     */
+    DROP_NEWEST,
+    /**
+     * Drop the oldest queued event to make room, keeping the most recent outcomes.
+     */
+    DROP_OLDEST,
+    /**
+     * Wait up to {@code block-timeout} for a consumer to free a slot, then drop the event being published.
+     */
+    BLOCK
+}
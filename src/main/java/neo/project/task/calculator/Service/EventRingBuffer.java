@@ -0,0 +1,108 @@
+package neo.project.task.calculator.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer, multi-consumer ring (Vyukov's sequenced slots). Each slot carries a
+ * sequence number: producers claim a position with one CAS on the tail, write the slot and publish it by
+ * advancing its sequence; consumers do the same on the head. A full ring fails the offer instead of waiting,
+ * so callers decide what backpressure means. Every element keeps its enqueue time for latency metrics.
+ */
+final class EventRingBuffer<T> {
+
+    private final int mask;
+    private final Object[] elements;
+    private final long[] enqueuedAt;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    EventRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.elements = new Object[capacity];
+        this.enqueuedAt = new long[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(T element, long enqueuedNanos) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    enqueuedAt[index] = enqueuedNanos;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element, if any, without returning it.
+     */
+    boolean discardOldest() {
+        return poll(null, null, 0);
+    }
+
+    /**
+     * Moves up to {@code max} elements into {@code batch}, with their enqueue times at the matching
+     * indexes of {@code times}; returns how many were moved.
+     */
+    int drainTo(List<T> batch, long[] times, int max) {
+        int drained = 0;
+        while (drained < max && poll(batch, times, batch.size())) {
+            drained++;
+        }
+        return drained;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean poll(List<T> batch, long[] times, int timeIndex) {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    if (batch != null) {
+                        batch.add((T) elements[index]);
+                        times[timeIndex] = enqueuedAt[index];
+                    }
+                    elements[index] = null;
+                    sequences.setRelease(index, position + mask + 1);
+                    return true;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,49 @@
+package neo.project.task.calculator.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import neo.project.task.calculator.DTO.StatementEventDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Broker stand-in that appends every event as a JSON line to {@code calculator.events.file}, flushed per batch.
+ */
+@Component
+@ConditionalOnProperty(name = "calculator.events.sink", havingValue = "file")
+public class FileStatementEventSink implements StatementEventSinkInterface {
+
+    private final ObjectMapper objectMapper;
+    private final OutputStream out;
+
+    public FileStatementEventSink(ObjectMapper objectMapper, StatementEventProperties properties) throws IOException {
+        this.objectMapper = objectMapper;
+        Path file = properties.getFile();
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+    }
+
+    @Override
+    public synchronized void write(List<StatementEventDto> events) throws IOException {
+        for (StatementEventDto event : events) {
+            out.write(objectMapper.writeValueAsBytes(event));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,122 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.PaymentScheduleElementDto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Loan parameters in scaled {@code long} form: money in kopecks, the monthly rate with 10 fractional digits
+ * and the unrounded monthly payment with 8 fractional digits plus a sticky bit for the discarded tail. That
+ * is enough to reproduce every HALF_UP rounding of {@link BigDecimalScheduleEngine} exactly.
+ */
+public record FixedPointLoan(long amountCents, int term, long rate, long payment, boolean sticky) {
+
+    static final int CENT_SCALE = 2;
+    static final int RATE_SCALE = 10;
+    static final int GUARD_SCALE = 8;
+
+    private static final long RATE_ONE = 10_000_000_000L;
+    private static final long HALF_RATE_ONE = RATE_ONE / 2;
+    private static final long GUARD_PER_CENT = 1_000_000L;
+    private static final long HALF_GUARD_PER_CENT = GUARD_PER_CENT / 2;
+    private static final long SAFE_LIMIT = Long.MAX_VALUE >> 1;
+    private static final BigDecimal SAFE_LIMIT_DECIMAL = BigDecimal.valueOf(SAFE_LIMIT);
+
+    /**
+     * Returns {@code null} when the inputs are not representable without loss (an amount with more than
+     * two fractional digits, a rate with more than ten, or values that could overflow); callers then use
+     * the BigDecimal engine.
+     */
+    public static FixedPointLoan of(BigDecimal amount, int term, BigDecimal monthlyRate, BigDecimal monthlyPayment) {
+        if (term <= 0 || monthlyPayment.signum() <= 0) {
+            return null;
+        }
+        long amountCents = toScaledLong(amount, CENT_SCALE);
+        long rate = toScaledLong(monthlyRate, RATE_SCALE);
+        if (amountCents <= 0 || rate < 0 || (rate > 0 && amountCents > SAFE_LIMIT / rate)) {
+            return null;
+        }
+        BigDecimal guard = monthlyPayment.movePointRight(GUARD_SCALE);
+        BigDecimal truncated = guard.setScale(0, RoundingMode.DOWN);
+        if (truncated.compareTo(SAFE_LIMIT_DECIMAL) > 0) {
+            return null;
+        }
+        return new FixedPointLoan(amountCents, term, rate, truncated.longValue(), guard.compareTo(truncated) != 0);
+    }
+
+    public long paymentCents() {
+        return (payment + HALF_GUARD_PER_CENT) / GUARD_PER_CENT;
+    }
+
+    public long interestCents(long remainingCents) {
+        return divideHalfUp(Math.multiplyExact(remainingCents, rate), RATE_ONE, HALF_RATE_ONE);
+    }
+
+    public long debtCents(long interestCents) {
+        return roundGuardToCents(payment - interestCents * GUARD_PER_CENT, sticky);
+    }
+
+    /**
+     * Payments {@code firstNumber .. lastNumber}, each computed on {@code next()} from the debt left by the previous one.
+     */
+    Iterator<PaymentScheduleElementDto> rows(LocalDate start, int firstNumber, long remainingCentsBefore, int lastNumber) {
+        return new Iterator<>() {
+            private int number = firstNumber;
+            private long remaining = remainingCentsBefore;
+
+            @Override
+            public boolean hasNext() {
+                return number <= lastNumber;
+            }
+
+            @Override
+            public PaymentScheduleElementDto next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                long interest = interestCents(remaining);
+                long debt = debtCents(interest);
+                remaining -= debt;
+                return toElement(start, number++, interest, debt, remaining);
+            }
+        };
+    }
+
+    PaymentScheduleElementDto toElement(LocalDate start, int number, long interestCents, long debtCents, long remainingCents) {
+        PaymentScheduleElementDto elem = new PaymentScheduleElementDto();
+        elem.setNumber(number);
+        elem.setDate(start.plusMonths(number));
+        elem.setTotalPayment(BigDecimal.valueOf(paymentCents(), CENT_SCALE));
+        elem.setInterestPayment(BigDecimal.valueOf(interestCents, CENT_SCALE));
+        elem.setDebtPayment(BigDecimal.valueOf(debtCents, CENT_SCALE));
+        elem.setRemainingDebt(remainingCents < 0 ? BigDecimal.ZERO : BigDecimal.valueOf(remainingCents, CENT_SCALE));
+        return elem;
+    }
+
+    // HALF_UP is symmetric in BigDecimal: ties round away from zero for both signs.
+    private static long divideHalfUp(long dividend, long divisor, long half) {
+        return dividend >= 0 ? (dividend + half) / divisor : -((-dividend + half) / divisor);
+    }
+
+    // value is the guard-scaled difference truncated toward zero; sticky means the true value is slightly larger.
+    private static long roundGuardToCents(long value, boolean sticky) {
+        if (value >= 0) {
+            return (value + HALF_GUARD_PER_CENT) / GUARD_PER_CENT;
+        }
+        long magnitude = sticky ? -value - 1 : -value;
+        return -((magnitude + HALF_GUARD_PER_CENT) / GUARD_PER_CENT);
+    }
+
+    private static long toScaledLong(BigDecimal value, int scale) {
+        BigDecimal scaled = value.movePointRight(scale);
+        if (scaled.signum() < 0 || scaled.compareTo(SAFE_LIMIT_DECIMAL) > 0) {
+            return -1;
+        }
+        BigDecimal integral = scaled.setScale(0, RoundingMode.DOWN);
+        return integral.compareTo(scaled) == 0 ? integral.longValue() : -1;
+    }
+}
@@ -0,0 +1,139 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.CompactScheduleDto;
+import neo.project.task.calculator.DTO.PaymentScheduleElementDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consecutive rows of a payment schedule computed by {@link FixedPointLoan} into primitive arrays, so the
+ * loop itself allocates nothing per row.
+ */
+public final class FixedPointSchedule {
+
+    private final FixedPointLoan loan;
+    private final int firstNumber;
+    private final int rows;
+    private final long[] interestCents;
+    private final long[] debtCents;
+    private final long[] remainingCents;
+
+    private FixedPointSchedule(FixedPointLoan loan, int firstNumber, int rows) {
+        this.loan = loan;
+        this.firstNumber = firstNumber;
+        this.rows = rows;
+        this.interestCents = new long[rows];
+        this.debtCents = new long[rows];
+        this.remainingCents = new long[rows];
+    }
+
+    /**
+     * Returns {@code null} when the loan is not representable in fixed point, see {@link FixedPointLoan#of}.
+     */
+    public static FixedPointSchedule compute(BigDecimal amount, int term, BigDecimal monthlyRate, BigDecimal monthlyPayment) {
+        return compute(amount, term, monthlyRate, monthlyPayment, term);
+    }
+
+    /**
+     * Computes only the first {@code rows} payments of the schedule, which is all a window ending at that row needs.
+     */
+    public static FixedPointSchedule compute(BigDecimal amount, int term, BigDecimal monthlyRate, BigDecimal monthlyPayment, int rows) {
+        if (rows < 0 || rows > term) {
+            return null;
+        }
+        FixedPointLoan loan = FixedPointLoan.of(amount, term, monthlyRate, monthlyPayment);
+        return loan == null ? null : compute(loan, rows);
+    }
+
+    public static FixedPointSchedule compute(FixedPointLoan loan, int rows) {
+        return compute(loan, 1, loan.amountCents(), rows);
+    }
+
+    /**
+     * Computes {@code rows} payments starting with payment {@code firstNumber}, given the remaining debt before it.
+     */
+    public static FixedPointSchedule compute(FixedPointLoan loan, int firstNumber, long remainingCentsBefore, int rows) {
+        FixedPointSchedule schedule = new FixedPointSchedule(loan, firstNumber, rows);
+        long remaining = remainingCentsBefore;
+        for (int i = 0; i < rows; i++) {
+            long interest = loan.interestCents(remaining);
+            long debt = loan.debtCents(interest);
+            remaining -= debt;
+            schedule.interestCents[i] = interest;
+            schedule.debtCents[i] = debt;
+            schedule.remainingCents[i] = remaining;
+        }
+        return schedule;
+    }
+
+    public List<PaymentScheduleElementDto> toElements(LocalDate start) {
+        return toElements(start, 0, rows);
+    }
+
+    public List<PaymentScheduleElementDto> toElements(LocalDate start, int offset, int limit) {
+        int end = (int) Math.min(rows, (long) offset + limit);
+        List<PaymentScheduleElementDto> list = new ArrayList<>(Math.max(0, end - offset));
+        for (int i = offset; i < end; i++) {
+            list.add(loan.toElement(start, firstNumber + i, interestCents[i], debtCents[i], remainingCents[i]));
+        }
+        return list;
+    }
+
+    /**
+     * Wraps the computed arrays in a columnar DTO without converting a single row to {@link BigDecimal}.
+     */
+    public CompactScheduleDto toCompact(LocalDate start) {
+        long[] remaining = remainingCents;
+        for (int i = 0; i < rows; i++) {
+            if (remaining[i] < 0) {
+                if (remaining == remainingCents) {
+                    remaining = remainingCents.clone();
+                }
+                remaining[i] = 0;
+            }
+        }
+        CompactScheduleDto compact = new CompactScheduleDto();
+        compact.setStartDate(start);
+        compact.setFirstNumber(firstNumber);
+        compact.setTotalPaymentCents(loan.paymentCents());
+        compact.setInterestCents(interestCents);
+        compact.setDebtCents(debtCents);
+        compact.setRemainingDebtCents(remaining);
+        return compact;
+    }
+
+    public FixedPointLoan getLoan() {
+        return loan;
+    }
+
+    public int getTerm() {
+        return loan.term();
+    }
+
+    public int getFirstNumber() {
+        return firstNumber;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public long getPaymentCents() {
+        return loan.paymentCents();
+    }
+
+    public long getInterestCents(int index) {
+        return interestCents[index];
+    }
+
+    public long getDebtCents(int index) {
+        return debtCents[index];
+    }
+
+    public long getRemainingCents(int index) {
+        return remainingCents[index];
+    }
+}
@@ -0,0 +1,85 @@
+package neo.project.task.calculator.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import neo.project.task.calculator.DTO.CompactScheduleDto;
+import neo.project.task.calculator.DTO.PaymentScheduleElementDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "calculator.schedule-engine", havingValue = "fixed-point")
+public class FixedPointScheduleEngine implements PaymentScheduleEngineInterface {
+
+    private final PaymentScheduleEngineInterface reference = new BigDecimalScheduleEngine();
+    private final BoundedFifoCache<FixedPointLoan, ScheduleRowCalculator> rowCalculators;
+
+    @Autowired
+    public FixedPointScheduleEngine(@Value("${calculator.schedule-row-cache.max-size:1024}") int rowCacheSize) {
+        this.rowCalculators = new BoundedFifoCache<>(rowCacheSize);
+    }
+
+    @Override
+    public List<PaymentScheduleElementDto> buildSchedule(BigDecimal amount, int term, BigDecimal monthlyRate, BigDecimal monthlyPayment,
+                                                         int offset, int limit) {
+        FixedPointLoan loan = FixedPointLoan.of(amount, term, monthlyRate, monthlyPayment);
+        if (loan == null) {
+            log.debug("Fixed-point schedule not applicable: amount={}, monthlyRate={}, falling back to BigDecimal", amount, monthlyRate);
+            return reference.buildSchedule(amount, term, monthlyRate, monthlyPayment, offset, limit);
+        }
+        if (offset == 0) {
+            int end = PaymentScheduleEngineInterface.windowEnd(term, offset, limit);
+            return FixedPointSchedule.compute(loan, end).toElements(LocalDate.now());
+        }
+        return rowCalculator(loan).rows(LocalDate.now(), offset, limit);
+    }
+
+    @Override
+    public Iterator<PaymentScheduleElementDto> scheduleRows(BigDecimal amount, int term, BigDecimal monthlyRate, BigDecimal monthlyPayment,
+                                                            int offset, int limit) {
+        FixedPointLoan loan = FixedPointLoan.of(amount, term, monthlyRate, monthlyPayment);
+        if (loan == null) {
+            return reference.scheduleRows(amount, term, monthlyRate, monthlyPayment, offset, limit);
+        }
+        int end = PaymentScheduleEngineInterface.windowEnd(term, offset, limit);
+        if (offset >= end) {
+            return Collections.emptyIterator();
+        }
+        long remainingBefore = offset == 0 ? loan.amountCents() : rowCalculator(loan).remainingCentsBefore(offset + 1);
+        return loan.rows(LocalDate.now(), offset + 1, remainingBefore, end);
+    }
+
+    @Override
+    public CompactScheduleDto buildCompactSchedule(BigDecimal amount, int term, BigDecimal monthlyRate, BigDecimal monthlyPayment,
+                                                   int offset, int limit) {
+        FixedPointLoan loan = FixedPointLoan.of(amount, term, monthlyRate, monthlyPayment);
+        if (loan == null) {
+            return reference.buildCompactSchedule(amount, term, monthlyRate, monthlyPayment, offset, limit);
+        }
+        FixedPointSchedule schedule = offset == 0
+                ? FixedPointSchedule.compute(loan, PaymentScheduleEngineInterface.windowEnd(term, offset, limit))
+                : rowCalculator(loan).schedule(offset, limit);
+        return schedule.toCompact(LocalDate.now());
+    }
+
+    @Override
+    public PaymentScheduleElementDto buildRow(BigDecimal amount, int term, BigDecimal monthlyRate, BigDecimal monthlyPayment, int number) {
+        FixedPointLoan loan = FixedPointLoan.of(amount, term, monthlyRate, monthlyPayment);
+        if (loan == null) {
+            return reference.buildRow(amount, term, monthlyRate, monthlyPayment, number);
+        }
+        return rowCalculator(loan).row(LocalDate.now(), number);
+    }
+
+    private ScheduleRowCalculator rowCalculator(FixedPointLoan loan) {
+        return rowCalculators.get(loan, ScheduleRowCalculator::of);
+    }
+}
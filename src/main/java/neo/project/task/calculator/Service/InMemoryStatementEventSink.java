@@ -0,0 +1,48 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.StatementEventDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Broker stand-in that keeps the latest events in memory, for local runs and tests.
+ */
+@Component
+@ConditionalOnProperty(name = "calculator.events.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryStatementEventSink implements StatementEventSinkInterface {
+
+    private final int retention;
+    private final ArrayDeque<StatementEventDto> events;
+
+    public InMemoryStatementEventSink(int retention) {
+        if (retention < 1) {
+            throw new IllegalArgumentException("calculator.events.memory-retention must be positive: " + retention);
+        }
+        this.retention = retention;
+        this.events = new ArrayDeque<>(retention);
+    }
+
+    @Autowired
+    public InMemoryStatementEventSink(StatementEventProperties properties) {
+        this(properties.getMemoryRetention());
+    }
+
+    @Override
+    public synchronized void write(List<StatementEventDto> batch) {
+        for (StatementEventDto event : batch) {
+            if (events.size() == retention) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    public synchronized List<StatementEventDto> events() {
+        return new ArrayList<>(events);
+    }
+}
@@ -0,0 +1,290 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.CreditDto;
+import neo.project.task.calculator.DTO.EmploymentDto;
+import neo.project.task.calculator.DTO.EmploymentStatus;
+import neo.project.task.calculator.DTO.Gender;
+import neo.project.task.calculator.DTO.LoanOfferDto;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.MaritalStatus;
+import neo.project.task.calculator.DTO.Position;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binary layout of journal records, little-endian. Every payload starts with a type byte, the epoch
+ * millisecond it was written at and the statement id (zero for credits, whose request carries none).
+ * Decimals are a scale byte and the unscaled long (see {@link #normalized} for values that do not fit), enums
+ * their ordinal, absent values a marker; personal
+ * data other than what scoring looks at is not recorded. Enum constants may only be appended, since a
+ * reordering would change the meaning of recorded ordinals.
+ * <p>
+ * Writing does not allocate: values go straight from the DTO getters into the buffer. The exception is a decimal
+ * that has to be {@link #normalized} first.
+ */
+final class JournalCodec {
+
+    static final byte CREDIT = 1;
+    static final byte OFFERS = 2;
+
+    static final int COMMON_SIZE = 1 + 8 + 16;
+    static final int STATEMENT_ID_OFFSET = 1 + 8;
+    private static final int DECIMAL_SIZE = 1 + 8;
+    static final int CREDIT_SIZE = COMMON_SIZE + 2 + DECIMAL_SIZE + 4 + 1 + 2 + 4 + 2 + DECIMAL_SIZE + 4 + 4 + 8
+            + 3 * DECIMAL_SIZE;
+    private static final int OFFERS_BASE_SIZE = COMMON_SIZE + DECIMAL_SIZE + 4 + 8 + 1;
+    private static final int OFFER_SIZE = 3 * DECIMAL_SIZE + 1;
+    static final int MAX_OFFERS = 255;
+
+    private static final byte OUTCOME_APPROVED = 0;
+    private static final byte OUTCOME_REJECTED = 1;
+    private static final byte ABSENT_SCALE = Byte.MIN_VALUE;
+    private static final int ABSENT_INT = Integer.MIN_VALUE;
+    private static final long ABSENT_DATE = Long.MIN_VALUE;
+    private static final int INSURANCE = 1;
+    private static final int SALARY_CLIENT = 2;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18
+    };
+    private static final double EXACT_LIMIT = 0x1p50;
+    // Every 18-digit unscaled value fits a long.
+    private static final int MAX_PRECISION = 18;
+    private static final MathContext MAX_PRECISION_CONTEXT = new MathContext(MAX_PRECISION, RoundingMode.HALF_EVEN);
+
+    private JournalCodec() {
+    }
+
+    static int offersSize(int count) {
+        return OFFERS_BASE_SIZE + count * OFFER_SIZE;
+    }
+
+    /**
+     * Writes an approved credit ({@code rejectedBy == null}) or a rejection ({@code credit == null}).
+     */
+    static void writeCredit(ByteBuffer out, long timeMillis, ScoringDataDto scoring, CreditDto credit, ScoringRule rejectedBy) {
+        out.put(CREDIT).putLong(timeMillis).putLong(0).putLong(0);
+        out.put(rejectedBy == null ? OUTCOME_APPROVED : OUTCOME_REJECTED);
+        out.put(rejectedBy == null ? -1 : (byte) rejectedBy.ordinal());
+
+        putDecimal(out, scoring.getAmount());
+        putInt(out, scoring.getTerm());
+        out.put(flags(scoring.getIsInsuranceEnabled(), scoring.getIsSalaryClient()));
+        out.put(ordinal(scoring.getGender())).put(ordinal(scoring.getMaritalStatus()));
+        putInt(out, scoring.getDependentAmount());
+        EmploymentDto employment = scoring.getEmployment();
+        if (employment == null) {
+            out.put((byte) -1).put((byte) -1);
+            putDecimal(out, null);
+            putInt(out, null);
+            putInt(out, null);
+        } else {
+            out.put(ordinal(employment.getEmploymentStatus())).put(ordinal(employment.getPosition()));
+            putDecimal(out, employment.getSalary());
+            putInt(out, employment.getWorkExperienceTotal());
+            putInt(out, employment.getWorkExperienceCurrent());
+        }
+        putDate(out, scoring.getBirthdate());
+
+        putDecimal(out, credit == null ? null : credit.getRate());
+        putDecimal(out, credit == null ? null : credit.getMonthlyPayment());
+        putDecimal(out, credit == null ? null : credit.getPsk());
+    }
+
+    static void writeOffers(ByteBuffer out, long timeMillis, LoanStatementRequestDto request, List<LoanOfferDto> offers) {
+        UUID statementId = offers.isEmpty() ? null : offers.get(0).getStatementId();
+        out.put(OFFERS).putLong(timeMillis);
+        out.putLong(statementId == null ? 0 : statementId.getMostSignificantBits());
+        out.putLong(statementId == null ? 0 : statementId.getLeastSignificantBits());
+
+        putDecimal(out, request.getAmount());
+        putInt(out, request.getTerm());
+        putDate(out, request.getBirthdate());
+        out.put((byte) offers.size());
+        for (int i = 0; i < offers.size(); i++) {
+            LoanOfferDto offer = offers.get(i);
+            putDecimal(out, offer.getRate());
+            putDecimal(out, offer.getMonthlyPayment());
+            putDecimal(out, offer.getTotalAmount());
+            out.put(flags(offer.getIsInsuranceEnabled(), offer.getIsSalaryClient()));
+        }
+    }
+
+    static boolean hasStatementId(ByteBuffer payload, UUID statementId) {
+        int start = payload.position() + STATEMENT_ID_OFFSET;
+        return payload.getLong(start) == statementId.getMostSignificantBits()
+                && payload.getLong(start + 8) == statementId.getLeastSignificantBits();
+    }
+
+    /**
+     * Reads the payload between the buffer's position and limit.
+     */
+    static JournalEntry read(ByteBuffer in, long position) {
+        byte type = in.get();
+        Instant time = Instant.ofEpochMilli(in.getLong());
+        UUID statementId = new UUID(in.getLong(), in.getLong());
+        return switch (type) {
+            case CREDIT -> readCredit(in, position, time);
+            case OFFERS -> readOffers(in, position, time, statementId);
+            default -> throw new IllegalStateException("Unknown journal record type " + type + " at " + position);
+        };
+    }
+
+    private static JournalEntry readCredit(ByteBuffer in, long position, Instant time) {
+        boolean approved = in.get() == OUTCOME_APPROVED;
+        byte rule = in.get();
+
+        ScoringDataDto scoring = new ScoringDataDto();
+        scoring.setAmount(getDecimal(in));
+        scoring.setTerm(getInt(in));
+        byte flags = in.get();
+        scoring.setIsInsuranceEnabled((flags & INSURANCE) != 0);
+        scoring.setIsSalaryClient((flags & SALARY_CLIENT) != 0);
+        scoring.setGender(constant(Gender.values(), in.get()));
+        scoring.setMaritalStatus(constant(MaritalStatus.values(), in.get()));
+        scoring.setDependentAmount(getInt(in));
+        EmploymentDto employment = new EmploymentDto();
+        employment.setEmploymentStatus(constant(EmploymentStatus.values(), in.get()));
+        employment.setPosition(constant(Position.values(), in.get()));
+        employment.setSalary(getDecimal(in));
+        employment.setWorkExperienceTotal(getInt(in));
+        employment.setWorkExperienceCurrent(getInt(in));
+        scoring.setEmployment(employment);
+        scoring.setBirthdate(getDate(in));
+
+        BigDecimal rate = getDecimal(in);
+        BigDecimal monthlyPayment = getDecimal(in);
+        BigDecimal psk = getDecimal(in);
+        if (!approved) {
+            return new JournalEntry.CreditDecision(position, time, scoring, null, constant(ScoringRule.values(), rule));
+        }
+        CreditDto credit = new CreditDto();
+        credit.setAmount(scoring.getAmount());
+        credit.setTerm(scoring.getTerm());
+        credit.setRate(rate);
+        credit.setMonthlyPayment(monthlyPayment);
+        credit.setPsk(psk);
+        credit.setIsInsuranceEnabled(scoring.getIsInsuranceEnabled());
+        credit.setIsSalaryClient(scoring.getIsSalaryClient());
+        return new JournalEntry.CreditDecision(position, time, scoring, credit, null);
+    }
+
+    private static JournalEntry readOffers(ByteBuffer in, long position, Instant time, UUID statementId) {
+        LoanStatementRequestDto request = new LoanStatementRequestDto();
+        request.setAmount(getDecimal(in));
+        request.setTerm(getInt(in));
+        request.setBirthdate(getDate(in));
+
+        int count = Byte.toUnsignedInt(in.get());
+        List<LoanOfferDto> offers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LoanOfferDto offer = new LoanOfferDto();
+            offer.setStatementId(statementId);
+            offer.setRequestedAmount(request.getAmount());
+            offer.setTerm(request.getTerm());
+            offer.setRate(getDecimal(in));
+            offer.setMonthlyPayment(getDecimal(in));
+            offer.setTotalAmount(getDecimal(in));
+            byte flags = in.get();
+            offer.setIsInsuranceEnabled((flags & INSURANCE) != 0);
+            offer.setIsSalaryClient((flags & SALARY_CLIENT) != 0);
+            offers.add(offer);
+        }
+        return new JournalEntry.OffersIssued(position, time, statementId, request, offers);
+    }
+
+    static void putDecimal(ByteBuffer out, BigDecimal value) {
+        if (value == null) {
+            out.put(ABSENT_SCALE).putLong(0);
+            return;
+        }
+        BigDecimal encoded = isEncodable(value) ? value : normalized(value);
+        out.put((byte) encoded.scale()).putLong(unscaled(encoded));
+    }
+
+    private static boolean isEncodable(BigDecimal value) {
+        int scale = value.scale();
+        return scale > ABSENT_SCALE && scale <= Byte.MAX_VALUE && value.precision() <= MAX_PRECISION;
+    }
+
+    /**
+     * A value with more than 18 significant digits or a scale outside a byte loses its trailing zeros, which is
+     * exact, and is then rounded half-even to 18 significant digits and at most 127 decimal places. Only
+     * magnitudes from 10^145 up cannot be recorded at all; no amount the validator accepts gets near that.
+     */
+    static BigDecimal normalized(BigDecimal value) {
+        BigDecimal result = value.stripTrailingZeros();
+        if (result.precision() > MAX_PRECISION) {
+            result = result.round(MAX_PRECISION_CONTEXT);
+        }
+        if (result.scale() > Byte.MAX_VALUE) {
+            result = result.setScale(Byte.MAX_VALUE, RoundingMode.HALF_EVEN);
+        }
+        if (result.scale() <= ABSENT_SCALE) {
+            throw new ArithmeticException("Magnitude out of journal range: " + value);
+        }
+        return result;
+    }
+
+    static BigDecimal getDecimal(ByteBuffer in) {
+        byte scale = in.get();
+        long unscaled = in.getLong();
+        return scale == ABSENT_SCALE ? null : BigDecimal.valueOf(unscaled, scale);
+    }
+
+    /**
+     * The unscaled value of {@code value} without building the {@link java.math.BigInteger} that
+     * {@link BigDecimal#unscaledValue()} would. For scales up to 18 and magnitudes below 2^50 the double value is
+     * the correctly rounded quotient of the unscaled value and an exact power of ten, so multiplying back is off
+     * by less than a quarter and rounds to the exact unscaled value. Anything else takes the exact path.
+     */
+    static long unscaled(BigDecimal value) {
+        int scale = value.scale();
+        if (scale >= 0 && scale < POWERS_OF_TEN.length) {
+            double scaled = value.doubleValue() * POWERS_OF_TEN[scale];
+            if (Math.abs(scaled) < EXACT_LIMIT) {
+                return Math.round(scaled);
+            }
+        }
+        return value.unscaledValue().longValueExact();
+    }
+
+    private static void putInt(ByteBuffer out, Integer value) {
+        out.putInt(value == null ? ABSENT_INT : value);
+    }
+
+    private static Integer getInt(ByteBuffer in) {
+        int value = in.getInt();
+        return value == ABSENT_INT ? null : value;
+    }
+
+    private static void putDate(ByteBuffer out, LocalDate date) {
+        out.putLong(date == null ? ABSENT_DATE : date.toEpochDay());
+    }
+
+    private static LocalDate getDate(ByteBuffer in) {
+        long epochDay = in.getLong();
+        return epochDay == ABSENT_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static byte flags(Boolean insurance, Boolean salaryClient) {
+        return (byte) ((Boolean.TRUE.equals(insurance) ? INSURANCE : 0) | (Boolean.TRUE.equals(salaryClient) ? SALARY_CLIENT : 0));
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value == null ? -1 : (byte) value.ordinal();
+    }
+
+    private static <E extends Enum<E>> E constant(E[] values, byte ordinal) {
+        return ordinal < 0 ? null : values[ordinal];
+    }
+}
@@ -0,0 +1,32 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.CreditDto;
+import neo.project.task.calculator.DTO.LoanOfferDto;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A record read back from the {@link CalculationJournal}. Only the fields the journal keeps are filled in.
+ * {@link #position()} is the segment index in the high and the offset in the low 32 bits.
+ */
+public sealed interface JournalEntry {
+
+    long position();
+
+    Instant time();
+
+    /**
+     * An approved credit, or a rejection with {@code credit == null} and the rule that rejected it.
+     */
+    record CreditDecision(long position, Instant time, ScoringDataDto scoring, CreditDto credit,
+                          ScoringRule rejectedBy) implements JournalEntry {
+    }
+
+    record OffersIssued(long position, Instant time, UUID statementId, LoanStatementRequestDto request,
+                        List<LoanOfferDto> offers) implements JournalEntry {
+    }
+}
@@ -0,0 +1,197 @@
+package neo.project.task.calculator.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped journal file: a header with magic, version and segment index, then records of
+ * {@code [payload length][CRC32C of payload][payload]}. A zero length marks the end; a record whose length
+ * runs past the file or whose checksum does not match is a torn write and ends the segment as well.
+ * <p>
+ * A writable segment is used by one appender at a time: it owns {@link #writeOffset} and reuses one buffer
+ * view and checksum, so framing a record does not allocate.
+ */
+final class JournalSegment {
+
+    static final int MAGIC = 0x4C4E4A43;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_HEADER_SIZE = 8;
+
+    private static final String PREFIX = "calculations-";
+    private static final String SUFFIX = ".journal";
+
+    private final long index;
+    private final Path file;
+    private final MappedByteBuffer mapped;
+    private final ByteBuffer view;
+    private final CRC32C checksum = new CRC32C();
+    private int writeOffset;
+
+    private JournalSegment(long index, Path file, MappedByteBuffer mapped) {
+        this.index = index;
+        this.file = file;
+        this.mapped = mapped;
+        this.view = mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static JournalSegment create(Path directory, long index, int size) throws IOException {
+        Path file = directory.resolve(fileName(index));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            JournalSegment segment = new JournalSegment(index, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            segment.view.putInt(0, MAGIC).putInt(4, VERSION).putLong(8, index);
+            segment.writeOffset = HEADER_SIZE;
+            return segment;
+        }
+    }
+
+    /**
+     * Maps an existing segment and finds the end of its last intact record. A writable segment is cleared
+     * after a torn record, so later appends cannot be followed by leftovers of the old one.
+     */
+    static JournalSegment open(Path file, boolean writable) throws IOException {
+        StandardOpenOption[] options = writable
+                ? new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a journal segment: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                    0, channel.size());
+            JournalSegment segment = new JournalSegment(indexOf(file), file, mapped);
+            if (segment.view.getInt(0) != MAGIC || segment.view.getInt(4) != VERSION
+                    || segment.view.getLong(8) != segment.index) {
+                throw new IOException("Not a journal segment or unsupported version: " + file);
+            }
+            int offset = HEADER_SIZE;
+            for (int next = segment.recordEnd(offset); next > 0; next = segment.recordEnd(offset)) {
+                offset = next;
+            }
+            segment.writeOffset = offset;
+            if (writable && offset + 4 <= segment.size() && segment.view.getInt(offset) != 0) {
+                segment.clearFrom(offset);
+            }
+            return segment;
+        }
+    }
+
+    static String fileName(long index) {
+        return PREFIX + String.format("%020d", index) + SUFFIX;
+    }
+
+    static long indexOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Segment files of the directory in index order.
+     */
+    static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * End offset of the intact record at {@code offset}, or {@code -1} if there is none.
+     */
+    int recordEnd(int offset) {
+        if (offset + RECORD_HEADER_SIZE > size()) {
+            return -1;
+        }
+        int length = view.getInt(offset);
+        if (length <= 0 || length > size() - offset - RECORD_HEADER_SIZE) {
+            return -1;
+        }
+        int payload = offset + RECORD_HEADER_SIZE;
+        return checksum(payload, payload + length) == view.getInt(offset + 4) ? payload + length : -1;
+    }
+
+    /**
+     * Payload of the record at {@code offset} as its own buffer.
+     */
+    ByteBuffer payload(int offset) {
+        return view.slice(offset + RECORD_HEADER_SIZE, view.getInt(offset)).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    boolean hasRoom(int payloadSize) {
+        return (long) writeOffset + RECORD_HEADER_SIZE + payloadSize <= size();
+    }
+
+    /**
+     * The shared view, positioned where the next payload goes.
+     */
+    ByteBuffer beginRecord() {
+        view.limit(size()).position(writeOffset + RECORD_HEADER_SIZE);
+        return view;
+    }
+
+    /**
+     * Frames the payload written since {@link #beginRecord()}: checksum first, length last, since a non-zero
+     * length is what makes the record visible to a scan. Returns the new write offset.
+     */
+    int endRecord() {
+        int payload = writeOffset + RECORD_HEADER_SIZE;
+        int end = view.position();
+        view.putInt(writeOffset + 4, checksum(payload, end));
+        view.putInt(writeOffset, end - payload);
+        writeOffset = end;
+        return end;
+    }
+
+    void force(int from, int to) {
+        if (to > from) {
+            mapped.force(from, to - from);
+        }
+    }
+
+    private int checksum(int from, int to) {
+        int position = view.position();
+        int limit = view.limit();
+        view.limit(to).position(from);
+        checksum.reset();
+        checksum.update(view);
+        view.limit(limit).position(position);
+        return (int) checksum.getValue();
+    }
+
+    private void clearFrom(int offset) {
+        byte[] zeros = new byte[64 * 1024];
+        for (int i = offset; i < size(); i += zeros.length) {
+            view.put(i, zeros, 0, Math.min(zeros.length, size() - i));
+        }
+    }
+
+    long index() {
+        return index;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    int writeOffset() {
+        return writeOffset;
+    }
+
+    int size() {
+        return view.capacity();
+    }
+}
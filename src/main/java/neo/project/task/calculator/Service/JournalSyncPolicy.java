@@ -0,0 +1,19 @@
+package neo.project.task.calculator.Service;
+
+/**
+ * When the calculation journal forces appended records to disk.
+ */
+public enum JournalSyncPolicy {
+    /**
+     * Never forces; the OS writes the mapped pages back on its own schedule.
+     */
+    NEVER,
+    /**
+     * Forces everything appended so far once per commit interval; appends do not wait.
+     */
+    INTERVAL,
+    /**
+     * An append returns once a group commit covering it has forced it; concurrent appends share one force.
+     */
+    ALWAYS
+}
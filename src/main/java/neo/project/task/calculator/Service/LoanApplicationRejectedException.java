@@ -1,7 +1,30 @@
 package neo.project.task.calculator.Service;
 
+/**
+ * Scoring rejected the application. Rejections are an expected outcome, so no stack trace is captured.
+ */
 public class LoanApplicationRejectedException extends RuntimeException {
+    private final ScoringRule rule;
+
     public LoanApplicationRejectedException(String message) {
-        super(message);
+        this(message, null);
+    }
+
+    public LoanApplicationRejectedException(String message, ScoringRule rule) {
+        super(describe(message, rule));
+        this.rule = rule;
+    }
+
+    public ScoringRule getRule() {
+        return rule;
+    }
+
+    static String describe(String reason, ScoringRule rule) {
+        return rule == null ? reason : reason + ": " + rule.getDescription();
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
     }
 }
@@ -1,97 +1,176 @@
 package neo.project.task.calculator.Service;
 
 
+import neo.project.task.calculator.DTO.BatchItemResultDto;
 import neo.project.task.calculator.DTO.LoanOfferDto;
 import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 @Slf4j
 @Service
 public class LoanCalculatorService implements LoanCalculatorServiceInterface{
 
+    private final AnnuityFactorCache annuityFactorCache;
+    private final BatchExecutor batchExecutor;
+    private final RequestValidator requestValidator;
+    private final ScoringRuleEngine scoringRuleEngine;
+    private final CalculationMetrics metrics;
+    private final OfferPricingCache offerPricingCache;
+    private final StatementEventPublisher statementEvents;
+    private final CalculationJournal journal;
+    private final SingleFlight<OfferGridKey, List<OfferPricing>> offerGrids = new SingleFlight<>();
+
+    @Autowired
+    public LoanCalculatorService(AnnuityFactorCache annuityFactorCache, BatchExecutor batchExecutor,
+                                 RequestValidator requestValidator, ScoringRuleEngine scoringRuleEngine,
+                                 CalculationMetrics metrics, OfferPricingCache offerPricingCache,
+                                 StatementEventPublisher statementEvents, CalculationJournal journal) {
+        this.annuityFactorCache = annuityFactorCache;
+        this.batchExecutor = batchExecutor;
+        this.requestValidator = requestValidator;
+        this.scoringRuleEngine = scoringRuleEngine;
+        this.metrics = metrics;
+        this.offerPricingCache = offerPricingCache;
+        this.statementEvents = statementEvents;
+        this.journal = journal;
+    }
+
     @Override
     public List<LoanOfferDto> processLoanRequest(LoanStatementRequestDto request) {
+        return tryProcessLoanRequest(request).orThrow();
+    }
 
-        validateRequest(request);
+    @Override
+    public CalculationResult<List<LoanOfferDto>> tryProcessLoanRequest(LoanStatementRequestDto request) {
+
+        Optional<CalculationResult.Invalid<List<LoanOfferDto>>> invalid = validateRequest(request);
+        if (invalid.isPresent()) {
+            return invalid.get();
+        }
 
         log.debug("Request validated successfully");
-        List<LoanOfferDto> offers = new ArrayList<>();
-        UUID statementId = UUID.randomUUID();
+        List<LoanOfferDto> offers = toOffers(request, cachedOffers(request.getAmount(), request.getTerm()));
+        statementEvents.offersCalculated(request, offers);
+        journal.offersCalculated(request, offers);
+        return CalculationResult.success(offers);
+    }
+
+    @Override
+    public List<BatchItemResultDto<List<LoanOfferDto>>> processLoanRequests(List<LoanStatementRequestDto> requests) {
+        Map<PricingKey, List<OfferPricing>> batchPricing = new ConcurrentHashMap<>();
+        List<BatchItemResultDto<List<LoanOfferDto>>> results = batchExecutor.executeResults(requests, request -> {
+            Optional<CalculationResult.Invalid<List<LoanOfferDto>>> invalid = validateRequest(request);
+            if (invalid.isPresent()) {
+                return invalid.get();
+            }
+            // Priced outside the map: computeIfAbsent would hold a bin lock for the whole grid.
+            PricingKey key = new PricingKey(OfferPricingCache.canonicalAmount(request.getAmount()), request.getTerm());
+            List<OfferPricing> pricing = batchPricing.get(key);
+            if (pricing == null) {
+                List<OfferPricing> priced = cachedOffers(request.getAmount(), request.getTerm());
+                List<OfferPricing> raced = batchPricing.putIfAbsent(key, priced);
+                pricing = raced != null ? raced : priced;
+            }
+            List<LoanOfferDto> offers = toOffers(request, pricing);
+            statementEvents.offersCalculated(request, offers);
+            journal.offersCalculated(request, offers);
+            return CalculationResult.success(offers);
+        });
+        log.debug("Offers batch: size={}, distinct pricings={}", results.size(), batchPricing.size());
+        return results;
+    }
+
+    /**
+     * A cache miss is priced once even when identical requests miss together; the others share that grid
+     * and stamp their own statement ids on it.
+     */
+    private List<OfferPricing> cachedOffers(BigDecimal amount, int term) {
+        ScoringRuleTable rules = scoringRuleEngine.current();
+        BigDecimal canonical = OfferPricingCache.canonicalAmount(amount);
+        return offerPricingCache.get(canonical, term, rules.getVersion(), () -> offerGrids.execute(
+                new OfferGridKey(canonical, term, rules.getVersion()), () -> priceOffers(rules, canonical, term), this::shareGrid));
+    }
+
+    private List<OfferPricing> shareGrid(List<OfferPricing> pricing) {
+        metrics.coalesced(CalculationMetrics.Pipeline.OFFERS);
+        return pricing;
+    }
+
+    private List<OfferPricing> priceOffers(ScoringRuleTable rules, BigDecimal amount, int term) {
+        long start = System.nanoTime();
+        List<OfferPricing> pricing = new ArrayList<>(4);
 
         for (boolean insurance : List.of(true, false)) {
             for (boolean salary : List.of(true, false)) {
 
-                BigDecimal rate = calculateRate(insurance, salary);
-                BigDecimal monthlyPayment = calculateMonthlyPayment(request.getAmount(), rate, request.getTerm());
-                BigDecimal totalAmount = monthlyPayment.multiply(BigDecimal.valueOf(request.getTerm()));
+                BigDecimal rate = calculateRate(rules, insurance, salary);
+                BigDecimal monthlyPayment = calculateMonthlyPayment(amount, rate, term);
+                BigDecimal totalAmount = monthlyPayment.multiply(BigDecimal.valueOf(term));
 
                 log.debug("Combination: insurance={}, salary={}, rate={}, monthlyPayment={}, totalAmount={}",
                         insurance, salary, rate, monthlyPayment, totalAmount);
 
-                LoanOfferDto offer = new LoanOfferDto();
-                offer.setStatementId(statementId);
-                offer.setRequestedAmount(request.getAmount());
-                offer.setTotalAmount(totalAmount.setScale(2, RoundingMode.HALF_UP));
-                offer.setTerm(request.getTerm());
-                offer.setMonthlyPayment(monthlyPayment.setScale(2, RoundingMode.HALF_UP));
-                offer.setRate(rate);
-                offer.setIsInsuranceEnabled(insurance);
-                offer.setIsSalaryClient(salary);
-
-                offers.add(offer);
+                pricing.add(new OfferPricing(rate, insurance, salary,
+                        monthlyPayment.setScale(2, RoundingMode.HALF_UP), totalAmount.setScale(2, RoundingMode.HALF_UP)));
             }
         }
-        offers.sort(Comparator.comparing(LoanOfferDto::getRate));
+        pricing.sort(Comparator.comparing(OfferPricing::rate));
+        metrics.record(CalculationMetrics.Pipeline.OFFERS, CalculationMetrics.Stage.MONTHLY_PAYMENT, start);
 
-        return offers;
+        return List.copyOf(pricing);
     }
 
-    private void validateRequest(LoanStatementRequestDto req) {
-        log.debug("Validation start");
-        if (req.getAmount() == null || req.getAmount().compareTo(BigDecimal.ZERO) <= 0)
-            throw new IllegalArgumentException("Amount must be positive");
-
-        if (req.getTerm() == null || req.getTerm() <= 0)
-            throw new IllegalArgumentException("Term must be positive");
-
-        if (req.getFirstName().length() < 2 ||req.getFirstName().length() >30)
-            throw new IllegalArgumentException("First name is required");
-
-        if (req.getLastName().length()<2 || req.getLastName().length()>30)
-            throw new IllegalArgumentException("Last name is required");
-
-        if (req.getMiddleName() == null || req.getMiddleName().length() < 2 || req.getMiddleName().length() > 30)
-            throw new IllegalArgumentException("Middle name is required");
-
-        if (req.getEmail() == null || !req.getEmail().matches("^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$"))
-            throw new IllegalArgumentException("Invalid email format");
+    private List<LoanOfferDto> toOffers(LoanStatementRequestDto request, List<OfferPricing> pricing) {
+        List<LoanOfferDto> offers = new ArrayList<>(pricing.size());
+        UUID statementId = UUID.randomUUID();
 
-        if (req.getBirthdate() == null || req.getBirthdate().isAfter(LocalDate.now().minusYears(18)))
-            throw new IllegalArgumentException("User must be at least 18 years old");
+        for (OfferPricing price : pricing) {
+            LoanOfferDto offer = new LoanOfferDto();
+            offer.setStatementId(statementId);
+            offer.setRequestedAmount(request.getAmount());
+            offer.setTotalAmount(price.totalAmount());
+            offer.setTerm(request.getTerm());
+            offer.setMonthlyPayment(price.monthlyPayment());
+            offer.setRate(price.rate());
+            offer.setIsInsuranceEnabled(price.insurance());
+            offer.setIsSalaryClient(price.salary());
+
+            offers.add(offer);
+        }
 
-        if (req.getPassportSeries() == null || !req.getPassportSeries().matches("\\d{4}"))
-            throw new IllegalArgumentException("Passport series must be 4 digits");
+        return offers;
+    }
 
-        if (req.getPassportNumber() == null || !req.getPassportNumber().matches("\\d{6}"))
-            throw new IllegalArgumentException("Passport number must be 6 digits");
+    private <T> Optional<CalculationResult.Invalid<T>> validateRequest(LoanStatementRequestDto req) {
+        log.debug("Validation start");
+        metrics.request(CalculationMetrics.Pipeline.OFFERS, req.getAmount(), req.getTerm());
+        long start = System.nanoTime();
+        Optional<CalculationResult.Invalid<T>> invalid = requestValidator.findInvalid(req);
+        if (invalid.isPresent()) {
+            metrics.invalid(CalculationMetrics.Pipeline.OFFERS, invalid.get().fields());
+            return invalid;
+        }
+        metrics.record(CalculationMetrics.Pipeline.OFFERS, CalculationMetrics.Stage.VALIDATION, start);
         log.debug("Validation end");
+        return invalid;
     }
 
-    private BigDecimal calculateRate(boolean insurance, boolean salary) {
+    private BigDecimal calculateRate(ScoringRuleTable rules, boolean insurance, boolean salary) {
         log.debug("calculateRate start");
-        BigDecimal baseRate = new BigDecimal("10.0");
-        if (insurance) baseRate = baseRate.subtract(new BigDecimal("1.0"));
-        if (salary) baseRate = baseRate.subtract(new BigDecimal("0.5"));
+        BigDecimal baseRate = ScoringRuleTable.toRate(rules.baseRate(insurance, salary));
         log.debug("calculateRate info: baseRate={}, salary={}, baseRate={}",
                 insurance, salary, baseRate);
         return baseRate;
@@ -99,16 +178,18 @@ public class LoanCalculatorService implements LoanCalculatorServiceInterface{
 
     private BigDecimal calculateMonthlyPayment(BigDecimal principal, BigDecimal rateAnnual, int termMonths) {
         log.debug("calculateMonthlyPayment start");
-        BigDecimal monthlyRate = rateAnnual.divide(BigDecimal.valueOf(12 * 100), 10, RoundingMode.HALF_UP);
+        BigDecimal monthlyRate = AnnuityCalculator.monthlyRate(rateAnnual);
         if (monthlyRate.compareTo(BigDecimal.ZERO) == 0) {
             return principal.divide(BigDecimal.valueOf(termMonths), 10, RoundingMode.HALF_UP);
         }
-        BigDecimal onePlusRPowerN = monthlyRate.add(BigDecimal.ONE).pow(termMonths);
-        BigDecimal numerator = principal.multiply(monthlyRate).multiply(onePlusRPowerN);
-        BigDecimal denominator = onePlusRPowerN.subtract(BigDecimal.ONE);
-        BigDecimal answer = numerator.divide(denominator, 10, RoundingMode.HALF_UP);
+        BigDecimal answer = annuityFactorCache.monthlyPayment(principal, monthlyRate, termMonths);
         log.debug("calculateMonthlyPayment info: MonthlyPayment={}", answer);
         return answer;
     }
-}
 
+    private record OfferGridKey(BigDecimal amount, int term, long rulesVersion) {
+    }
+
+    private record PricingKey(BigDecimal amount, int term) {
+    }
+}
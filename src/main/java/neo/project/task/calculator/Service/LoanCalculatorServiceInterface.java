@@ -1,5 +1,6 @@
 package neo.project.task.calculator.Service;
 
+import neo.project.task.calculator.DTO.BatchItemResultDto;
 import neo.project.task.calculator.DTO.LoanOfferDto;
 import neo.project.task.calculator.DTO.LoanStatementRequestDto;
 
@@ -7,4 +8,8 @@ import java.util.List;
 
 public interface LoanCalculatorServiceInterface {
     List<LoanOfferDto> processLoanRequest(LoanStatementRequestDto request);
+
+    CalculationResult<List<LoanOfferDto>> tryProcessLoanRequest(LoanStatementRequestDto request);
+
+    List<BatchItemResultDto<List<LoanOfferDto>>> processLoanRequests(List<LoanStatementRequestDto> requests);
 }
@@ -0,0 +1,137 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.OfferGridDto;
+import neo.project.task.calculator.DTO.OfferGridMatrixDto;
+import neo.project.task.calculator.DTO.OfferGridRequestDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Monthly payments of the four offers over a whole amount x term grid, priced exactly like
+ * {@link LoanCalculatorService}. The annuity payment {@code amount * r / (1 - (1 + r)^-n)} splits into a
+ * numerator per (rate, amount) and a denominator per (rate, term), so each is computed once per grid and a
+ * cell costs a single division. Terms are priced in parallel once the grid is large enough.
+ */
+@Slf4j
+@Service
+public class OfferGridService implements OfferGridServiceInterface {
+
+    private static final int PARALLEL_MIN_CELLS = 1_024;
+
+    private final AnnuityFactorCache annuityFactorCache;
+    private final RequestValidator requestValidator;
+    private final ScoringRuleEngine scoringRuleEngine;
+    private final CalculationMetrics metrics;
+    private final int maxCells;
+
+    @Autowired
+    public OfferGridService(AnnuityFactorCache annuityFactorCache, RequestValidator requestValidator,
+                            ScoringRuleEngine scoringRuleEngine, CalculationMetrics metrics,
+                            @Value("${calculator.offers-grid.max-cells:10000}") int maxCells) {
+        this.annuityFactorCache = annuityFactorCache;
+        this.requestValidator = requestValidator;
+        this.scoringRuleEngine = scoringRuleEngine;
+        this.metrics = metrics;
+        this.maxCells = maxCells;
+    }
+
+    @Override
+    public OfferGridDto calculateOfferGrid(OfferGridRequestDto request) {
+        return tryCalculateOfferGrid(request).orThrow();
+    }
+
+    @Override
+    public CalculationResult<OfferGridDto> tryCalculateOfferGrid(OfferGridRequestDto request) {
+        long start = System.nanoTime();
+        Optional<CalculationResult.Invalid<OfferGridDto>> invalid = requestValidator.findInvalid(request, maxCells);
+        if (invalid.isPresent()) {
+            metrics.invalid(CalculationMetrics.Pipeline.OFFER_GRID, invalid.get().fields());
+            return invalid.get();
+        }
+        start = metrics.record(CalculationMetrics.Pipeline.OFFER_GRID, CalculationMetrics.Stage.VALIDATION, start);
+
+        List<BigDecimal> amounts = amounts(request.getAmountFrom(), request.getAmountTo(), request.getAmountStep());
+        List<Integer> terms = terms(request.getTermFrom(), request.getTermTo(), request.getTermStep());
+        ScoringRuleTable rules = scoringRuleEngine.current();
+        List<OfferGridMatrixDto> offers = new ArrayList<>(4);
+        for (boolean insurance : List.of(true, false)) {
+            for (boolean salary : List.of(true, false)) {
+                BigDecimal rate = ScoringRuleTable.toRate(rules.baseRate(insurance, salary));
+                offers.add(priceGrid(rate, insurance, salary, amounts, terms));
+            }
+        }
+        offers.sort(Comparator.comparing(OfferGridMatrixDto::getRate));
+        metrics.record(CalculationMetrics.Pipeline.OFFER_GRID, CalculationMetrics.Stage.MONTHLY_PAYMENT, start);
+        log.debug("Offer grid priced: amounts={}, terms={}, rulesVersion={}", amounts.size(), terms.size(), rules.getVersion());
+
+        OfferGridDto grid = new OfferGridDto();
+        grid.setAmounts(amounts);
+        grid.setTerms(terms);
+        grid.setOffers(offers);
+        return CalculationResult.success(grid);
+    }
+
+    private OfferGridMatrixDto priceGrid(BigDecimal rate, boolean insurance, boolean salary,
+                                         List<BigDecimal> amounts, List<Integer> terms) {
+        BigDecimal monthlyRate = AnnuityCalculator.monthlyRate(rate);
+        boolean zeroRate = monthlyRate.signum() == 0;
+        BigDecimal[] numerators = new BigDecimal[amounts.size()];
+        for (int i = 0; i < numerators.length; i++) {
+            numerators[i] = zeroRate ? amounts.get(i) : amounts.get(i).multiply(monthlyRate);
+        }
+        IntStream rows = IntStream.range(0, terms.size());
+        if ((long) numerators.length * terms.size() >= PARALLEL_MIN_CELLS) {
+            rows = rows.parallel();
+        }
+        List<List<BigDecimal>> payments = rows.mapToObj(row -> {
+            int term = terms.get(row);
+            BigDecimal[] payment = new BigDecimal[numerators.length];
+            if (zeroRate) {
+                BigDecimal months = BigDecimal.valueOf(term);
+                for (int i = 0; i < payment.length; i++) {
+                    payment[i] = numerators[i].divide(months, 10, RoundingMode.HALF_UP).setScale(2, RoundingMode.HALF_UP);
+                }
+            } else {
+                BigDecimal denominator = annuityFactorCache.denominator(monthlyRate, term);
+                for (int i = 0; i < payment.length; i++) {
+                    payment[i] = numerators[i].divide(denominator, RoundingMode.HALF_UP).setScale(2, RoundingMode.HALF_UP);
+                }
+            }
+            return Arrays.asList(payment);
+        }).toList();
+
+        OfferGridMatrixDto matrix = new OfferGridMatrixDto();
+        matrix.setRate(rate);
+        matrix.setIsInsuranceEnabled(insurance);
+        matrix.setIsSalaryClient(salary);
+        matrix.setMonthlyPayments(payments);
+        return matrix;
+    }
+
+    private static List<BigDecimal> amounts(BigDecimal from, BigDecimal to, BigDecimal step) {
+        List<BigDecimal> amounts = new ArrayList<>();
+        for (BigDecimal amount = from; amount.compareTo(to) <= 0; amount = amount.add(step)) {
+            amounts.add(amount);
+        }
+        return amounts;
+    }
+
+    private static List<Integer> terms(int from, int to, int step) {
+        List<Integer> terms = new ArrayList<>();
+        for (long term = from; term <= to; term += step) {
+            terms.add((int) term);
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,10 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.OfferGridDto;
+import neo.project.task.calculator.DTO.OfferGridRequestDto;
+
+public interface OfferGridServiceInterface {
+    OfferGridDto calculateOfferGrid(OfferGridRequestDto request);
+
+    CalculationResult<OfferGridDto> tryCalculateOfferGrid(OfferGridRequestDto request);
+}
@@ -0,0 +1,10 @@
+package neo.project.task.calculator.Service;
+
+import java.math.BigDecimal;
+
+/**
+ * One priced offer of the grid for an amount and term; everything in a {@code LoanOfferDto} except the
+ * request echo and the statement id.
+ */
+record OfferPricing(BigDecimal rate, boolean insurance, boolean salary, BigDecimal monthlyPayment, BigDecimal totalAmount) {
+}
@@ -0,0 +1,96 @@
+package neo.project.task.calculator.Service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the offer grid keyed by amount, term and scoring rules version. Offers do not depend on the
+ * applicant, so popular amount/term presets are priced once; callers stamp a fresh statement id per response.
+ * A newer rules version clears the cache; requests still holding the previous table only ever hit entries
+ * keyed with its own version. Amounts are keyed by {@link #canonicalAmount}, so {@code 100000} and
+ * {@code 100000.00} share one grid.
+ */
+@Slf4j
+@Component
+public class OfferPricingCache implements MeterBinder {
+
+    private final BoundedFifoCache<Key, List<OfferPricing>> grids;
+    private volatile long rulesVersion = Long.MIN_VALUE;
+
+    @Autowired
+    public OfferPricingCache(@Value("${calculator.offers-cache.max-size:1024}") int maxSize) {
+        this.grids = new BoundedFifoCache<>(maxSize);
+    }
+
+    List<OfferPricing> get(BigDecimal amount, int term, long version, Supplier<List<OfferPricing>> loader) {
+        if (version > rulesVersion) {
+            invalidate(version);
+        }
+        return grids.get(new Key(canonicalAmount(amount), term, version), key -> loader.get());
+    }
+
+    /**
+     * Scale-independent form of an amount: trailing zeros are dropped, but never below whole rubles. Grids should be
+     * priced with this value too, otherwise the scale of whichever request missed first would leak into the entry.
+     */
+    static BigDecimal canonicalAmount(BigDecimal amount) {
+        BigDecimal stripped = amount.stripTrailingZeros();
+        return stripped.scale() < 0 ? stripped.setScale(0) : stripped;
+    }
+
+    private synchronized void invalidate(long version) {
+        if (version <= rulesVersion) {
+            return;
+        }
+        if (rulesVersion != Long.MIN_VALUE) {
+            log.info("Scoring rules changed to version {}, dropping {} cached offer grids", version, grids.size());
+        }
+        grids.clear();
+        rulesVersion = version;
+    }
+
+    public int size() {
+        return grids.size();
+    }
+
+    public long hitCount() {
+        return grids.hitCount();
+    }
+
+    public long missCount() {
+        return grids.missCount();
+    }
+
+    public void clear() {
+        grids.clear();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("calculator.offers.cache.hits", grids, BoundedFifoCache::hitCount)
+                .description("Offer grid cache hits")
+                .register(registry);
+        FunctionCounter.builder("calculator.offers.cache.misses", grids, BoundedFifoCache::missCount)
+                .description("Offer grid cache misses")
+                .register(registry);
+        FunctionCounter.builder("calculator.offers.cache.evictions", grids, BoundedFifoCache::evictionCount)
+                .description("Offer grid cache evictions")
+                .register(registry);
+        Gauge.builder("calculator.offers.cache.size", grids, BoundedFifoCache::size)
+                .description("Number of cached offer grids")
+                .register(registry);
+    }
+
+    private record Key(BigDecimal amount, int term, long rulesVersion) {
+    }
+}
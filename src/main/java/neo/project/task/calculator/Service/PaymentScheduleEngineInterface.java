@@ -0,0 +1,78 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.CompactScheduleDto;
+import neo.project.task.calculator.DTO.PaymentScheduleElementDto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+
+public interface PaymentScheduleEngineInterface {
+    default List<PaymentScheduleElementDto> buildSchedule(BigDecimal amount, int term, BigDecimal monthlyRate, BigDecimal monthlyPayment) {
+        return buildSchedule(amount, term, monthlyRate, monthlyPayment, 0, term);
+    }
+
+    /**
+     * Returns payments {@code offset + 1} to {@code offset + limit} (clipped to the term); rows before the
+     * window are still computed but not materialized.
+     */
+    List<PaymentScheduleElementDto> buildSchedule(BigDecimal amount, int term, BigDecimal monthlyRate, BigDecimal monthlyPayment,
+                                                  int offset, int limit);
+
+    /**
+     * The same window as {@link #buildSchedule(BigDecimal, int, BigDecimal, BigDecimal, int, int)}, computed one
+     * row per {@code next()} so a caller writing rows out never holds more than the current one. The default
+     * materializes the window.
+     */
+    default Iterator<PaymentScheduleElementDto> scheduleRows(BigDecimal amount, int term, BigDecimal monthlyRate,
+                                                             BigDecimal monthlyPayment, int offset, int limit) {
+        return buildSchedule(amount, term, monthlyRate, monthlyPayment, offset, limit).iterator();
+    }
+
+    default PaymentScheduleElementDto buildRow(BigDecimal amount, int term, BigDecimal monthlyRate, BigDecimal monthlyPayment, int number) {
+        if (number < 1 || number > term) {
+            throw new RequestValidationException("Payment number must be between 1 and " + term, List.of("number"));
+        }
+        return buildSchedule(amount, term, monthlyRate, monthlyPayment, number - 1, 1).get(0);
+    }
+
+    /**
+     * The same window as {@link #buildSchedule(BigDecimal, int, BigDecimal, BigDecimal, int, int)} in columnar
+     * form. The default fills the arrays from {@link #scheduleRows} one row at a time, so the window is never held
+     * as row objects; engines that compute in kopecks fill the arrays directly.
+     */
+    default CompactScheduleDto buildCompactSchedule(BigDecimal amount, int term, BigDecimal monthlyRate, BigDecimal monthlyPayment,
+                                                    int offset, int limit) {
+        LocalDate start = LocalDate.now();
+        int size = Math.max(0, windowEnd(term, offset, limit) - offset);
+        long[] interest = new long[size];
+        long[] debt = new long[size];
+        long[] remaining = new long[size];
+        Iterator<PaymentScheduleElementDto> rows = scheduleRows(amount, term, monthlyRate, monthlyPayment, offset, limit);
+        for (int i = 0; i < size; i++) {
+            PaymentScheduleElementDto row = rows.next();
+            interest[i] = toCents(row.getInterestPayment());
+            debt[i] = toCents(row.getDebtPayment());
+            remaining[i] = toCents(row.getRemainingDebt());
+        }
+        CompactScheduleDto compact = new CompactScheduleDto();
+        compact.setStartDate(start);
+        compact.setFirstNumber(offset + 1);
+        compact.setTotalPaymentCents(toCents(monthlyPayment));
+        compact.setInterestCents(interest);
+        compact.setDebtCents(debt);
+        compact.setRemainingDebtCents(remaining);
+        return compact;
+    }
+
+    // Sub-kopeck amounts only reach the BigDecimal engine; the columnar form rounds them like the row totals.
+    private static long toCents(BigDecimal value) {
+        return value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    static int windowEnd(int term, int offset, int limit) {
+        return (int) Math.min(term, (long) offset + limit);
+    }
+}
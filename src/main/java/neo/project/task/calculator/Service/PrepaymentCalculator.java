@@ -0,0 +1,173 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.PaymentScheduleElementDto;
+import neo.project.task.calculator.DTO.PrepaymentDto;
+import neo.project.task.calculator.DTO.PrepaymentMode;
+import neo.project.task.calculator.DTO.PrepaymentScheduleDto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * What-if schedules for partial early repayments. A prepayment ends the current segment of the schedule and
+ * the rest is an annuity of its own over the reduced balance, so rows are only computed from the event on.
+ * The balance at the first event is a single {@link PaymentScheduleEngineInterface#buildRow} lookup on the
+ * original loan (a checkpoint plus at most 31 rows on the fixed-point engine) instead of a replay of the
+ * unchanged prefix; at every later event it is the remaining debt of the last row already appended.
+ */
+final class PrepaymentCalculator {
+
+    private final PaymentScheduleEngineInterface scheduleEngine;
+    private final AnnuityFactorCache annuityFactorCache;
+
+    PrepaymentCalculator(PaymentScheduleEngineInterface scheduleEngine, AnnuityFactorCache annuityFactorCache) {
+        this.scheduleEngine = scheduleEngine;
+        this.annuityFactorCache = annuityFactorCache;
+    }
+
+    /**
+     * Events must be sorted by month and fall before the end of the term; events after the loan has been
+     * repaid by earlier ones are ignored.
+     */
+    PrepaymentScheduleDto calculate(BigDecimal amount, int term, BigDecimal monthlyRate, BigDecimal monthlyPayment,
+                                    PrepaymentMode mode, List<PrepaymentDto> events) {
+        LocalDate start = LocalDate.now();
+        int firstEvent = events.get(0).getMonth();
+        Segment segment = new Segment(0, amount, term, monthlyPayment);
+        List<PaymentScheduleElementDto> rows = new ArrayList<>();
+        int emitted = firstEvent;
+
+        for (PrepaymentDto event : events) {
+            int month = event.getMonth();
+            if (month >= segment.end()) {
+                break;
+            }
+            int appended = rows.size();
+            appendRows(segment, emitted, month, monthlyRate, start, rows);
+            emitted = month;
+            BigDecimal reached = rows.size() > appended
+                    ? rows.get(rows.size() - 1).getRemainingDebt()
+                    : balanceAfter(segment, month, monthlyRate);
+            BigDecimal balance = reached.subtract(event.getAmount().setScale(2, RoundingMode.HALF_UP));
+            if (balance.signum() <= 0) {
+                segment = null;
+                break;
+            }
+            int remainingTerm = segment.end() - month;
+            if (mode == PrepaymentMode.REDUCE_TERM) {
+                segment = new Segment(month, balance, monthsToRepay(balance, segment.payment(), monthlyRate, remainingTerm),
+                        segment.payment());
+            } else {
+                segment = new Segment(month, balance, remainingTerm, annuityPayment(balance, monthlyRate, remainingTerm));
+            }
+        }
+
+        BigDecimal finalPayment = segment == null ? BigDecimal.ZERO : segment.payment();
+        if (segment != null) {
+            int tailStart = rows.size();
+            appendRows(segment, emitted, segment.end(), monthlyRate, start, rows);
+            if (mode == PrepaymentMode.REDUCE_TERM && segment.start() > 0) {
+                settleLastRow(rows, tailStart, segment.balance());
+            }
+        }
+
+        PrepaymentScheduleDto result = new PrepaymentScheduleDto();
+        result.setTerm(rows.isEmpty() ? emitted : rows.get(rows.size() - 1).getNumber());
+        result.setMonthlyPayment(finalPayment.setScale(2, RoundingMode.HALF_UP));
+        result.setInterestSaved(originalInterestAfter(amount, term, monthlyRate, monthlyPayment, firstEvent).subtract(interestOf(rows)));
+        result.setPaymentSchedule(rows);
+        return result;
+    }
+
+    // Only reached when no row up to the event was appended: the first event on the original loan, or a repeated month.
+    private BigDecimal balanceAfter(Segment segment, int month, BigDecimal monthlyRate) {
+        if (month == segment.start()) {
+            return segment.balance();
+        }
+        return scheduleEngine.buildRow(segment.balance(), segment.term(), monthlyRate, segment.payment(), month - segment.start())
+                .getRemainingDebt();
+    }
+
+    private void appendRows(Segment segment, int fromMonth, int toMonth, BigDecimal monthlyRate, LocalDate start,
+                            List<PaymentScheduleElementDto> rows) {
+        int offset = fromMonth - segment.start();
+        Iterator<PaymentScheduleElementDto> segmentRows = scheduleEngine.scheduleRows(segment.balance(), segment.term(), monthlyRate,
+                segment.payment(), offset, toMonth - fromMonth);
+        while (segmentRows.hasNext()) {
+            PaymentScheduleElementDto row = segmentRows.next();
+            int number = row.getNumber() + segment.start();
+            row.setNumber(number);
+            row.setDate(start.plusMonths(number));
+            rows.add(row);
+        }
+    }
+
+    // The estimated term can be a row too long or leave a few kopecks; the last payment repays exactly what is left.
+    private static void settleLastRow(List<PaymentScheduleElementDto> rows, int tailStart, BigDecimal tailBalance) {
+        while (rows.size() - 1 > tailStart && rows.get(rows.size() - 2).getRemainingDebt().signum() == 0) {
+            rows.remove(rows.size() - 1);
+        }
+        if (rows.size() == tailStart) {
+            return;
+        }
+        int last = rows.size() - 1;
+        PaymentScheduleElementDto row = rows.get(last);
+        BigDecimal before = last > tailStart ? rows.get(last - 1).getRemainingDebt() : tailBalance;
+        row.setDebtPayment(before);
+        row.setTotalPayment(row.getInterestPayment().add(before));
+        row.setRemainingDebt(BigDecimal.ZERO.setScale(2));
+    }
+
+    private BigDecimal originalInterestAfter(BigDecimal amount, int term, BigDecimal monthlyRate, BigDecimal monthlyPayment, int month) {
+        BigDecimal interest = BigDecimal.ZERO;
+        Iterator<PaymentScheduleElementDto> original = scheduleEngine.scheduleRows(amount, term, monthlyRate, monthlyPayment,
+                month, Integer.MAX_VALUE);
+        while (original.hasNext()) {
+            interest = interest.add(original.next().getInterestPayment());
+        }
+        return interest;
+    }
+
+    private static BigDecimal interestOf(List<PaymentScheduleElementDto> rows) {
+        BigDecimal interest = BigDecimal.ZERO;
+        for (PaymentScheduleElementDto row : rows) {
+            interest = interest.add(row.getInterestPayment());
+        }
+        return interest;
+    }
+
+    private BigDecimal annuityPayment(BigDecimal balance, BigDecimal monthlyRate, int term) {
+        if (monthlyRate.signum() == 0) {
+            return balance.divide(BigDecimal.valueOf(term), 10, RoundingMode.HALF_UP);
+        }
+        return annuityFactorCache.monthlyPayment(balance, monthlyRate, term);
+    }
+
+    /**
+     * Smallest term whose annuity payment on {@code balance} does not exceed {@code payment}, capped at {@code maxTerm}.
+     */
+    static int monthsToRepay(BigDecimal balance, BigDecimal payment, BigDecimal monthlyRate, int maxTerm) {
+        double months;
+        if (monthlyRate.signum() == 0) {
+            months = balance.doubleValue() / payment.doubleValue();
+        } else {
+            double remainder = 1 - monthlyRate.doubleValue() * balance.doubleValue() / payment.doubleValue();
+            months = remainder <= 0 ? maxTerm : -Math.log(remainder) / Math.log1p(monthlyRate.doubleValue());
+        }
+        return (int) Math.max(1, Math.min(maxTerm, Math.ceil(months - 1e-9)));
+    }
+
+    /**
+     * Payments {@code start + 1 .. start + term} of an annuity over {@code balance}.
+     */
+    private record Segment(int start, BigDecimal balance, int term, BigDecimal payment) {
+
+        int end() {
+            return start + term;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package neo.project.task.calculator.Service;
+
+import java.util.List;
+
+/**
+ * Thrown by {@link RequestValidator}; carries the names of the request fields that failed validation.
+ * Invalid input is an expected outcome, so no stack trace is captured.
+ */
+public class RequestValidationException extends IllegalArgumentException {
+    private final List<String> fields;
+
+    public RequestValidationException(String message, List<String> fields) {
+        super(message);
+        this.fields = List.copyOf(fields);
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * The message every response and batch item reports for invalid input.
+     */
+    public static String describe(String message) {
+        return "Validation error: " + message;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
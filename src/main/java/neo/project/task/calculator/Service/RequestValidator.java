@@ -0,0 +1,358 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.EmploymentDto;
+import neo.project.task.calculator.DTO.EmploymentStatus;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.OfferGridRequestDto;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Validation rules shared by the offers and the scoring endpoints. Fields are checked with hand-written
+ * character scanners instead of regular expressions, so scanning a field builds no matchers or substrings;
+ * error messages and results are only built for broken rules. In {@link ValidationMode#FAIL_FAST} mode the
+ * first broken rule is reported; in {@link ValidationMode#COLLECT_ALL} mode every broken rule is.
+ */
+@Component
+public class RequestValidator {
+
+    private static final int NAME_MIN_LENGTH = 2;
+    private static final int NAME_MAX_LENGTH = 30;
+    private static final BigDecimal SALARY_MONTHS = BigDecimal.valueOf(24);
+
+    private final ValidationMode mode;
+
+    @Autowired
+    public RequestValidator(@Value("${calculator.validation.mode:FAIL_FAST}") ValidationMode mode) {
+        this.mode = mode;
+    }
+
+    public void validate(LoanStatementRequestDto req) {
+        findInvalid(req).ifPresent(CalculationResult::orThrow);
+    }
+
+    public void validate(ScoringDataDto req) {
+        findInvalid(req).ifPresent(CalculationResult::orThrow);
+    }
+
+    /**
+     * Returns the validation failure for the request, or an empty {@link Optional} if it is valid.
+     */
+    public <T> Optional<CalculationResult.Invalid<T>> findInvalid(LoanStatementRequestDto req) {
+        if (mode == ValidationMode.FAIL_FAST) {
+            FirstError sink = new FirstError();
+            check(req, sink);
+            return sink.toResult();
+        }
+        AllErrors sink = new AllErrors();
+        check(req, sink);
+        return sink.toResult();
+    }
+
+    /**
+     * Returns the validation failure for the request, or an empty {@link Optional} if it is valid.
+     */
+    public <T> Optional<CalculationResult.Invalid<T>> findInvalid(ScoringDataDto req) {
+        if (mode == ValidationMode.FAIL_FAST) {
+            FirstError sink = new FirstError();
+            check(req, sink);
+            return sink.toResult();
+        }
+        AllErrors sink = new AllErrors();
+        check(req, sink);
+        return sink.toResult();
+    }
+
+    /**
+     * Returns the validation failure for the grid ranges, or an empty {@link Optional} if they are valid and span
+     * at most {@code maxCells} amount/term pairs.
+     */
+    public <T> Optional<CalculationResult.Invalid<T>> findInvalid(OfferGridRequestDto req, int maxCells) {
+        if (mode == ValidationMode.FAIL_FAST) {
+            FirstError sink = new FirstError();
+            check(req, maxCells, sink);
+            return sink.toResult();
+        }
+        AllErrors sink = new AllErrors();
+        check(req, maxCells, sink);
+        return sink.toResult();
+    }
+
+    public String firstError(LoanStatementRequestDto req) {
+        FirstError sink = new FirstError();
+        check(req, sink);
+        return sink.message;
+    }
+
+    public String firstError(ScoringDataDto req) {
+        FirstError sink = new FirstError();
+        check(req, sink);
+        return sink.message;
+    }
+
+    public List<String> allErrors(LoanStatementRequestDto req) {
+        AllErrors sink = new AllErrors();
+        check(req, sink);
+        return sink.messages;
+    }
+
+    public List<String> allErrors(ScoringDataDto req) {
+        AllErrors sink = new AllErrors();
+        check(req, sink);
+        return sink.messages;
+    }
+
+    private void check(LoanStatementRequestDto req, ErrorSink sink) {
+        if (!checkLoanTerms(req.getAmount(), req.getTerm(), sink)
+                || !checkNames(req.getFirstName(), req.getLastName(), req.getMiddleName(), sink)) {
+            return;
+        }
+        if (!isEmail(req.getEmail()) && !sink.add("email", "Invalid email format")) {
+            return;
+        }
+        if ((req.getBirthdate() == null || req.getBirthdate().isAfter(LocalDate.now().minusYears(18)))
+                && !sink.add("birthdate", "User must be at least 18 years old")) {
+            return;
+        }
+        checkPassport(req.getPassportSeries(), req.getPassportNumber(), sink);
+    }
+
+    private void check(ScoringDataDto req, ErrorSink sink) {
+        if (!checkLoanTerms(req.getAmount(), req.getTerm(), sink)
+                || !checkNames(req.getFirstName(), req.getLastName(), req.getMiddleName(), sink)) {
+            return;
+        }
+        if (req.getBirthdate() == null) {
+            if (!sink.add("birthdate", "Birthdate is required")) {
+                return;
+            }
+        } else {
+            int age = Period.between(req.getBirthdate(), LocalDate.now()).getYears();
+            if ((age < 20 || age > 65) && !sink.add("birthdate", "Age must be between 20 and 65 years")) {
+                return;
+            }
+        }
+        if (!checkPassport(req.getPassportSeries(), req.getPassportNumber(), sink)) {
+            return;
+        }
+
+        EmploymentDto emp = req.getEmployment();
+        if (emp == null || emp.getEmploymentStatus() == EmploymentStatus.UNEMPLOYED) {
+            sink.add("employment", "Employment status is required and must not be UNEMPLOYED");
+            return;
+        }
+        if (emp.getSalary() == null) {
+            sink.add("salary", "Salary must not be null");
+            return;
+        }
+        if (req.getAmount() != null) {
+            BigDecimal minSalary = req.getAmount().divide(SALARY_MONTHS, RoundingMode.HALF_UP);
+            if (emp.getSalary().compareTo(minSalary) < 0) {
+                sink.add("salary", "Salary too low for requested amount");
+            }
+        }
+    }
+
+    private void check(OfferGridRequestDto req, int maxCells, ErrorSink sink) {
+        BigDecimal amountFrom = req.getAmountFrom();
+        BigDecimal amountTo = req.getAmountTo();
+        BigDecimal amountStep = req.getAmountStep();
+        Integer termFrom = req.getTermFrom();
+        Integer termTo = req.getTermTo();
+        Integer termStep = req.getTermStep();
+        boolean valid = true;
+        if (amountFrom == null || amountFrom.signum() <= 0) {
+            valid = false;
+            if (!sink.add("amountFrom", "Amount range start must be a positive number")) {
+                return;
+            }
+        }
+        if (amountTo == null || amountFrom != null && amountTo.compareTo(amountFrom) < 0) {
+            valid = false;
+            if (!sink.add("amountTo", "Amount range end must not be less than its start")) {
+                return;
+            }
+        }
+        if (amountStep == null || amountStep.signum() <= 0) {
+            valid = false;
+            if (!sink.add("amountStep", "Amount step must be a positive number")) {
+                return;
+            }
+        }
+        if (termFrom == null || termFrom <= 0) {
+            valid = false;
+            if (!sink.add("termFrom", "Term range start must be a positive number")) {
+                return;
+            }
+        }
+        if (termTo == null || termFrom != null && termTo < termFrom) {
+            valid = false;
+            if (!sink.add("termTo", "Term range end must not be less than its start")) {
+                return;
+            }
+        }
+        if (termStep == null || termStep <= 0) {
+            valid = false;
+            if (!sink.add("termStep", "Term step must be a positive number")) {
+                return;
+            }
+        }
+        if (valid) {
+            BigDecimal amounts = amountTo.subtract(amountFrom).divideToIntegralValue(amountStep).add(BigDecimal.ONE);
+            long terms = (termTo - termFrom) / termStep + 1L;
+            if (amounts.multiply(BigDecimal.valueOf(terms)).compareTo(BigDecimal.valueOf(maxCells)) > 0) {
+                sink.add("grid", "Grid must not exceed " + maxCells + " amount and term pairs");
+            }
+        }
+    }
+
+    private boolean checkLoanTerms(BigDecimal amount, Integer term, ErrorSink sink) {
+        if ((amount == null || amount.signum() <= 0) && !sink.add("amount", "Amount must be a positive number")) {
+            return false;
+        }
+        return term != null && term > 0 || sink.add("term", "Term must be a positive number");
+    }
+
+    private boolean checkNames(String firstName, String lastName, String middleName, ErrorSink sink) {
+        return checkName(firstName, "firstName", "First name", sink)
+                && checkName(lastName, "lastName", "Last name", sink)
+                && checkName(middleName, "middleName", "Middle name", sink);
+    }
+
+    private boolean checkName(String value, String field, String label, ErrorSink sink) {
+        if (value == null || value.length() < NAME_MIN_LENGTH || value.length() > NAME_MAX_LENGTH) {
+            return sink.add(field, label + " must be between 2 and 30 characters");
+        }
+        return isName(value) || sink.add(field, label + " contains invalid characters");
+    }
+
+    private boolean checkPassport(String series, String number, ErrorSink sink) {
+        if (!isDigits(series, 4) && !sink.add("passportSeries", "Passport series must be exactly 4 digits")) {
+            return false;
+        }
+        return isDigits(number, 6) || sink.add("passportNumber", "Passport number must be 6 digits");
+    }
+
+    // Same alphabet as ^[A-Za-zА-Яа-яЁё\-]+$
+    static boolean isName(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(isLatinLetter(c) || (c >= 'А' && c <= 'я') || c == 'Ё' || c == 'ё' || c == '-')) {
+                return false;
+            }
+        }
+        return !value.isEmpty();
+    }
+
+    static boolean isDigits(String value, int length) {
+        if (value == null || value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Same language as ^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+\.[a-zA-Z]{2,}$ : the top-level
+    // domain cannot contain a dot, so it always starts after the last one.
+    static boolean isEmail(String value) {
+        if (value == null) {
+            return false;
+        }
+        int at = value.indexOf('@');
+        if (at <= 0) {
+            return false;
+        }
+        for (int i = 0; i < at; i++) {
+            if (!isEmailLocalChar(value.charAt(i))) {
+                return false;
+            }
+        }
+        int lastDot = -1;
+        for (int i = at + 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+            } else if (!(isLatinLetter(c) || (c >= '0' && c <= '9') || c == '-')) {
+                return false;
+            }
+        }
+        if (lastDot <= at + 1 || value.length() - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < value.length(); i++) {
+            if (!isLatinLetter(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLatinLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isEmailLocalChar(char c) {
+        if (isLatinLetter(c) || (c >= '0' && c <= '9')) {
+            return true;
+        }
+        return switch (c) {
+            case '_', '!', '#', '$', '%', '&', '\'', '*', '+', '/', '=', '?', '`', '{', '|', '}', '~', '^', '.', '-' -> true;
+            default -> false;
+        };
+    }
+
+    private interface ErrorSink {
+        /**
+         * Records an error and returns whether validation should continue.
+         */
+        boolean add(String field, String message);
+    }
+
+    private static final class FirstError implements ErrorSink {
+        private String field;
+        private String message;
+
+        @Override
+        public boolean add(String field, String message) {
+            this.field = field;
+            this.message = message;
+            return false;
+        }
+
+        <T> Optional<CalculationResult.Invalid<T>> toResult() {
+            return message == null ? Optional.empty() : Optional.of(new CalculationResult.Invalid<>(message, List.of(field)));
+        }
+    }
+
+    private static final class AllErrors implements ErrorSink {
+        private final List<String> fields = new ArrayList<>();
+        private final List<String> messages = new ArrayList<>();
+
+        @Override
+        public boolean add(String field, String message) {
+            fields.add(field);
+            messages.add(message);
+            return true;
+        }
+
+        <T> Optional<CalculationResult.Invalid<T>> toResult() {
+            return messages.isEmpty() ? Optional.empty()
+                    : Optional.of(new CalculationResult.Invalid<>(String.join("; ", messages), fields));
+        }
+    }
+}
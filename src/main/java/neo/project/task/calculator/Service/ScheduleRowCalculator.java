@@ -0,0 +1,98 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.PaymentScheduleElementDto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Random access to schedule rows. Every row is rounded to kopecks, so the balance after k payments drifts
+ * away from the closed-form annuity balance and cannot be derived from it exactly. Instead the exact
+ * remaining debt is recorded every {@link #CHECKPOINT_STRIDE} payments, and any row is reached from the
+ * nearest checkpoint in at most that many steps. Ranges that start at different checkpoints are
+ * independent of each other and can be generated in parallel.
+ */
+public final class ScheduleRowCalculator {
+
+    public static final int CHECKPOINT_STRIDE = 32;
+
+    private final FixedPointLoan loan;
+    private final long[] checkpoints;
+
+    private ScheduleRowCalculator(FixedPointLoan loan, long[] checkpoints) {
+        this.loan = loan;
+        this.checkpoints = checkpoints;
+    }
+
+    public static ScheduleRowCalculator of(FixedPointLoan loan) {
+        int term = loan.term();
+        long[] checkpoints = new long[term / CHECKPOINT_STRIDE + 1];
+        long remaining = loan.amountCents();
+        for (int i = 0; i <= term; i++) {
+            if (i % CHECKPOINT_STRIDE == 0) {
+                checkpoints[i / CHECKPOINT_STRIDE] = remaining;
+            }
+            if (i < term) {
+                remaining -= loan.debtCents(loan.interestCents(remaining));
+            }
+        }
+        return new ScheduleRowCalculator(loan, checkpoints);
+    }
+
+    public FixedPointLoan getLoan() {
+        return loan;
+    }
+
+    /**
+     * Remaining debt in kopecks before payment {@code number} is made; {@code term + 1} gives the final balance.
+     */
+    public long remainingCentsBefore(int number) {
+        if (number < 1 || number > loan.term() + 1) {
+            throw new RequestValidationException("Payment number must be between 1 and " + loan.term(), List.of("number"));
+        }
+        int index = number - 1;
+        long remaining = checkpoints[index / CHECKPOINT_STRIDE];
+        for (int i = index - index % CHECKPOINT_STRIDE; i < index; i++) {
+            remaining -= loan.debtCents(loan.interestCents(remaining));
+        }
+        return remaining;
+    }
+
+    public PaymentScheduleElementDto row(LocalDate start, int number) {
+        if (number > loan.term()) {
+            throw new RequestValidationException("Payment number must be between 1 and " + loan.term(), List.of("number"));
+        }
+        long remaining = remainingCentsBefore(number);
+        long interest = loan.interestCents(remaining);
+        long debt = loan.debtCents(interest);
+        return loan.toElement(start, number, interest, debt, remaining - debt);
+    }
+
+    /**
+     * Rows {@code offset + 1 .. offset + limit} (clipped to the term) as primitive arrays.
+     */
+    public FixedPointSchedule schedule(int offset, int limit) {
+        int end = (int) Math.min(loan.term(), (long) offset + limit);
+        if (offset >= end) {
+            return FixedPointSchedule.compute(loan, offset + 1, 0, 0);
+        }
+        return FixedPointSchedule.compute(loan, offset + 1, remainingCentsBefore(offset + 1), end - offset);
+    }
+
+    public List<PaymentScheduleElementDto> rows(LocalDate start, int offset, int limit) {
+        int end = (int) Math.min(loan.term(), (long) offset + limit);
+        if (offset >= end) {
+            return new ArrayList<>();
+        }
+        List<PaymentScheduleElementDto> list = new ArrayList<>(end - offset);
+        long remaining = remainingCentsBefore(offset + 1);
+        for (int number = offset + 1; number <= end; number++) {
+            long interest = loan.interestCents(remaining);
+            long debt = loan.debtCents(interest);
+            remaining -= debt;
+            list.add(loan.toElement(start, number, interest, debt, remaining));
+        }
+        return list;
+    }
+}
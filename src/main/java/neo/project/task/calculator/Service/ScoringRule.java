@@ -0,0 +1,17 @@
+package neo.project.task.calculator.Service;
+
+public enum ScoringRule {
+    AGE("возраст вне допустимого диапазона"),
+    EMPLOYMENT_STATUS("недопустимый статус занятости"),
+    SALARY_TO_AMOUNT("сумма кредита слишком велика для дохода");
+
+    private final String description;
+
+    ScoringRule(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,38 @@
+package neo.project.task.calculator.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the compiled scoring table. {@link #reload} compiles a new table off to the side and swaps it in
+ * atomically, so in-flight requests keep using the table they started with. At runtime it is called by
+ * {@link ScoringRulesWatcher} when the rules file changes; every table gets a higher version, which is what
+ * {@link OfferPricingCache} drops its grids on.
+ */
+@Slf4j
+@Component
+public class ScoringRuleEngine {
+
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicReference<ScoringRuleTable> table = new AtomicReference<>();
+
+    @Autowired
+    public ScoringRuleEngine(ScoringRulesProperties rules) {
+        reload(rules);
+    }
+
+    public ScoringRuleTable current() {
+        return table.get();
+    }
+
+    public ScoringRuleTable reload(ScoringRulesProperties rules) {
+        ScoringRuleTable compiled = ScoringRuleTable.compile(rules, versions.incrementAndGet());
+        table.set(compiled);
+        log.info("Scoring rules compiled: version={}", compiled.getVersion());
+        return compiled;
+    }
+}
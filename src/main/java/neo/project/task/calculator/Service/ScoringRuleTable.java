@@ -0,0 +1,276 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.EmploymentDto;
+import neo.project.task.calculator.DTO.EmploymentStatus;
+import neo.project.task.calculator.DTO.Gender;
+import neo.project.task.calculator.DTO.MaritalStatus;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * {@link ScoringRulesProperties} compiled into a dense lookup table. Apart from salary affordability every
+ * rule depends on a handful of discrete features, so the final rate (or rejection) for each combination
+ * is precomputed and scoring is a single bit-packed index lookup. Rates are held as {@code int}
+ * hundredths of a percent; a rejection is a code for which {@link #isRejection} holds.
+ */
+public final class ScoringRuleTable {
+
+    public static final int MAX_AGE = 150;
+
+    private static final int REJECTED = Integer.MIN_VALUE;
+    private static final int REJECTION_LIMIT = REJECTED + ScoringRule.values().length;
+    private static final int NO_LIMIT_BELOW = Integer.MAX_VALUE;
+    private static final int NO_LIMIT_ABOVE = Integer.MIN_VALUE;
+    private static final double AFFORDABILITY_TOLERANCE = 1e-9;
+
+    private static final int EMPLOYMENT_SLOTS = EmploymentStatus.values().length + 1;
+    private static final int MARITAL_SLOTS = MaritalStatus.values().length + 1;
+    private static final int GENDER_SLOTS = Gender.values().length + 1;
+
+    // Age classes: in range without a gender-age band match, in range with a match, out of range.
+    private static final byte AGE_PLAIN = 0;
+    private static final byte AGE_BAND = 1;
+    private static final byte AGE_REJECTED = 2;
+    private static final int AGE_CLASSES = 3;
+
+    private final long version;
+    private final int baseRate;
+    private final int insuranceDelta;
+    private final int salaryClientDelta;
+    private final int maxAmountToSalary;
+    private final BigDecimal maxAmountToSalaryDecimal;
+    private final int currentExperienceBelow;
+    private final int currentExperienceAbove;
+    private final int totalExperienceBelow;
+    private final int totalExperienceAbove;
+    private final int dependentsBelow;
+    private final int dependentsAbove;
+    private final byte[][] ageClass;
+    private final int[] rates;
+
+    private ScoringRuleTable(ScoringRulesProperties rules, long version) {
+        if (rules.getMinAge() < 0 || rules.getMinAge() > rules.getMaxAge() || rules.getMaxAge() > MAX_AGE) {
+            throw new IllegalArgumentException("Scoring age limits must satisfy 0 <= min-age <= max-age <= " + MAX_AGE);
+        }
+        if (rules.getMaxAmountToSalary() <= 0) {
+            throw new IllegalArgumentException("Scoring max-amount-to-salary must be positive");
+        }
+        this.version = version;
+        this.baseRate = toUnits(rules.getBaseRate());
+        this.insuranceDelta = toUnits(rules.getInsuranceDelta());
+        this.salaryClientDelta = toUnits(rules.getSalaryClientDelta());
+        this.maxAmountToSalary = rules.getMaxAmountToSalary();
+        this.maxAmountToSalaryDecimal = BigDecimal.valueOf(maxAmountToSalary);
+
+        ScoringRulesProperties.Threshold current = rules.getWorkExperienceCurrent();
+        this.currentExperienceBelow = below(current);
+        this.currentExperienceAbove = above(current);
+        ScoringRulesProperties.Threshold total = rules.getWorkExperienceTotal();
+        this.totalExperienceBelow = below(total);
+        this.totalExperienceAbove = above(total);
+        ScoringRulesProperties.Threshold dependents = rules.getDependentAmount();
+        this.dependentsBelow = below(dependents);
+        this.dependentsAbove = above(dependents);
+
+        this.ageClass = compileAgeClasses(rules);
+        this.rates = compileRates(rules);
+    }
+
+    public static ScoringRuleTable compile(ScoringRulesProperties rules, long version) {
+        return new ScoringRuleTable(rules, version);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Number of precomputed feature combinations.
+     */
+    public int size() {
+        return rates.length;
+    }
+
+    /**
+     * Annual rate in hundredths of a percent before scoring adjustments.
+     */
+    public int baseRate(boolean insurance, boolean salaryClient) {
+        return baseRate + (insurance ? insuranceDelta : 0) + (salaryClient ? salaryClientDelta : 0);
+    }
+
+    /**
+     * Returns the final annual rate in hundredths of a percent, or a code for which {@link #isRejection} holds.
+     */
+    public int rate(ScoringDataDto dto, int age, boolean insurance, boolean salaryClient) {
+        Gender gender = dto.getGender();
+        int ageSlot = age < 0 || age > MAX_AGE ? AGE_REJECTED : ageClass[gender == null ? 0 : gender.ordinal() + 1][age];
+        if (ageSlot == AGE_REJECTED) {
+            return rejection(ScoringRule.AGE);
+        }
+        EmploymentDto emp = dto.getEmployment();
+        if (emp == null) {
+            return rejection(ScoringRule.EMPLOYMENT_STATUS);
+        }
+
+        int rate = rates[index(
+                slot(emp.getEmploymentStatus()),
+                matches(emp.getWorkExperienceCurrent(), currentExperienceBelow, currentExperienceAbove),
+                matches(emp.getWorkExperienceTotal(), totalExperienceBelow, totalExperienceAbove),
+                matches(dto.getDependentAmount(), dependentsBelow, dependentsAbove),
+                slot(dto.getMaritalStatus()), ageSlot, insurance, salaryClient)];
+        if (!isRejection(rate) && emp.getSalary() != null && !isAffordable(emp.getSalary(), dto.getAmount())) {
+            return rejection(ScoringRule.SALARY_TO_AMOUNT);
+        }
+        return rate;
+    }
+
+    /**
+     * Returns the scoring delta in hundredths of a percent, or a code for which {@link #isRejection} holds.
+     */
+    public int evaluate(ScoringDataDto dto, int age) {
+        int rate = rate(dto, age, false, false);
+        return isRejection(rate) ? rate : rate - baseRate(false, false);
+    }
+
+    public static boolean isRejection(int outcome) {
+        return outcome < REJECTION_LIMIT;
+    }
+
+    public static ScoringRule rejectionRule(int outcome) {
+        return ScoringRule.values()[outcome - REJECTED];
+    }
+
+    /**
+     * Converts hundredths of a percent back to a rate, keeping one decimal place when it is enough.
+     */
+    public static BigDecimal toRate(int units) {
+        return units % 10 == 0 ? BigDecimal.valueOf(units / 10, 1) : BigDecimal.valueOf(units, 2);
+    }
+
+    private byte[][] compileAgeClasses(ScoringRulesProperties rules) {
+        byte[][] classes = new byte[GENDER_SLOTS][MAX_AGE + 1];
+        for (byte[] byAge : classes) {
+            for (int age = 0; age <= MAX_AGE; age++) {
+                byAge[age] = age < rules.getMinAge() || age > rules.getMaxAge() ? AGE_REJECTED : AGE_PLAIN;
+            }
+        }
+        for (ScoringRulesProperties.GenderAgeBand band : rules.getGenderAgeBands()) {
+            if (band.getGender() == null) {
+                throw new IllegalArgumentException("Scoring gender-age band must name a gender");
+            }
+            byte[] byAge = classes[band.getGender().ordinal() + 1];
+            int from = band.getMinAge() == null ? 0 : Math.max(0, band.getMinAge());
+            int to = band.getMaxAge() == null ? MAX_AGE : Math.min(MAX_AGE, band.getMaxAge());
+            for (int age = from; age <= to; age++) {
+                if (byAge[age] == AGE_PLAIN) {
+                    byAge[age] = AGE_BAND;
+                }
+            }
+        }
+        return classes;
+    }
+
+    private int[] compileRates(ScoringRulesProperties rules) {
+        int[] employmentDelta = bySlot(EMPLOYMENT_SLOTS, rules.getEmploymentStatusDelta());
+        boolean[] employmentRejected = new boolean[EMPLOYMENT_SLOTS];
+        for (EmploymentStatus status : rules.getRejectedEmploymentStatuses()) {
+            employmentRejected[slot(status)] = true;
+        }
+        int[] maritalDelta = bySlot(MARITAL_SLOTS, rules.getMaritalStatusDelta());
+        int currentExperienceDelta = toUnits(rules.getWorkExperienceCurrent().getDelta());
+        int totalExperienceDelta = toUnits(rules.getWorkExperienceTotal().getDelta());
+        int dependentsDelta = toUnits(rules.getDependentAmount().getDelta());
+        int genderAgeDelta = toUnits(rules.getGenderAgeDelta());
+
+        int[] table = new int[EMPLOYMENT_SLOTS * 8 * MARITAL_SLOTS * AGE_CLASSES * 4];
+        for (int employment = 0; employment < EMPLOYMENT_SLOTS; employment++) {
+            for (int flags = 0; flags < 8; flags++) {
+                for (int marital = 0; marital < MARITAL_SLOTS; marital++) {
+                    for (int age = 0; age < AGE_CLASSES; age++) {
+                        for (int offer = 0; offer < 4; offer++) {
+                            boolean current = (flags & 4) != 0;
+                            boolean total = (flags & 2) != 0;
+                            boolean dependents = (flags & 1) != 0;
+                            boolean insurance = (offer & 2) != 0;
+                            boolean salaryClient = (offer & 1) != 0;
+                            int outcome;
+                            if (age == AGE_REJECTED) {
+                                outcome = rejection(ScoringRule.AGE);
+                            } else if (employmentRejected[employment]) {
+                                outcome = rejection(ScoringRule.EMPLOYMENT_STATUS);
+                            } else {
+                                outcome = baseRate(insurance, salaryClient)
+                                        + employmentDelta[employment]
+                                        + (current ? currentExperienceDelta : 0)
+                                        + (total ? totalExperienceDelta : 0)
+                                        + (dependents ? dependentsDelta : 0)
+                                        + maritalDelta[marital]
+                                        + (age == AGE_BAND ? genderAgeDelta : 0);
+                            }
+                            table[index(employment, current, total, dependents, marital, age, insurance, salaryClient)] = outcome;
+                        }
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    private static int index(int employment, boolean current, boolean total, boolean dependents,
+                             int marital, int age, boolean insurance, boolean salaryClient) {
+        int flags = (current ? 4 : 0) | (total ? 2 : 0) | (dependents ? 1 : 0);
+        int offer = (insurance ? 2 : 0) | (salaryClient ? 1 : 0);
+        return (((employment * 8 + flags) * MARITAL_SLOTS + marital) * AGE_CLASSES + age) * 4 + offer;
+    }
+
+    // salary * maxAmountToSalary >= amount; doubles decide unless the two sides are too close to call.
+    private boolean isAffordable(BigDecimal salary, BigDecimal amount) {
+        double limit = salary.doubleValue() * maxAmountToSalary;
+        double requested = amount.doubleValue();
+        if (Math.abs(limit - requested) > AFFORDABILITY_TOLERANCE * Math.max(Math.abs(limit), Math.abs(requested))) {
+            return limit >= requested;
+        }
+        return salary.multiply(maxAmountToSalaryDecimal).compareTo(amount) >= 0;
+    }
+
+    private static boolean matches(Integer value, int below, int above) {
+        return value != null && value < below && value > above;
+    }
+
+    private static int slot(Enum<?> value) {
+        return value == null ? 0 : value.ordinal() + 1;
+    }
+
+    private static int rejection(ScoringRule rule) {
+        return REJECTED + rule.ordinal();
+    }
+
+    private static int below(ScoringRulesProperties.Threshold threshold) {
+        return threshold.getBelow() == null ? NO_LIMIT_BELOW : threshold.getBelow();
+    }
+
+    private static int above(ScoringRulesProperties.Threshold threshold) {
+        return threshold.getAbove() == null ? NO_LIMIT_ABOVE : threshold.getAbove();
+    }
+
+    private static <E extends Enum<E>> int[] bySlot(int size, Map<E, BigDecimal> deltas) {
+        int[] table = new int[size];
+        for (Map.Entry<E, BigDecimal> entry : deltas.entrySet()) {
+            table[slot(entry.getKey())] = toUnits(entry.getValue());
+        }
+        return table;
+    }
+
+    private static int toUnits(BigDecimal percent) {
+        if (percent == null) {
+            return 0;
+        }
+        try {
+            return percent.movePointRight(2).intValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Scoring rates must have at most two decimal places: " + percent, ex);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package neo.project.task.calculator.Service;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/scoringrules}: shows the version of the active scoring rule table.
+ */
+@Component
+@Endpoint(id = "scoringrules")
+public class ScoringRulesEndpoint {
+
+    private final ScoringRuleEngine scoringRuleEngine;
+
+    public ScoringRulesEndpoint(ScoringRuleEngine scoringRuleEngine) {
+        this.scoringRuleEngine = scoringRuleEngine;
+    }
+
+    @ReadOperation
+    public Map<String, Object> rules() {
+        return Map.of("version", scoringRuleEngine.current().getVersion());
+    }
+}
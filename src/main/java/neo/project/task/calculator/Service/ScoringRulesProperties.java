@@ -0,0 +1,96 @@
+package neo.project.task.calculator.Service;
+
+import lombok.Data;
+import neo.project.task.calculator.DTO.EmploymentStatus;
+import neo.project.task.calculator.DTO.Gender;
+import neo.project.task.calculator.DTO.MaritalStatus;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Scoring rules as configured under {@code calculator.scoring}. Rates and deltas are annual percentages
+ * with at most two decimal places. The defaults reproduce the rules the service has always applied.
+ */
+@Data
+@ConfigurationProperties(prefix = "calculator.scoring")
+public class ScoringRulesProperties {
+
+    private BigDecimal baseRate = new BigDecimal("10.0");
+    private BigDecimal insuranceDelta = new BigDecimal("-1.0");
+    private BigDecimal salaryClientDelta = new BigDecimal("-0.5");
+
+    private int minAge = 20;
+    private int maxAge = 65;
+
+    private Set<EmploymentStatus> rejectedEmploymentStatuses = EnumSet.of(EmploymentStatus.UNEMPLOYED);
+    private Map<EmploymentStatus, BigDecimal> employmentStatusDelta = new EnumMap<>(Map.of(
+            EmploymentStatus.SELF_EMPLOYED, new BigDecimal("2.0"),
+            EmploymentStatus.BUSINESS_OWNER, new BigDecimal("1.0")));
+
+    private int maxAmountToSalary = 24;
+
+    private Threshold workExperienceCurrent = Threshold.below(3, "1.0");
+    private Threshold workExperienceTotal = Threshold.below(18, "2.0");
+    private Threshold dependentAmount = Threshold.above(3, "0.5");
+
+    private Map<MaritalStatus, BigDecimal> maritalStatusDelta = new EnumMap<>(Map.of(
+            MaritalStatus.MARRIED, new BigDecimal("-3.0"),
+            MaritalStatus.NON_MARRIED, new BigDecimal("1.0")));
+
+    private BigDecimal genderAgeDelta = new BigDecimal("-3.0");
+    private List<GenderAgeBand> genderAgeBands = new ArrayList<>(List.of(
+            GenderAgeBand.of(Gender.MALE, null, 54),
+            GenderAgeBand.of(Gender.FEMALE, null, 59),
+            GenderAgeBand.of(Gender.MALE, 31, null),
+            GenderAgeBand.of(Gender.FEMALE, 33, null)));
+
+    /**
+     * Applies {@code delta} when the value is below {@code below} and/or above {@code above}; an absent
+     * value never matches.
+     */
+    @Data
+    public static class Threshold {
+        private Integer below;
+        private Integer above;
+        private BigDecimal delta = BigDecimal.ZERO;
+
+        static Threshold below(int limit, String delta) {
+            Threshold threshold = new Threshold();
+            threshold.setBelow(limit);
+            threshold.setDelta(new BigDecimal(delta));
+            return threshold;
+        }
+
+        static Threshold above(int limit, String delta) {
+            Threshold threshold = new Threshold();
+            threshold.setAbove(limit);
+            threshold.setDelta(new BigDecimal(delta));
+            return threshold;
+        }
+    }
+
+    /**
+     * Inclusive age band for one gender; {@link #genderAgeDelta} is applied once if any band matches.
+     */
+    @Data
+    public static class GenderAgeBand {
+        private Gender gender;
+        private Integer minAge;
+        private Integer maxAge;
+
+        static GenderAgeBand of(Gender gender, Integer minAge, Integer maxAge) {
+            GenderAgeBand band = new GenderAgeBand();
+            band.setGender(gender);
+            band.setMinAge(minAge);
+            band.setMaxAge(maxAge);
+            return band;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package neo.project.task.calculator.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads the scoring rules from {@code calculator.scoring-rules.file} while the service runs. The file holds
+ * {@code calculator.scoring.*} keys in YAML or properties form and is layered over the application configuration,
+ * so removing a key from it restores the configured value. It is polled every {@code poll-interval}; a changed
+ * file is compiled into a new table and swapped in through {@link ScoringRuleEngine#reload}. A file that does not
+ * bind or compile is logged and the current table stays in place. A missing file counts as an empty one.
+ * Without {@code calculator.scoring-rules.file} nothing is watched.
+ */
+@Slf4j
+@Component
+public class ScoringRulesWatcher {
+
+    private static final String PREFIX = "calculator.scoring";
+
+    private final ScoringRuleEngine scoringRuleEngine;
+    private final ConfigurableEnvironment environment;
+    private final Path file;
+    private final ScheduledExecutorService poller;
+    private byte[] loaded = new byte[0];
+
+    @Autowired
+    public ScoringRulesWatcher(ScoringRuleEngine scoringRuleEngine, ConfigurableEnvironment environment,
+                               @Value("${calculator.scoring-rules.file:}") String file,
+                               @Value("${calculator.scoring-rules.poll-interval:5s}") Duration pollInterval) {
+        this.scoringRuleEngine = scoringRuleEngine;
+        this.environment = environment;
+        if (file.isBlank()) {
+            this.file = null;
+            this.poller = null;
+            return;
+        }
+        if (pollInterval.isNegative() || pollInterval.isZero()) {
+            throw new IllegalArgumentException("calculator.scoring-rules.poll-interval must be positive: " + pollInterval);
+        }
+        this.file = Path.of(file);
+        check();
+        this.poller = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("scoring-rules-watch").factory());
+        long period = pollInterval.toMillis();
+        poller.scheduleWithFixedDelay(this::check, period, period, TimeUnit.MILLISECONDS);
+        log.info("Watching scoring rules file {} every {}", this.file.toAbsolutePath(), pollInterval);
+    }
+
+    /**
+     * Reloads the rules if the file content changed since the last check; returns whether a new table was
+     * swapped in.
+     */
+    synchronized boolean check() {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            content = new byte[0];
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot read scoring rules file {}", file.toAbsolutePath(), e);
+            return false;
+        }
+        if (Arrays.equals(content, loaded)) {
+            return false;
+        }
+        loaded = content;
+        try {
+            ScoringRuleTable table = scoringRuleEngine.reload(bind(content));
+            log.info("Scoring rules reloaded from {}: version={}", file.toAbsolutePath(), table.getVersion());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Scoring rules file {} rejected, keeping version {}", file.toAbsolutePath(),
+                    scoringRuleEngine.current().getVersion(), e);
+            return false;
+        }
+    }
+
+    private ScoringRulesProperties bind(byte[] content) throws IOException {
+        List<ConfigurationPropertySource> sources = new ArrayList<>();
+        PropertySourceLoader loader = file.getFileName().toString().endsWith(".properties")
+                ? new PropertiesPropertySourceLoader()
+                : new YamlPropertySourceLoader();
+        for (PropertySource<?> source : loader.load(file.toString(), new ByteArrayResource(content))) {
+            ConfigurationPropertySources.from(source).forEach(sources::add);
+        }
+        ConfigurationPropertySources.get(environment).forEach(sources::add);
+        return new Binder(sources).bind(PREFIX, Bindable.ofInstance(new ScoringRulesProperties()))
+                .orElseGet(ScoringRulesProperties::new);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+}
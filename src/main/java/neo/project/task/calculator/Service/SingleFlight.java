@@ -0,0 +1,74 @@
+package neo.project.task.calculator.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lets concurrent callers with equal keys share one computation: the first caller runs it, callers arriving
+ * while it runs wait for that result instead of repeating the work. Nothing is kept once the computation
+ * finishes, so this is not a cache and a later caller computes again. A failure is rethrown to every waiter.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Runs {@code computation}, or waits for the one already running under {@code key}. The caller that
+     * computed gets the value itself; waiters get {@code share} applied to it, for example a copy when the value
+     * is mutable.
+     */
+    public V execute(K key, Supplier<? extends V> computation, UnaryOperator<V> share) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            shared.increment();
+            return share.apply(await(running));
+        }
+        executions.increment();
+        try {
+            V value = computation.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public long executionCount() {
+        return executions.sum();
+    }
+
+    /**
+     * Calls that waited for another caller's computation instead of running their own.
+     */
+    public long sharedCount() {
+        return shared.sum();
+    }
+}
@@ -0,0 +1,38 @@
+package neo.project.task.calculator.Service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Statement event pipeline as configured under {@code calculator.events}.
+ */
+@Data
+@ConfigurationProperties(prefix = "calculator.events")
+public class StatementEventProperties {
+
+    private boolean enabled = true;
+    /**
+     * Ring size; a power of two.
+     */
+    private int capacity = 8192;
+    private int consumers = 1;
+    private int batchSize = 256;
+    /**
+     * How long an idle consumer parks before looking at the ring again.
+     */
+    private Duration idleWait = Duration.ofMillis(1);
+    private EventOverflowPolicy overflowPolicy = EventOverflowPolicy.DROP_NEWEST;
+    private Duration blockTimeout = Duration.ofMillis(5);
+    /**
+     * {@code memory} keeps the latest events in the process, {@code file} appends JSON lines to {@link #file}.
+     */
+    private String sink = "memory";
+    private Path file = Path.of("statement-events.jsonl");
+    /**
+     * Latest events the {@code memory} sink keeps; at least 1.
+     */
+    private int memoryRetention = 1000;
+}
@@ -0,0 +1,280 @@
+package neo.project.task.calculator.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import neo.project.task.calculator.DTO.ApplicationStatus;
+import neo.project.task.calculator.DTO.ChangeType;
+import neo.project.task.calculator.DTO.EmailMessage;
+import neo.project.task.calculator.DTO.EmailTheme;
+import neo.project.task.calculator.DTO.LoanOfferDto;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+import neo.project.task.calculator.DTO.StatementEventDto;
+import neo.project.task.calculator.DTO.StatementStatusHistoryDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes a status event for every offer and credit calculation without making the request wait for the
+ * broker. Request threads only put the event on a lock-free {@link EventRingBuffer}; consumer threads drain it
+ * in batches into the configured {@link StatementEventSinkInterface}. A full ring is handled by the
+ * {@link EventOverflowPolicy}; every dropped event is counted by reason.
+ */
+@Slf4j
+@Component
+public class StatementEventPublisher {
+
+    public static final String QUEUE_DEPTH = "calculator.events.queue.depth";
+    public static final String ENQUEUE_TIMER = "calculator.events.enqueue";
+    public static final String PUBLISH_LATENCY = "calculator.events.publish.latency";
+    public static final String PUBLISHED = "calculator.events.published";
+    public static final String DROPPED = "calculator.events.dropped";
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final int DROP_OLDEST_ATTEMPTS = 4;
+    private static final String FINISH_REGISTRATION_TEXT =
+            "Кредитные предложения рассчитаны. Выберите подходящее предложение, чтобы завершить оформление заявки.";
+
+    private final EventRingBuffer<StatementEventDto> ring;
+    private final StatementEventSinkInterface sink;
+    private final EventOverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long idleWaitNanos;
+    private final long blockTimeoutNanos;
+    private final List<Thread> consumers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final Timer enqueueTimer;
+    private final Timer publishLatency;
+    private final Counter published;
+    private final Counter droppedFull;
+    private final Counter droppedOldest;
+    private final Counter droppedSinkFailure;
+    private final Counter droppedShutdown;
+    private final DistributionSummary batchSizes;
+
+    @Autowired
+    public StatementEventPublisher(StatementEventProperties properties, StatementEventSinkInterface sink, MeterRegistry registry) {
+        if (properties.getConsumers() < 1 || properties.getBatchSize() < 1) {
+            throw new IllegalArgumentException("calculator.events.consumers and batch-size must be positive");
+        }
+        this.ring = properties.isEnabled() ? new EventRingBuffer<>(properties.getCapacity()) : null;
+        this.sink = sink;
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.batchSize = properties.getBatchSize();
+        this.idleWaitNanos = properties.getIdleWait().toNanos();
+        this.blockTimeoutNanos = properties.getBlockTimeout().toNanos();
+
+        this.enqueueTimer = Timer.builder(ENQUEUE_TIMER)
+                .description("Time a request thread spends handing a statement event to the ring")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100))
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(registry);
+        this.publishLatency = Timer.builder(PUBLISH_LATENCY)
+                .description("Time from publishing a statement event until the sink has written it")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+        this.published = Counter.builder(PUBLISHED)
+                .description("Statement events written by the sink")
+                .register(registry);
+        this.droppedFull = dropCounter(registry, "full");
+        this.droppedOldest = dropCounter(registry, "oldest");
+        this.droppedSinkFailure = dropCounter(registry, "sink-failure");
+        this.droppedShutdown = dropCounter(registry, "shutdown");
+        this.batchSizes = DistributionSummary.builder("calculator.events.batch.size")
+                .description("Statement events per sink write")
+                .register(registry);
+
+        if (ring != null) {
+            Gauge.builder(QUEUE_DEPTH, ring, EventRingBuffer::size)
+                    .description("Statement events waiting in the ring")
+                    .register(registry);
+            running = true;
+            for (int i = 0; i < properties.getConsumers(); i++) {
+                consumers.add(Thread.ofPlatform().daemon().name("statement-events-" + i).start(this::consume));
+            }
+            log.info("Statement events: sink={}, capacity={}, consumers={}, overflow={}", sink.getClass().getSimpleName(),
+                    ring.capacity(), consumers.size(), overflowPolicy);
+        }
+    }
+
+    public void offersCalculated(LoanStatementRequestDto request, List<LoanOfferDto> offers) {
+        if (!running) {
+            return;
+        }
+        UUID statementId = offers.isEmpty() ? null : offers.get(0).getStatementId();
+        StatementEventDto event = new StatementEventDto();
+        event.setStatementId(statementId);
+        event.setStatus(status(ApplicationStatus.PREAPPROVAL));
+        if (request.getEmail() != null) {
+            EmailMessage email = new EmailMessage();
+            email.setAddress(request.getEmail());
+            email.setTheme(EmailTheme.FINISH_REGISTRATION);
+            email.setStatementId(statementId);
+            email.setText(FINISH_REGISTRATION_TEXT);
+            event.setEmail(email);
+        }
+        publish(event);
+    }
+
+    /**
+     * Approved and rejected credits produce an event keyed by {@link #correlationId}; invalid requests do not.
+     */
+    public void creditCalculated(ScoringDataDto scoring, CalculationResult<?> result) {
+        if (!running) {
+            return;
+        }
+        ApplicationStatus status = switch (result) {
+            case CalculationResult.Success<?> success -> ApplicationStatus.CC_APPROVED;
+            case CalculationResult.Rejected<?> rejected -> ApplicationStatus.CC_DENIED;
+            case CalculationResult.Invalid<?> invalid -> null;
+        };
+        if (status != null) {
+            StatementEventDto event = new StatementEventDto();
+            event.setCorrelationId(correlationId(scoring));
+            event.setStatus(status(status));
+            publish(event);
+        }
+    }
+
+    /**
+     * Hands the event to the consumers; {@code false} if it was dropped.
+     */
+    public boolean publish(StatementEventDto event) {
+        if (!running) {
+            return false;
+        }
+        long start = System.nanoTime();
+        boolean accepted = ring.offer(event, start) || offerWhenFull(event, start);
+        enqueueTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return accepted;
+    }
+
+    private boolean offerWhenFull(StatementEventDto event, long start) {
+        switch (overflowPolicy) {
+            case DROP_OLDEST -> {
+                for (int attempt = 0; attempt < DROP_OLDEST_ATTEMPTS; attempt++) {
+                    if (ring.discardOldest()) {
+                        droppedOldest.increment();
+                    }
+                    if (ring.offer(event, start)) {
+                        return true;
+                    }
+                }
+            }
+            case BLOCK -> {
+                while (System.nanoTime() - start < blockTimeoutNanos) {
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                    if (ring.offer(event, start)) {
+                        return true;
+                    }
+                }
+            }
+            case DROP_NEWEST -> {
+            }
+        }
+        droppedFull.increment();
+        return false;
+    }
+
+    public int queueDepth() {
+        return ring == null ? 0 : ring.size();
+    }
+
+    private void consume() {
+        List<StatementEventDto> batch = new ArrayList<>(batchSize);
+        long[] enqueuedAt = new long[batchSize];
+        while (running) {
+            if (ring.drainTo(batch, enqueuedAt, batchSize) == 0) {
+                LockSupport.parkNanos(idleWaitNanos);
+                continue;
+            }
+            deliver(batch, enqueuedAt);
+        }
+    }
+
+    private void deliver(List<StatementEventDto> batch, long[] enqueuedAt) {
+        try {
+            sink.write(batch);
+            long now = System.nanoTime();
+            for (int i = 0; i < batch.size(); i++) {
+                publishLatency.record(now - enqueuedAt[i], TimeUnit.NANOSECONDS);
+            }
+            published.increment(batch.size());
+        } catch (Exception e) {
+            droppedSinkFailure.increment(batch.size());
+            log.warn("Statement event sink failed, dropping {} events", batch.size(), e);
+        }
+        batchSizes.record(batch.size());
+        batch.clear();
+    }
+
+    /**
+     * Stops the consumers and writes what is still queued, for at most {@link #SHUTDOWN_TIMEOUT}.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT.toNanos();
+        for (Thread consumer : consumers) {
+            consumer.join(Duration.ofNanos(Math.max(1, deadline - System.nanoTime())));
+        }
+        List<StatementEventDto> batch = new ArrayList<>(batchSize);
+        long[] enqueuedAt = new long[batchSize];
+        while (System.nanoTime() < deadline && ring.drainTo(batch, enqueuedAt, batchSize) > 0) {
+            deliver(batch, enqueuedAt);
+        }
+        int left = ring.size();
+        if (left > 0) {
+            droppedShutdown.increment(left);
+            log.warn("Statement events: {} events not written before shutdown", left);
+        }
+    }
+
+    /**
+     * Name-based id of a credit request: the same passport, amount and term always give the same id.
+     */
+    static UUID correlationId(ScoringDataDto scoring) {
+        BigDecimal amount = scoring.getAmount();
+        String key = scoring.getPassportSeries() + '|' + scoring.getPassportNumber() + '|'
+                + (amount == null ? null : amount.stripTrailingZeros().toPlainString()) + '|' + scoring.getTerm();
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static StatementStatusHistoryDto status(ApplicationStatus status) {
+        StatementStatusHistoryDto history = new StatementStatusHistoryDto();
+        history.setStatus(status);
+        history.setTime(LocalDateTime.now());
+        history.setChangeType(ChangeType.AUTOMATIC);
+        return history;
+    }
+
+    private static Counter dropCounter(MeterRegistry registry, String reason) {
+        return Counter.builder(DROPPED)
+                .description("Statement events dropped before reaching the sink")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -0,0 +1,15 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.StatementEventDto;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of statement events, called by the pipeline's consumer threads with one batch at a time.
+ * The list is reused once the call returns. A failed batch is counted and dropped, not retried.
+ */
+public interface StatementEventSinkInterface {
+
+    void write(List<StatementEventDto> events) throws IOException;
+}
@@ -0,0 +1,6 @@
+package neo.project.task.calculator.Service;
+
+public enum ValidationMode {
+    FAIL_FAST,
+    COLLECT_ALL
+}
@@ -0,0 +1,30 @@
+package neo.project.task.calculator;
+
+import neo.project.task.calculator.DTO.BatchItemResultDto;
+import neo.project.task.calculator.DTO.CreditDto;
+import neo.project.task.calculator.DTO.ErrorResponse;
+import neo.project.task.calculator.DTO.PrepaymentMode;
+import neo.project.task.calculator.DTO.StreamingCreditDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeHint;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculatorRuntimeHintsTest {
+
+    @Test
+    void testDtoPackageRegisteredForBinding() {
+        RuntimeHints hints = new RuntimeHints();
+        new CalculatorRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        for (Class<?> dto : new Class<?>[]{CreditDto.class, StreamingCreditDto.class, BatchItemResultDto.class,
+                ErrorResponse.class, PrepaymentMode.class}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(dto).test(hints), dto.getName());
+        }
+        TypeHint credit = hints.reflection().getTypeHint(CreditDto.class);
+        assertTrue(credit.methods().anyMatch(method -> method.getName().equals("getPaymentSchedule")));
+        assertTrue(credit.methods().anyMatch(method -> method.getName().equals("setPaymentSchedule")));
+    }
+}
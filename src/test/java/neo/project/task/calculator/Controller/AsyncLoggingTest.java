@@ -0,0 +1,53 @@
+package neo.project.task.calculator.Controller;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLoggingTest {
+
+    private static ListAppender<ILoggingEvent> addAppender(LoggerContext context, Logger root, String name) {
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.setName(name);
+        appender.start();
+        root.addAppender(appender);
+        return appender;
+    }
+
+    @Test
+    void testEachRootAppenderMovesBehindItsOwnAsyncAppender() {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        ListAppender<ILoggingEvent> console = addAppender(context, root, "CONSOLE");
+        ListAppender<ILoggingEvent> file = addAppender(context, root, "FILE");
+
+        AsyncLogging.wrapRootAppenders(context, 16);
+        AsyncLogging.wrapRootAppenders(context, 16);
+
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+        root.iteratorForAppenders().forEachRemaining(appenders::add);
+        assertEquals(2, appenders.size());
+        AsyncAppender asyncConsole = (AsyncAppender) root.getAppender("ASYNC_CONSOLE");
+        AsyncAppender asyncFile = (AsyncAppender) root.getAppender("ASYNC_FILE");
+        assertSame(console, asyncConsole.getAppender("CONSOLE"));
+        assertSame(file, asyncFile.getAppender("FILE"));
+
+        root.info("offers calculated");
+        asyncConsole.stop();
+        asyncFile.stop();
+        assertEquals("offers calculated", console.list.get(0).getMessage());
+        assertEquals("offers calculated", file.list.get(0).getMessage());
+    }
+}
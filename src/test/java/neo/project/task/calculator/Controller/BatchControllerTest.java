@@ -0,0 +1,71 @@
+package neo.project.task.calculator.Controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import neo.project.task.calculator.CalculatorApplication;
+import neo.project.task.calculator.DTO.CreditDto;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+import neo.project.task.calculator.Service.BatchExecutor;
+import neo.project.task.calculator.Service.CalculationResult;
+import neo.project.task.calculator.Service.CreditCalculationService;
+import neo.project.task.calculator.Service.LoanCalculatorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BatchController.class)
+@ContextConfiguration(classes = CalculatorApplication.class)
+@Import(BatchExecutor.class)
+class BatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CreditCalculationService calculationService;
+
+    @MockitoBean
+    private LoanCalculatorService calculatorService;
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    void testCalculateBatchReportsEachItem() throws Exception {
+        ScoringDataDto approved = new ScoringDataDto();
+        approved.setAmount(BigDecimal.valueOf(100000));
+        ScoringDataDto rejected = new ScoringDataDto();
+        rejected.setAmount(BigDecimal.valueOf(200000));
+
+        CreditDto credit = new CreditDto();
+        credit.setAmount(approved.getAmount());
+        when(calculationService.tryCalculateCredit(approved)).thenReturn(CalculationResult.success(credit));
+        when(calculationService.tryCalculateCredit(rejected)).thenReturn(CalculationResult.rejected("Отказано в одобрении", null));
+
+        mockMvc.perform(post("/calculator/calc/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(approved, rejected))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value("OK"))
+                .andExpect(jsonPath("$[0].result.amount").value(100000))
+                .andExpect(jsonPath("$[1].status").value("REJECTED"));
+    }
+}
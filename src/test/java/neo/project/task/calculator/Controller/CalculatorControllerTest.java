@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import neo.project.task.calculator.CalculatorApplication;
 import neo.project.task.calculator.DTO.LoanOfferDto;
 import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.Service.CalculationResult;
 import neo.project.task.calculator.Service.LoanCalculatorService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -55,7 +56,7 @@ class CalculatorControllerTest {
 
         List<LoanOfferDto> offers = Collections.singletonList(offerDto);
 
-        when(calculatorService.processLoanRequest(any(LoanStatementRequestDto.class))).thenReturn(offers);
+        when(calculatorService.tryProcessLoanRequest(any(LoanStatementRequestDto.class))).thenReturn(CalculationResult.success(offers));
 
         mockMvc.perform(post("/calculator/offers")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -66,6 +67,6 @@ class CalculatorControllerTest {
                 .andExpect(jsonPath("$[0].totalAmount").value(120000))
                 .andExpect(jsonPath("$[0].rate").value(10));
 
-        verify(calculatorService, times(1)).processLoanRequest(any(LoanStatementRequestDto.class));
+        verify(calculatorService, times(1)).tryProcessLoanRequest(any(LoanStatementRequestDto.class));
     }
 }
@@ -0,0 +1,88 @@
+package neo.project.task.calculator.Controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import neo.project.task.calculator.CalculatorApplication;
+import neo.project.task.calculator.DTO.CreditDto;
+import neo.project.task.calculator.DTO.PrepaymentRequestDto;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+import neo.project.task.calculator.Service.AdaptiveConcurrencyLimit;
+import neo.project.task.calculator.Service.CalculationResult;
+import neo.project.task.calculator.Service.ConcurrencyLimitProperties;
+import neo.project.task.calculator.Service.ConcurrencyLimiter;
+import neo.project.task.calculator.Service.CreditCalculationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CreditController.class)
+@ContextConfiguration(classes = CalculatorApplication.class)
+@Import(ConcurrencyLimiter.class)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@TestPropertySource(properties = {
+        "calculator.concurrency-limit.retry-after=1500ms",
+        "calculator.concurrency-limit.endpoints.calc.paths=/calculator/calc",
+        "calculator.concurrency-limit.endpoints.calc.initial-limit=1",
+        "calculator.concurrency-limit.endpoints.calc.min-limit=1",
+        "calculator.concurrency-limit.endpoints.calc.max-limit=1"})
+class ConcurrencyLimitInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    @MockitoBean
+    private CreditCalculationService calculationService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testSaturatedGroupShedsOnlyItsOwnPaths() throws Exception {
+        ScoringDataDto request = new ScoringDataDto();
+        request.setAmount(BigDecimal.valueOf(100000));
+        request.setTerm(12);
+        when(calculationService.tryCalculateCredit(any(ScoringDataDto.class))).thenReturn(CalculationResult.success(new CreditDto()));
+        when(calculationService.tryCalculatePrepayment(any(PrepaymentRequestDto.class)))
+                .thenReturn(CalculationResult.invalid("Prepayment mode is required", List.of("mode")));
+        AdaptiveConcurrencyLimit calc = concurrencyLimiter.limit("calc");
+
+        mockMvc.perform(post("/calculator/calc").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        assertEquals(0, calc.inFlight());
+
+        assertTrue(calc.tryAcquire());
+        try {
+            mockMvc.perform(post("/calculator/calc").contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "2"))
+                    .andExpect(jsonPath("$.status").value(503));
+            mockMvc.perform(post("/calculator/calc/prepayment").contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new PrepaymentRequestDto())))
+                    .andExpect(status().isBadRequest());
+        } finally {
+            calc.release(0);
+        }
+        assertEquals(1, calc.rejectedCount());
+    }
+}
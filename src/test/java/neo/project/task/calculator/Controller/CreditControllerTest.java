@@ -3,8 +3,13 @@ package neo.project.task.calculator.Controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import neo.project.task.calculator.CalculatorApplication;
 import neo.project.task.calculator.DTO.CreditDto;
+import neo.project.task.calculator.DTO.PaymentScheduleElementDto;
+import neo.project.task.calculator.DTO.ScheduleFormat;
 import neo.project.task.calculator.DTO.ScoringDataDto;
+import neo.project.task.calculator.DTO.StreamingCreditDto;
+import neo.project.task.calculator.Service.CalculationResult;
 import neo.project.task.calculator.Service.CreditCalculationService;
+import neo.project.task.calculator.Service.ScoringRule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,9 +19,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(CreditController.class)
@@ -38,7 +46,7 @@ class CreditControllerTest {
 
     @Test
     void testCreditControllerConstructor() {
-        CreditController controller = new CreditController(calculationService);
+        CreditController controller = new CreditController(calculationService, 1.0, 120);
         assertNotNull(controller);
     }
 
@@ -52,13 +60,137 @@ class CreditControllerTest {
         mockResponse.setAmount(request.getAmount());
         mockResponse.setTerm(request.getTerm());
 
-        when(calculationService.calculateCredit(any(ScoringDataDto.class))).thenReturn(mockResponse);
+        when(calculationService.tryCalculateCredit(any(ScoringDataDto.class))).thenReturn(CalculationResult.success(mockResponse));
+
+        mockMvc.perform(post("/calculator/calc")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        verify(calculationService, times(1)).tryCalculateCredit(any(ScoringDataDto.class));
+    }
+
+    @Test
+    void testCalculateWithScheduleWindowPassesParameters() throws Exception {
+        ScoringDataDto request = new ScoringDataDto();
+        request.setAmount(java.math.BigDecimal.valueOf(100000));
+        request.setTerm(120);
+
+        when(calculationService.tryCalculateCredit(any(ScoringDataDto.class), eq(0), eq(0))).thenReturn(CalculationResult.success(new CreditDto()));
+
+        mockMvc.perform(post("/calculator/calc")
+                        .param("scheduleLimit", "0")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        verify(calculationService, times(1)).tryCalculateCredit(any(ScoringDataDto.class), eq(0), eq(0));
+        verify(calculationService, never()).tryCalculateCredit(any(ScoringDataDto.class));
+    }
 
+    @Test
+    void testCompactScheduleSelectedByParameterOrAcceptHeader() throws Exception {
+        ScoringDataDto request = new ScoringDataDto();
+        request.setAmount(java.math.BigDecimal.valueOf(100000));
+        request.setTerm(12);
+
+        when(calculationService.tryCalculateCredit(any(ScoringDataDto.class), eq(0), eq(Integer.MAX_VALUE), eq(ScheduleFormat.COLUMNAR)))
+                .thenReturn(CalculationResult.success(new CreditDto()));
+
+        mockMvc.perform(post("/calculator/calc")
+                        .param("scheduleFormat", "COLUMNAR")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
         mockMvc.perform(post("/calculator/calc")
+                        .accept(CreditController.COMPACT_SCHEDULE_MEDIA_TYPE)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk());
 
-        verify(calculationService, times(1)).calculateCredit(any(ScoringDataDto.class));
+        verify(calculationService, times(2))
+                .tryCalculateCredit(any(ScoringDataDto.class), eq(0), eq(Integer.MAX_VALUE), eq(ScheduleFormat.COLUMNAR));
+        verify(calculationService, never()).tryCalculateCredit(any(ScoringDataDto.class));
+    }
+
+    @Test
+    void testLongTermScheduleIsStreamed() throws Exception {
+        ScoringDataDto request = new ScoringDataDto();
+        request.setAmount(java.math.BigDecimal.valueOf(100000));
+        request.setTerm(240);
+
+        CreditDto headline = new CreditDto();
+        headline.setTerm(240);
+        PaymentScheduleElementDto row = new PaymentScheduleElementDto();
+        row.setNumber(1);
+        StreamingCreditDto streamed = new StreamingCreditDto();
+        streamed.setCredit(headline);
+        streamed.setPaymentSchedule(List.of(row));
+        when(calculationService.tryStreamCredit(any(ScoringDataDto.class), eq(0), eq(Integer.MAX_VALUE)))
+                .thenReturn(CalculationResult.success(streamed));
+
+        mockMvc.perform(post("/calculator/calc")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.term").value(240))
+                .andExpect(jsonPath("$.paymentSchedule[0].number").value(1));
+
+        verify(calculationService, never()).tryCalculateCredit(any(ScoringDataDto.class));
+    }
+
+    @Test
+    void testScheduleEndpointReturnsRequestedRows() throws Exception {
+        ScoringDataDto request = new ScoringDataDto();
+        request.setAmount(java.math.BigDecimal.valueOf(100000));
+        request.setTerm(120);
+
+        PaymentScheduleElementDto row = new PaymentScheduleElementDto();
+        row.setNumber(11);
+        when(calculationService.tryCalculateSchedule(any(ScoringDataDto.class), eq(10), eq(5)))
+                .thenReturn(CalculationResult.success(List.of(row)));
+
+        mockMvc.perform(post("/calculator/calc/schedule")
+                        .param("offset", "10")
+                        .param("limit", "5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].number").value(11));
+    }
+
+    @Test
+    void testScheduleRowOutsideTermIsMappedToBadRequest() throws Exception {
+        ScoringDataDto request = new ScoringDataDto();
+        request.setAmount(java.math.BigDecimal.valueOf(100000));
+        request.setTerm(12);
+
+        when(calculationService.tryCalculateScheduleRow(any(ScoringDataDto.class), eq(13)))
+                .thenReturn(CalculationResult.invalid("Payment number must be between 1 and 12", List.of("number")));
+
+        mockMvc.perform(post("/calculator/calc/schedule/13")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Validation error: Payment number must be between 1 and 12"));
+        verify(calculationService, never()).calculateScheduleRow(any(ScoringDataDto.class), anyInt());
+    }
+
+    @Test
+    void testRejectionIsMappedToBadRequest() throws Exception {
+        ScoringDataDto request = new ScoringDataDto();
+        request.setAmount(java.math.BigDecimal.valueOf(100000));
+        request.setTerm(12);
+
+        when(calculationService.tryCalculateCredit(any(ScoringDataDto.class)))
+                .thenReturn(CalculationResult.rejected("Отказано в одобрении", ScoringRule.AGE));
+
+        mockMvc.perform(post("/calculator/calc")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Отказано в одобрении: " + ScoringRule.AGE.getDescription()));
     }
 }
@@ -0,0 +1,49 @@
+package neo.project.task.calculator.Controller;
+
+import neo.project.task.calculator.DTO.CreditDto;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.PaymentScheduleElementDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLogFormatterTest {
+
+    @Test
+    void testLoanRequestSummaryMasksPersonalData() {
+        LoanStatementRequestDto request = new LoanStatementRequestDto();
+        request.setAmount(new BigDecimal("100000"));
+        request.setTerm(12);
+        request.setLastName("Ivanov");
+        request.setEmail("ivanov@example.com");
+        request.setPassportSeries("1234");
+        request.setPassportNumber("567890");
+
+        String summary = RequestLogFormatter.summary(request);
+
+        assertEquals("amount=100000, term=12, lastName=I***, email=i***@example.com, passport=*** ***90", summary);
+        assertFalse(summary.contains("1234"));
+    }
+
+    @Test
+    void testCreditSummaryReportsScheduleSizeOnly() {
+        CreditDto credit = new CreditDto();
+        credit.setAmount(new BigDecimal("100000"));
+        credit.setTerm(360);
+        credit.setPaymentSchedule(Collections.nCopies(360, new PaymentScheduleElementDto()));
+
+        String summary = RequestLogFormatter.summary(credit);
+
+        assertTrue(summary.endsWith("scheduleRows=360"));
+        assertFalse(summary.contains("PaymentScheduleElementDto"));
+    }
+
+    @Test
+    void testSamplingBounds() {
+        assertTrue(RequestLogFormatter.sampled(1.0));
+        assertFalse(RequestLogFormatter.sampled(0.0));
+    }
+}
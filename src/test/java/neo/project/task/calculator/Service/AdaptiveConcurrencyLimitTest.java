@@ -0,0 +1,105 @@
+package neo.project.task.calculator.Service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(500).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdaptiveConcurrencyLimit createLimit(int initial, int min, int max) {
+        ConcurrencyLimitProperties.Endpoint config = ConcurrencyLimitProperties.Endpoint.of(List.of("/test"), initial, min, max,
+                Duration.ofMillis(100));
+        return new AdaptiveConcurrencyLimit("test", config, clock::get);
+    }
+
+    @Test
+    void testRejectsWithoutQueueingAtLimit() {
+        AdaptiveConcurrencyLimit limit = createLimit(2, 1, 10);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.inFlight());
+        assertEquals(1, limit.rejectedCount());
+
+        limit.release(FAST);
+        assertEquals(1, limit.inFlight());
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void testSlowResponsesBackOffOncePerInterval() {
+        AdaptiveConcurrencyLimit limit = createLimit(20, 4, 100);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        for (int i = 0; i < 10; i++) {
+            limit.release(SLOW);
+        }
+        assertEquals(18, limit.limit());
+
+        for (int i = 0; i < 30; i++) {
+            clock.addAndGet(Duration.ofMillis(100).toNanos());
+            limit.tryAcquire();
+            limit.release(SLOW);
+        }
+        assertEquals(4, limit.limit());
+    }
+
+    @Test
+    void testFastResponsesGrowLimitOnlyWhileItIsUsed() {
+        AdaptiveConcurrencyLimit limit = createLimit(4, 1, 6);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(FAST);
+        }
+        assertEquals(4, limit.limit());
+
+        for (int round = 0; round < 100; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(FAST);
+            }
+        }
+        assertEquals(6, limit.limit());
+    }
+
+    @Test
+    void testInvalidRangeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> createLimit(4, 0, 6));
+        assertThrows(IllegalArgumentException.class, () -> createLimit(4, 8, 6));
+    }
+
+    @Test
+    void testConfiguredGroupReplacesBuiltInGroupAndMustListPaths() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        Binder binder = new Binder(new MapConfigurationPropertySource(Map.of(
+                "calculator.concurrency-limit.endpoints.batch.initial-limit", "2")));
+
+        binder.bind("calculator.concurrency-limit", Bindable.ofInstance(properties));
+
+        assertEquals(List.of("offers", "calc", "batch"), List.copyOf(properties.getEndpoints().keySet()));
+        assertEquals(List.of("/calculator/offers", "/calculator/offers/grid"), properties.getEndpoints().get("offers").getPaths());
+        assertEquals(2, properties.getEndpoints().get("batch").getInitialLimit());
+        assertEquals(List.of(), properties.getEndpoints().get("batch").getPaths());
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimiter(properties));
+    }
+}
@@ -0,0 +1,55 @@
+package neo.project.task.calculator.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static neo.project.task.calculator.Service.ServiceFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnnuityFactorCacheTest {
+
+    private final BigDecimal monthlyRate = AnnuityCalculator.monthlyRate(new BigDecimal("10.0"));
+
+    @Test
+    void testReturnsSameFactorAsDirectComputation() {
+        AnnuityFactorCache cache = annuityFactorCache();
+
+        assertEquals(AnnuityCalculator.denominator(monthlyRate, 360), cache.denominator(monthlyRate, 360));
+        assertEquals(AnnuityCalculator.denominator(monthlyRate, 360), cache.denominator(monthlyRate, 360));
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    void testEvictsOldestEntriesWhenFull() {
+        AnnuityFactorCache cache = new AnnuityFactorCache(3, List.of(), 0);
+
+        for (int term = 1; term <= 10; term++) {
+            cache.denominator(monthlyRate, term);
+        }
+
+        assertEquals(3, cache.size());
+        cache.denominator(monthlyRate, 10);
+        assertEquals(1, cache.hitCount());
+        cache.denominator(monthlyRate, 1);
+        assertEquals(11, cache.missCount());
+    }
+
+    @Test
+    void testWarmUpPopulatesConfiguredRatesAndTerms() {
+        AnnuityFactorCache cache = new AnnuityFactorCache(4096, List.of(new BigDecimal("9.0"), new BigDecimal("10.0")), 12);
+
+        cache.warmUp();
+
+        assertEquals(24, cache.size());
+        cache.denominator(monthlyRate, 12);
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    void testRejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new AnnuityFactorCache(0, List.of(), 0));
+    }
+}
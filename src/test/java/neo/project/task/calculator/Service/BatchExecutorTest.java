@@ -0,0 +1,112 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.BatchItemResultDto;
+import neo.project.task.calculator.DTO.BatchItemStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchExecutorTest {
+
+    private final BatchExecutor executor = new BatchExecutor(4, 100);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testResultsKeepInputOrderAndReportFailuresPerItem() {
+        List<String> items = Arrays.asList("ok", "invalid", "rejected", null, "boom", "ok");
+
+        List<BatchItemResultDto<String>> results = executor.executeResults(items, item -> switch (item) {
+            case "invalid" -> CalculationResult.invalid("Term must be positive", List.of("term"));
+            case "rejected" -> CalculationResult.rejected("Отказано в одобрении", ScoringRule.AGE);
+            case "boom" -> throw new IllegalStateException("boom");
+            default -> CalculationResult.success(item.toUpperCase());
+        });
+
+        assertEquals(6, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+        assertEquals(BatchItemStatus.OK, results.get(0).getStatus());
+        assertEquals("OK", results.get(0).getResult());
+        assertEquals(BatchItemStatus.VALIDATION_ERROR, results.get(1).getStatus());
+        assertEquals("Validation error: Term must be positive", results.get(1).getMessage());
+        assertEquals(BatchItemStatus.REJECTED, results.get(2).getStatus());
+        assertEquals(BatchItemStatus.VALIDATION_ERROR, results.get(3).getStatus());
+        assertEquals("Validation error: item must not be null", results.get(3).getMessage());
+        assertEquals(BatchItemStatus.ERROR, results.get(4).getStatus());
+        assertEquals(BatchItemStatus.OK, results.get(5).getStatus());
+    }
+
+    @Test
+    void testErrorEscapingOneItemDoesNotFailTheBatch() {
+        List<BatchItemResultDto<String>> results = executor.executeResults(List.of("ok", "error", "ok"), item -> {
+            if (item.equals("error")) {
+                throw new AssertionError("escaped");
+            }
+            return CalculationResult.success(item);
+        });
+
+        assertEquals(BatchItemStatus.OK, results.get(0).getStatus());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals(BatchItemStatus.ERROR, results.get(1).getStatus());
+        assertEquals(BatchItemStatus.OK, results.get(2).getStatus());
+    }
+
+    @Test
+    void testInterruptedCallerGetsResultForEveryItemAndKeepsInterrupt() {
+        Thread.currentThread().interrupt();
+        List<BatchItemResultDto<Integer>> results = executor.executeResults(List.of(1, 2, 3), item -> {
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return CalculationResult.success(item);
+        });
+
+        assertTrue(Thread.interrupted());
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == BatchItemStatus.ERROR));
+    }
+
+    @Test
+    void testParallelismIsCapped() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            items.add(i);
+        }
+
+        executor.executeResults(items, item -> {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            return CalculationResult.success(item);
+        });
+
+        assertTrue(maxInFlight.get() <= 4);
+    }
+
+    @Test
+    void testRejectsEmptyAndOversizedBatches() {
+        assertThrows(IllegalArgumentException.class, () -> executor.executeResults(List.of(), CalculationResult::success));
+        assertThrows(IllegalArgumentException.class, () -> executor.executeResults(Collections.nCopies(101, 1), CalculationResult::success));
+    }
+}
@@ -0,0 +1,322 @@
+package neo.project.task.calculator.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import neo.project.task.calculator.DTO.CreditDto;
+import neo.project.task.calculator.DTO.EmploymentDto;
+import neo.project.task.calculator.DTO.EmploymentStatus;
+import neo.project.task.calculator.DTO.Gender;
+import neo.project.task.calculator.DTO.LoanOfferDto;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.MaritalStatus;
+import neo.project.task.calculator.DTO.Position;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculationJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private CalculationJournal journal;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private CalculationJournal openJournal(JournalSyncPolicy policy, DataSize segmentSize) {
+        CalculationJournalProperties properties = new CalculationJournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        properties.setSyncPolicy(policy);
+        properties.setSegmentSize(segmentSize);
+        journal = new CalculationJournal(properties, registry);
+        return journal;
+    }
+
+    private static ScoringDataDto createScoringData() {
+        EmploymentDto employment = new EmploymentDto();
+        employment.setEmploymentStatus(EmploymentStatus.EMPLOYED);
+        employment.setPosition(Position.MID_MANAGER);
+        employment.setSalary(new BigDecimal("85000.50"));
+        employment.setWorkExperienceTotal(60);
+        employment.setWorkExperienceCurrent(24);
+        ScoringDataDto scoring = new ScoringDataDto();
+        scoring.setAmount(new BigDecimal("500000"));
+        scoring.setTerm(24);
+        scoring.setGender(Gender.FEMALE);
+        scoring.setBirthdate(LocalDate.of(1988, 3, 14));
+        scoring.setMaritalStatus(MaritalStatus.MARRIED);
+        scoring.setDependentAmount(null);
+        scoring.setEmployment(employment);
+        scoring.setIsInsuranceEnabled(true);
+        scoring.setIsSalaryClient(false);
+        return scoring;
+    }
+
+    private static CreditDto createCredit() {
+        CreditDto credit = new CreditDto();
+        credit.setRate(new BigDecimal("8.00"));
+        credit.setMonthlyPayment(new BigDecimal("22612.27"));
+        credit.setPsk(new BigDecimal("9.54"));
+        return credit;
+    }
+
+    private static LoanStatementRequestDto createRequest() {
+        LoanStatementRequestDto request = new LoanStatementRequestDto();
+        request.setAmount(new BigDecimal("100000"));
+        request.setTerm(12);
+        request.setBirthdate(LocalDate.of(1990, 1, 1));
+        return request;
+    }
+
+    private static List<LoanOfferDto> createOffers(UUID statementId) {
+        List<LoanOfferDto> offers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            LoanOfferDto offer = new LoanOfferDto();
+            offer.setStatementId(statementId);
+            offer.setRate(new BigDecimal("10.00").subtract(BigDecimal.valueOf(i)));
+            offer.setMonthlyPayment(new BigDecimal("8791.59"));
+            offer.setTotalAmount(new BigDecimal("105499.08"));
+            offer.setIsInsuranceEnabled(i < 2);
+            offer.setIsSalaryClient(i % 2 == 0);
+            offers.add(offer);
+        }
+        return offers;
+    }
+
+    private List<JournalEntry> readAll() throws IOException {
+        List<JournalEntry> entries = new ArrayList<>();
+        new CalculationJournalReader(directory).scan(entries::add);
+        return entries;
+    }
+
+    @Test
+    void testDecisionsAndOffersReadBack() throws IOException {
+        openJournal(JournalSyncPolicy.INTERVAL, DataSize.ofMegabytes(1));
+        UUID statementId = UUID.randomUUID();
+
+        journal.creditCalculated(createScoringData(), CalculationResult.success(createCredit()));
+        journal.creditCalculated(createScoringData(), CalculationResult.rejected("Отказано", ScoringRule.AGE));
+        journal.creditCalculated(createScoringData(), CalculationResult.invalid("Amount is required", List.of("amount")));
+        journal.offersCalculated(createRequest(), createOffers(statementId));
+        journal.offersCalculated(createRequest(), createOffers(UUID.randomUUID()));
+
+        List<JournalEntry> entries = readAll();
+        assertEquals(4, entries.size());
+
+        JournalEntry.CreditDecision approved = (JournalEntry.CreditDecision) entries.get(0);
+        assertNull(approved.rejectedBy());
+        assertEquals(new BigDecimal("22612.27"), approved.credit().getMonthlyPayment());
+        assertEquals(new BigDecimal("8.00"), approved.credit().getRate());
+        assertEquals(new BigDecimal("500000"), approved.scoring().getAmount());
+        assertEquals(new BigDecimal("85000.50"), approved.scoring().getEmployment().getSalary());
+        assertEquals(Position.MID_MANAGER, approved.scoring().getEmployment().getPosition());
+        assertEquals(LocalDate.of(1988, 3, 14), approved.scoring().getBirthdate());
+        assertNull(approved.scoring().getDependentAmount());
+        assertTrue(approved.scoring().getIsInsuranceEnabled());
+        assertFalse(approved.scoring().getIsSalaryClient());
+
+        JournalEntry.CreditDecision rejected = (JournalEntry.CreditDecision) entries.get(1);
+        assertNull(rejected.credit());
+        assertEquals(ScoringRule.AGE, rejected.rejectedBy());
+        assertTrue(rejected.position() > approved.position());
+
+        List<JournalEntry> found = journal.reader().findByStatementId(statementId);
+        assertEquals(1, found.size());
+        JournalEntry.OffersIssued issued = (JournalEntry.OffersIssued) found.get(0);
+        assertEquals(statementId, issued.statementId());
+        assertEquals(4, issued.offers().size());
+        assertEquals(new BigDecimal("7.00"), issued.offers().get(3).getRate());
+        assertEquals(new BigDecimal("100000"), issued.offers().get(3).getRequestedAmount());
+        assertFalse(issued.offers().get(3).getIsInsuranceEnabled());
+        assertEquals(12, issued.offers().get(0).getTerm());
+
+        assertEquals(2.0, registry.get(CalculationJournal.APPENDS).tag("type", "credit").counter().count());
+        assertEquals(2.0, registry.get(CalculationJournal.APPENDS).tag("type", "offers").counter().count());
+    }
+
+    @Test
+    void testFullSegmentRollsOver() throws IOException {
+        openJournal(JournalSyncPolicy.INTERVAL, DataSize.ofKilobytes(64));
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            journal.offersCalculated(createRequest(), createOffers(new UUID(0, i)));
+        }
+
+        assertTrue(CalculationJournal.segmentIndex(journal.appendedPosition()) > 0);
+        List<JournalEntry> entries = readAll();
+        assertEquals(count, entries.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(new UUID(0, i), ((JournalEntry.OffersIssued) entries.get(i)).statementId());
+        }
+    }
+
+    @Test
+    void testNextSegmentIsCreatedAheadAndFullOneForcedByCommitter() throws Exception {
+        openJournal(JournalSyncPolicy.INTERVAL, DataSize.ofKilobytes(64));
+        awaitTrue(() -> Files.exists(directory.resolve(JournalSegment.fileName(1))), "next segment not created ahead");
+
+        for (int i = 0; i < 1000; i++) {
+            journal.offersCalculated(createRequest(), createOffers(new UUID(0, i)));
+        }
+        long end = journal.appendedPosition();
+        awaitTrue(() -> journal.committedPosition() >= end, "rolled segments not committed");
+        journal.close();
+
+        assertTrue(CalculationJournal.segmentIndex(end) > 0);
+        assertFalse(Files.exists(directory.resolve(JournalSegment.fileName(CalculationJournal.segmentIndex(end) + 1))));
+    }
+
+    @Test
+    void testReopenIgnoresSegmentCreatedAheadButNeverUsed() throws Exception {
+        openJournal(JournalSyncPolicy.INTERVAL, DataSize.ofMegabytes(1));
+        journal.creditCalculated(createScoringData(), CalculationResult.success(createCredit()));
+        long end = journal.appendedPosition();
+        journal.close();
+        JournalSegment.create(directory, 1, (int) DataSize.ofMegabytes(1).toBytes());
+
+        openJournal(JournalSyncPolicy.INTERVAL, DataSize.ofMegabytes(1));
+
+        assertEquals(end, journal.appendedPosition());
+        journal.creditCalculated(createScoringData(), CalculationResult.success(createCredit()));
+        assertEquals(2, readAll().size());
+    }
+
+    @Test
+    void testAlwaysPolicyReturnsOnlyOnceCommitted() {
+        openJournal(JournalSyncPolicy.ALWAYS, DataSize.ofMegabytes(1));
+
+        for (int i = 0; i < 20; i++) {
+            journal.creditCalculated(createScoringData(), CalculationResult.success(createCredit()));
+            assertTrue(journal.committedPosition() >= journal.appendedPosition());
+        }
+        assertTrue(registry.get(CalculationJournal.COMMIT_TIMER).timer().count() > 0);
+    }
+
+    @Test
+    void testReopenStopsAtTornRecordAndContinuesThere() throws Exception {
+        openJournal(JournalSyncPolicy.INTERVAL, DataSize.ofMegabytes(1));
+        journal.creditCalculated(createScoringData(), CalculationResult.success(createCredit()));
+        long intact = journal.appendedPosition();
+        journal.creditCalculated(createScoringData(), CalculationResult.success(createCredit()));
+        journal.close();
+
+        Path segment = directory.resolve(JournalSegment.fileName(0));
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long lastPayloadByte = intact + JournalSegment.RECORD_HEADER_SIZE + JournalCodec.CREDIT_SIZE - 1;
+            file.seek(lastPayloadByte);
+            int original = file.read();
+            file.seek(lastPayloadByte);
+            file.write(original ^ 0xFF);
+        }
+
+        openJournal(JournalSyncPolicy.INTERVAL, DataSize.ofMegabytes(1));
+        assertEquals(intact, journal.appendedPosition());
+        journal.creditCalculated(createScoringData(), CalculationResult.rejected("Отказано", ScoringRule.SALARY_TO_AMOUNT));
+
+        List<JournalEntry> entries = readAll();
+        assertEquals(2, entries.size());
+        assertEquals(ScoringRule.SALARY_TO_AMOUNT, ((JournalEntry.CreditDecision) entries.get(1)).rejectedBy());
+    }
+
+    @Test
+    void testSecondJournalOnSameDirectoryFailsFast() throws InterruptedException {
+        openJournal(JournalSyncPolicy.INTERVAL, DataSize.ofMegabytes(1));
+        CalculationJournalProperties properties = new CalculationJournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+
+        assertThrows(IllegalStateException.class, () -> new CalculationJournal(properties, new SimpleMeterRegistry()));
+
+        journal.close();
+        openJournal(JournalSyncPolicy.INTERVAL, DataSize.ofMegabytes(1));
+        journal.creditCalculated(createScoringData(), CalculationResult.success(createCredit()));
+        assertEquals(0.0, registry.get(CalculationJournal.ERRORS).counter().count());
+    }
+
+    @Test
+    void testDecimalsBeyondLongPrecisionAreRecordedRounded() throws IOException {
+        openJournal(JournalSyncPolicy.INTERVAL, DataSize.ofMegabytes(1));
+        ScoringDataDto scoring = createScoringData();
+        scoring.setAmount(new BigDecimal("500000.0000000000000000000001"));
+        scoring.getEmployment().setSalary(new BigDecimal("85000.50000000000000000000000000"));
+
+        journal.creditCalculated(scoring, CalculationResult.rejected("Отказано", ScoringRule.SALARY_TO_AMOUNT));
+
+        JournalEntry.CreditDecision decision = (JournalEntry.CreditDecision) readAll().get(0);
+        assertEquals(0, new BigDecimal("500000").compareTo(decision.scoring().getAmount()));
+        assertEquals(new BigDecimal("85000.5"), decision.scoring().getEmployment().getSalary());
+        assertEquals(0.0, registry.get(CalculationJournal.ERRORS).counter().count());
+
+        assertEquals(new BigDecimal("1.23456789012345679E+30"),
+                JournalCodec.normalized(new BigDecimal("1234567890123456789012345678901")));
+        assertEquals(new BigDecimal("1E-127"), JournalCodec.normalized(new BigDecimal("1E-127")));
+        assertEquals(0, BigDecimal.ZERO.compareTo(JournalCodec.normalized(new BigDecimal("4E-200"))));
+        assertThrows(ArithmeticException.class, () -> JournalCodec.normalized(new BigDecimal("1E+200")));
+    }
+
+    @Test
+    void testUnscaledMatchesExactValue() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long unscaled = random.nextLong() >> random.nextInt(64);
+            BigDecimal value = BigDecimal.valueOf(unscaled, random.nextInt(24) - 2);
+            assertEquals(value.unscaledValue().longValueExact(), JournalCodec.unscaled(value), value::toPlainString);
+        }
+        assertEquals(2261227, JournalCodec.unscaled(new BigDecimal("22612.27")));
+    }
+
+    @Test
+    void testAppendDoesNotAllocate() {
+        openJournal(JournalSyncPolicy.NEVER, DataSize.ofMegabytes(8));
+        ScoringDataDto scoring = createScoringData();
+        CalculationResult<CreditDto> credit = CalculationResult.success(createCredit());
+        LoanStatementRequestDto request = createRequest();
+        List<LoanOfferDto> offers = createOffers(UUID.randomUUID());
+        for (int i = 0; i < 20_000; i++) {
+            journal.creditCalculated(scoring, credit);
+            journal.offersCalculated(request, offers);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 1000; i++) {
+            journal.creditCalculated(scoring, credit);
+            journal.offersCalculated(request, offers);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes for 2000 appends");
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package neo.project.task.calculator.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import neo.project.task.calculator.DTO.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static neo.project.task.calculator.Service.ServiceFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculationMetricsTest {
+
+    private MeterRegistry registry;
+    private CreditCalculationService service;
+
+    private ScoringDataDto createScoringData() {
+        ScoringDataDto scoring = new ScoringDataDto();
+        scoring.setAmount(BigDecimal.valueOf(240000));
+        scoring.setTerm(24);
+        scoring.setFirstName("Ivan");
+        scoring.setLastName("Petrov");
+        scoring.setMiddleName("Ivanovich");
+        scoring.setBirthdate(LocalDate.of(1990, 1, 1));
+        scoring.setPassportSeries("1234");
+        scoring.setPassportNumber("123456");
+        scoring.setGender(Gender.MALE);
+        scoring.setMaritalStatus(MaritalStatus.MARRIED);
+        EmploymentDto employment = new EmploymentDto();
+        employment.setEmploymentStatus(EmploymentStatus.EMPLOYED);
+        employment.setSalary(BigDecimal.valueOf(30000));
+        scoring.setEmployment(employment);
+        return scoring;
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        service = new CreditCalculationService(new BigDecimalScheduleEngine(), annuityFactorCache(), requestValidator(),
+                scoringRuleEngine(), new CalculationMetrics(registry), statementEventPublisher(),
+                calculationJournal());
+    }
+
+    @Test
+    void testRecordsEveryStageAndRequestDistribution() {
+        service.calculateCredit(createScoringData());
+
+        for (String stage : new String[]{"validation", "scoring", "monthly_payment", "schedule"}) {
+            assertEquals(1, registry.get(CalculationMetrics.STAGE_TIMER)
+                    .tags("pipeline", "credit", "stage", stage).timer().count(), stage);
+        }
+        assertEquals(24.0, registry.get(CalculationMetrics.REQUEST_TERM).tag("pipeline", "credit").summary().totalAmount());
+        assertEquals(240000.0, registry.get(CalculationMetrics.REQUEST_AMOUNT).tag("pipeline", "credit").summary().totalAmount());
+    }
+
+    @Test
+    void testCountsRejectionsByRuleAndValidationField() {
+        ScoringDataDto tooLarge = createScoringData();
+        tooLarge.setAmount(BigDecimal.valueOf(720001));
+        ScoringDataDto badPassport = createScoringData();
+        badPassport.setPassportNumber("12");
+
+        assertThrows(LoanApplicationRejectedException.class, () -> service.calculateCredit(tooLarge));
+        assertThrows(IllegalArgumentException.class, () -> service.calculateCredit(badPassport));
+
+        assertEquals(1, registry.get(CalculationMetrics.REJECTIONS)
+                .tags("pipeline", "credit", "reason", "salary_to_amount").counter().count());
+        assertEquals(1, registry.get(CalculationMetrics.REJECTIONS)
+                .tags("pipeline", "credit", "reason", "validation", "field", "passportNumber").counter().count());
+        assertEquals(0, registry.get(CalculationMetrics.REJECTIONS)
+                .tags("pipeline", "credit", "reason", "age").counter().count());
+    }
+}
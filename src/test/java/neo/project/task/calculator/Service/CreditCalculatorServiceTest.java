@@ -1,13 +1,23 @@
 package neo.project.task.calculator.Service;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import neo.project.task.calculator.DTO.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static neo.project.task.calculator.Service.ServiceFixtures.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 class CreditCalculatorServiceTest {
@@ -40,7 +50,7 @@ class CreditCalculatorServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new CreditCalculationService();
+        service = creditCalculationService();
     }
 
     @Test
@@ -408,4 +418,234 @@ class CreditCalculatorServiceTest {
         scoring.getEmployment().setSalary(BigDecimal.valueOf(0));
         assertThrows(IllegalArgumentException.class, () -> service.calculateCredit(scoring));
     }
+
+    @Test
+    void testScheduleWindowMatchesFullSchedule() {
+        ScoringDataDto scoring = createBaseScoringData();
+        CreditDto full = service.calculateCredit(scoring);
+
+        CreditDto windowed = service.calculateCredit(scoring, 5, 3);
+
+        assertEquals(full.getMonthlyPayment(), windowed.getMonthlyPayment());
+        assertEquals(full.getPsk(), windowed.getPsk());
+        assertEquals(full.getPaymentSchedule().subList(5, 8), windowed.getPaymentSchedule());
+        assertEquals(full.getPaymentSchedule().subList(20, 24), service.calculateSchedule(scoring, 20, 10));
+    }
+
+    @Test
+    void testZeroScheduleLimitOmitsSchedule() {
+        CreditDto result = service.calculateCredit(createBaseScoringData(), 0, 0);
+
+        assertNull(result.getPaymentSchedule());
+        assertNotNull(result.getMonthlyPayment());
+    }
+
+    @Test
+    void testScheduleByDateRange() {
+        ScoringDataDto scoring = createBaseScoringData();
+        LocalDate start = LocalDate.now();
+
+        List<PaymentScheduleElementDto> rows = service.calculateSchedule(scoring, start.plusMonths(3), start.plusMonths(5));
+
+        assertEquals(3, rows.size());
+        assertEquals(3, rows.get(0).getNumber());
+        assertEquals(5, rows.get(2).getNumber());
+        assertTrue(service.calculateSchedule(scoring, start.plusYears(5), null).isEmpty());
+    }
+
+    @Test
+    void testNegativeScheduleWindowThrows() {
+        ScoringDataDto scoring = createBaseScoringData();
+
+        assertThrows(IllegalArgumentException.class, () -> service.calculateCredit(scoring, -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> service.calculateSchedule(scoring, 0, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.calculateSchedule(scoring, LocalDate.now().plusMonths(2), LocalDate.now()));
+    }
+
+    @Test
+    void testTryCalculateCreditReturnsOutcomeWithoutThrowing() {
+        ScoringDataDto invalid = createBaseScoringData();
+        invalid.setPassportSeries("12");
+        ScoringDataDto rejected = createBaseScoringData();
+        rejected.getEmployment().setEmploymentStatus(EmploymentStatus.UNEMPLOYED);
+
+        assertTrue(service.tryCalculateCredit(createBaseScoringData()).isSuccess());
+        CalculationResult.Invalid<CreditDto> failure =
+                assertInstanceOf(CalculationResult.Invalid.class, service.tryCalculateCredit(invalid));
+        assertEquals(List.of("passportSeries"), failure.fields());
+        assertInstanceOf(CalculationResult.Invalid.class, service.tryCalculateCredit(rejected));
+        assertInstanceOf(CalculationResult.Invalid.class, service.tryCalculateCredit(createBaseScoringData(), -1, 1));
+    }
+
+    @Test
+    void testTryScheduleVariantsReturnOutcomeWithoutThrowing() {
+        ScoringDataDto scoring = createBaseScoringData();
+        ScoringDataDto rejected = createBaseScoringData();
+        rejected.getEmployment().setEmploymentStatus(EmploymentStatus.UNEMPLOYED);
+
+        assertEquals(service.calculateSchedule(scoring, 2, 3), service.tryCalculateSchedule(scoring, 2, 3).orThrow());
+        assertEquals(service.calculateScheduleRow(scoring, 4), service.tryCalculateScheduleRow(scoring, 4).orThrow());
+        CalculationResult.Invalid<List<PaymentScheduleElementDto>> window =
+                assertInstanceOf(CalculationResult.Invalid.class, service.tryCalculateSchedule(scoring, 0, -1));
+        assertEquals(List.of("scheduleLimit"), window.fields());
+        CalculationResult.Invalid<List<PaymentScheduleElementDto>> range = assertInstanceOf(CalculationResult.Invalid.class,
+                service.tryCalculateSchedule(scoring, LocalDate.now().plusMonths(2), LocalDate.now()));
+        assertEquals(List.of("from", "to"), range.fields());
+        CalculationResult.Invalid<PaymentScheduleElementDto> number =
+                assertInstanceOf(CalculationResult.Invalid.class, service.tryCalculateScheduleRow(scoring, scoring.getTerm() + 1));
+        assertEquals(List.of("number"), number.fields());
+        assertInstanceOf(CalculationResult.Invalid.class, service.tryCalculateScheduleRow(rejected, 1));
+    }
+
+    @Test
+    void testRejectionExceptionIsStackless() {
+        ScoringDataDto scoring = createBaseScoringData();
+        scoring.setAmount(BigDecimal.valueOf(720001));
+
+        CalculationResult<CreditDto> result = service.tryCalculateCredit(scoring);
+        CalculationResult.Rejected<CreditDto> rejection = assertInstanceOf(CalculationResult.Rejected.class, result);
+        assertEquals(ScoringRule.SALARY_TO_AMOUNT, rejection.rule());
+
+        LoanApplicationRejectedException ex = assertThrows(LoanApplicationRejectedException.class, result::orThrow);
+        assertEquals(0, ex.getStackTrace().length);
+    }
+
+    @Test
+    void testStreamedCreditSerializesLikeMaterializedCredit() throws Exception {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        ScoringDataDto scoring = createBaseScoringData();
+        scoring.setTerm(240);
+        CreditCalculationService fixedPoint = creditCalculationService(fixedPointScheduleEngine());
+
+        for (CreditCalculationService calculator : List.of(service, fixedPoint)) {
+            assertEquals(mapper.writeValueAsString(calculator.calculateCredit(scoring)),
+                    mapper.writeValueAsString(calculator.tryStreamCredit(scoring, 0, Integer.MAX_VALUE).orThrow()));
+            assertEquals(mapper.writeValueAsString(calculator.calculateCredit(scoring, 70, 30)),
+                    mapper.writeValueAsString(calculator.tryStreamCredit(scoring, 70, 30).orThrow()));
+            assertEquals(mapper.writeValueAsString(calculator.calculateCredit(scoring, 0, 0)),
+                    mapper.writeValueAsString(calculator.tryStreamCredit(scoring, 0, 0).orThrow()));
+        }
+        assertInstanceOf(CalculationResult.Invalid.class, service.tryStreamCredit(scoring, -1, 10));
+    }
+
+    @Test
+    void testIdenticalConcurrentRequestsShareOneCalculation() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger schedules = new AtomicInteger();
+        PaymentScheduleEngineInterface gatedEngine = new BigDecimalScheduleEngine() {
+            @Override
+            public List<PaymentScheduleElementDto> buildSchedule(BigDecimal amount, int term, BigDecimal rate,
+                                                                 BigDecimal monthlyPayment, int offset, int limit) {
+                schedules.incrementAndGet();
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.buildSchedule(amount, term, rate, monthlyPayment, offset, limit);
+            }
+        };
+        MeterRegistry registry = new SimpleMeterRegistry();
+        CreditCalculationService coalescing = new CreditCalculationService(gatedEngine, annuityFactorCache(),
+                requestValidator(), scoringRuleEngine(), new CalculationMetrics(registry), statementEventPublisher(),
+                calculationJournal());
+        ScoringDataDto retried = createBaseScoringData();
+        retried.setFirstName("Petr");
+
+        FutureTask<CreditDto> first = new FutureTask<>(() -> coalescing.calculateCredit(createBaseScoringData()));
+        FutureTask<CreditDto> second = new FutureTask<>(() -> coalescing.calculateCredit(retried));
+        new Thread(first).start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        Thread secondThread = new Thread(second);
+        secondThread.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (secondThread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        CreditDto computed = first.get(5, TimeUnit.SECONDS);
+        CreditDto shared = second.get(5, TimeUnit.SECONDS);
+        assertEquals(1, schedules.get());
+        assertEquals(computed, shared);
+        assertNotSame(computed, shared);
+        assertNotSame(computed.getPaymentSchedule().get(0), shared.getPaymentSchedule().get(0));
+        assertEquals(1.0, registry.get(CalculationMetrics.COALESCED).tag("pipeline", "credit").counter().count());
+
+        coalescing.calculateCredit(createBaseScoringData());
+        assertEquals(2, schedules.get());
+    }
+
+    private PrepaymentRequestDto createPrepaymentRequest(PrepaymentMode mode, int... months) {
+        ScoringDataDto scoring = createBaseScoringData();
+        scoring.setTerm(120);
+        List<PrepaymentDto> prepayments = new java.util.ArrayList<>();
+        for (int month : months) {
+            PrepaymentDto prepayment = new PrepaymentDto();
+            prepayment.setMonth(month);
+            prepayment.setAmount(BigDecimal.valueOf(20000));
+            prepayments.add(prepayment);
+        }
+        PrepaymentRequestDto request = new PrepaymentRequestDto();
+        request.setScoring(scoring);
+        request.setMode(mode);
+        request.setPrepayments(prepayments);
+        return request;
+    }
+
+    @Test
+    void testPrepaymentReducesTermOrPayment() {
+        CreditDto original = service.calculateCredit(createPrepaymentRequest(PrepaymentMode.REDUCE_TERM, 12).getScoring());
+
+        PrepaymentScheduleDto shorter = service.tryCalculatePrepayment(createPrepaymentRequest(PrepaymentMode.REDUCE_TERM, 36, 12)).orThrow();
+        assertTrue(shorter.getTerm() < 120);
+        assertEquals(original.getMonthlyPayment(), shorter.getMonthlyPayment());
+        assertEquals(13, shorter.getPaymentSchedule().get(0).getNumber());
+        assertTrue(shorter.getPaymentSchedule().get(0).getInterestPayment()
+                .compareTo(original.getPaymentSchedule().get(12).getInterestPayment()) < 0);
+        PaymentScheduleElementDto last = shorter.getPaymentSchedule().get(shorter.getPaymentSchedule().size() - 1);
+        assertEquals(shorter.getTerm(), last.getNumber());
+        assertEquals(0, last.getRemainingDebt().signum());
+        assertTrue(shorter.getInterestSaved().signum() > 0);
+
+        PrepaymentScheduleDto lower = service.tryCalculatePrepayment(createPrepaymentRequest(PrepaymentMode.REDUCE_PAYMENT, 12, 36)).orThrow();
+        assertEquals(120, lower.getTerm());
+        assertTrue(lower.getMonthlyPayment().compareTo(original.getMonthlyPayment()) < 0);
+        assertEquals(108, lower.getPaymentSchedule().size());
+        assertTrue(shorter.getInterestSaved().compareTo(lower.getInterestSaved()) > 0);
+    }
+
+    @Test
+    void testPrepaymentLooksUpOnlyTheFirstEventBalance() {
+        AtomicInteger lookups = new AtomicInteger();
+        FixedPointScheduleEngine engine = new FixedPointScheduleEngine(1024) {
+            @Override
+            public PaymentScheduleElementDto buildRow(BigDecimal amount, int term, BigDecimal monthlyRate,
+                                                      BigDecimal monthlyPayment, int number) {
+                lookups.incrementAndGet();
+                return super.buildRow(amount, term, monthlyRate, monthlyPayment, number);
+            }
+        };
+        PrepaymentCalculator calculator = new PrepaymentCalculator(engine, annuityFactorCache());
+        List<PrepaymentDto> events = createPrepaymentRequest(PrepaymentMode.REDUCE_PAYMENT, 12, 36, 60).getPrepayments();
+        BigDecimal monthlyRate = new BigDecimal("0.0075");
+        BigDecimal payment = annuityFactorCache().monthlyPayment(BigDecimal.valueOf(240000), monthlyRate, 120);
+
+        PrepaymentScheduleDto schedule = calculator.calculate(BigDecimal.valueOf(240000), 120, monthlyRate, payment,
+                PrepaymentMode.REDUCE_PAYMENT, events);
+
+        assertEquals(1, lookups.get());
+        assertEquals(108, schedule.getPaymentSchedule().size());
+    }
+
+    @Test
+    void testPrepaymentOutsideTermIsInvalid() {
+        CalculationResult<PrepaymentScheduleDto> result = service.tryCalculatePrepayment(createPrepaymentRequest(PrepaymentMode.REDUCE_TERM, 120));
+
+        CalculationResult.Invalid<PrepaymentScheduleDto> invalid = assertInstanceOf(CalculationResult.Invalid.class, result);
+        assertEquals(List.of("prepayments.month"), invalid.fields());
+    }
 }
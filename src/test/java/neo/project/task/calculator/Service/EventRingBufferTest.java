@@ -0,0 +1,95 @@
+package neo.project.task.calculator.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventRingBufferTest {
+
+    @Test
+    void testOfferFailsWhenFullAndDrainKeepsOrder() {
+        EventRingBuffer<Integer> ring = new EventRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i, 100 + i));
+        }
+        assertFalse(ring.offer(4, 104));
+        assertEquals(4, ring.size());
+
+        assertTrue(ring.discardOldest());
+        assertTrue(ring.offer(4, 104));
+
+        List<Integer> batch = new ArrayList<>();
+        long[] times = new long[4];
+        assertEquals(3, ring.drainTo(batch, times, 3));
+        assertEquals(List.of(1, 2, 3), batch);
+        assertArrayEquals(new long[]{101, 102, 103, 0}, times);
+        assertEquals(1, ring.drainTo(batch, times, 3));
+        assertEquals(List.of(1, 2, 3, 4), batch);
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    void testCapacityMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new EventRingBuffer<>(6));
+    }
+
+    @Test
+    void testConcurrentProducersAndConsumersDeliverEveryElementOnce() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        int total = producers * perProducer;
+        EventRingBuffer<Integer> ring = new EventRingBuffer<>(64);
+        AtomicIntegerArray received = new AtomicIntegerArray(total);
+        AtomicLong consumed = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(producers + 2);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int first = p * perProducer;
+                tasks.add(executor.submit(() -> {
+                    for (int i = first; i < first + perProducer; i++) {
+                        while (!ring.offer(i, System.nanoTime())) {
+                            Thread.yield();
+                        }
+                    }
+                }));
+            }
+            for (int c = 0; c < 2; c++) {
+                tasks.add(executor.submit(() -> {
+                    List<Integer> batch = new ArrayList<>(16);
+                    long[] times = new long[16];
+                    while (consumed.get() < total) {
+                        int drained = ring.drainTo(batch, times, 16);
+                        if (drained == 0) {
+                            Thread.yield();
+                        }
+                        for (Integer value : batch) {
+                            received.incrementAndGet(value);
+                        }
+                        consumed.addAndGet(drained);
+                        batch.clear();
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, received.get(i), "element " + i);
+        }
+        assertEquals(0, ring.size());
+    }
+}
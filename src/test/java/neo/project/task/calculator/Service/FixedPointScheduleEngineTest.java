@@ -0,0 +1,112 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.CompactScheduleDto;
+import neo.project.task.calculator.DTO.PaymentScheduleElementDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static neo.project.task.calculator.Service.ServiceFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointScheduleEngineTest {
+
+    private final BigDecimalScheduleEngine reference = new BigDecimalScheduleEngine();
+    private final FixedPointScheduleEngine engine = fixedPointScheduleEngine();
+
+    private BigDecimal monthlyRate(String annualRate) {
+        return AnnuityCalculator.monthlyRate(new BigDecimal(annualRate));
+    }
+
+    private BigDecimal monthlyPayment(BigDecimal amount, BigDecimal monthlyRate, int term) {
+        return AnnuityCalculator.monthlyPayment(amount, monthlyRate, term);
+    }
+
+    private void assertSameSchedule(BigDecimal amount, String annualRate, int term) {
+        BigDecimal rate = monthlyRate(annualRate);
+        BigDecimal payment = monthlyPayment(amount, rate, term);
+
+        List<PaymentScheduleElementDto> expected = reference.buildSchedule(amount, term, rate, payment);
+        List<PaymentScheduleElementDto> actual = engine.buildSchedule(amount, term, rate, payment);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testMatchesReferenceForTypicalLoans() {
+        assertSameSchedule(BigDecimal.valueOf(240000), "10.0", 24);
+        assertSameSchedule(BigDecimal.valueOf(500000), "2.5", 12);
+        assertSameSchedule(new BigDecimal("100000.55"), "16.5", 6);
+    }
+
+    @Test
+    void testMatchesReferenceForLongTerms() {
+        assertSameSchedule(BigDecimal.valueOf(15_000_000), "9.5", 360);
+        assertSameSchedule(BigDecimal.valueOf(3_000_000), "0.5", 240);
+    }
+
+    @Test
+    void testFallsBackForAmountsWithSubKopeckPrecision() {
+        BigDecimal amount = new BigDecimal("100000.555");
+        BigDecimal rate = monthlyRate("10.0");
+        BigDecimal payment = monthlyPayment(amount, rate, 12);
+
+        assertNull(FixedPointSchedule.compute(amount, 12, rate, payment));
+        assertEquals(reference.buildSchedule(amount, 12, rate, payment), engine.buildSchedule(amount, 12, rate, payment));
+    }
+
+    @Test
+    void testWindowsAndSingleRowsMatchReference() {
+        BigDecimal amount = BigDecimal.valueOf(2_400_000);
+        BigDecimal rate = monthlyRate("12.5");
+        BigDecimal payment = monthlyPayment(amount, rate, 240);
+
+        assertEquals(reference.buildSchedule(amount, 240, rate, payment, 0, 12), engine.buildSchedule(amount, 240, rate, payment, 0, 12));
+        assertEquals(reference.buildSchedule(amount, 240, rate, payment, 100, 40), engine.buildSchedule(amount, 240, rate, payment, 100, 40));
+        assertEquals(reference.buildRow(amount, 240, rate, payment, 177), engine.buildRow(amount, 240, rate, payment, 177));
+    }
+
+    @Test
+    void testCompactScheduleMatchesConvertedRows() {
+        BigDecimal amount = BigDecimal.valueOf(2_400_000);
+        BigDecimal rate = monthlyRate("12.5");
+        BigDecimal payment = monthlyPayment(amount, rate, 240);
+
+        for (int[] window : new int[][]{{0, 240}, {0, 12}, {100, 40}, {230, 50}}) {
+            CompactScheduleDto expected = reference.buildCompactSchedule(amount, 240, rate, payment, window[0], window[1]);
+            CompactScheduleDto actual = engine.buildCompactSchedule(amount, 240, rate, payment, window[0], window[1]);
+
+            assertEquals(window[0] + 1, actual.getFirstNumber());
+            assertEquals(expected.getTotalPaymentCents(), actual.getTotalPaymentCents());
+            assertArrayEquals(expected.getInterestCents(), actual.getInterestCents());
+            assertArrayEquals(expected.getDebtCents(), actual.getDebtCents());
+            assertArrayEquals(expected.getRemainingDebtCents(), actual.getRemainingDebtCents());
+        }
+        assertEquals(0, engine.buildCompactSchedule(amount, 240, rate, payment, 240, 10).getDebtCents().length);
+    }
+
+    @Test
+    void testReferenceCompactScheduleIsFilledWithoutRowList() {
+        BigDecimal amount = new BigDecimal("100000.555");
+        BigDecimal rate = monthlyRate("10.0");
+        BigDecimal payment = monthlyPayment(amount, rate, 12);
+        BigDecimalScheduleEngine streamingOnly = new BigDecimalScheduleEngine() {
+            @Override
+            public List<PaymentScheduleElementDto> buildSchedule(BigDecimal amount, int term, BigDecimal rate, BigDecimal monthlyPayment,
+                                                                 int offset, int limit) {
+                throw new AssertionError("window materialized as rows");
+            }
+        };
+
+        CompactScheduleDto compact = streamingOnly.buildCompactSchedule(amount, 12, rate, payment, 4, 100);
+        List<PaymentScheduleElementDto> rows = reference.buildSchedule(amount, 12, rate, payment, 4, 100);
+
+        assertEquals(5, compact.getFirstNumber());
+        assertEquals(rows.size(), compact.getDebtCents().length);
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(rows.get(i).getDebtPayment().movePointRight(2).longValueExact(), compact.getDebtCents()[i]);
+            assertEquals(rows.get(i).getRemainingDebt().movePointRight(2).longValueExact(), compact.getRemainingDebtCents()[i]);
+        }
+    }
+}
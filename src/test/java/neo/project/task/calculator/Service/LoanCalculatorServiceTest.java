@@ -1,24 +1,29 @@
 package neo.project.task.calculator.Service;
 
 
+import neo.project.task.calculator.DTO.BatchItemResultDto;
+import neo.project.task.calculator.DTO.BatchItemStatus;
 import neo.project.task.calculator.DTO.LoanOfferDto;
 import neo.project.task.calculator.DTO.LoanStatementRequestDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import static neo.project.task.calculator.Service.ServiceFixtures.*;
+
 public class LoanCalculatorServiceTest {
 
     private LoanCalculatorService service;
 
     @BeforeEach
     public void setUp() {
-        service = new LoanCalculatorService();
+        service = loanCalculatorService();
     }
 
     private LoanStatementRequestDto createValidRequest() {
@@ -99,4 +104,101 @@ public class LoanCalculatorServiceTest {
 
         assertThrows(IllegalArgumentException.class, () -> service.processLoanRequest(request));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testLongTermMonthlyPayment_matchesCreditCalculation() {
+        LoanStatementRequestDto request = createValidRequest();
+        request.setAmount(new BigDecimal("1000000"));
+        request.setTerm(360);
+
+        List<LoanOfferDto> offers = service.processLoanRequest(request);
+
+        assertThat(offers.get(0).getRate()).isEqualByComparingTo("8.5");
+        assertThat(offers.get(0).getMonthlyPayment()).isEqualByComparingTo("7689.13");
+        assertThat(offers.get(3).getRate()).isEqualByComparingTo("10.0");
+        assertThat(offers.get(3).getMonthlyPayment()).isEqualByComparingTo("8775.72");
+        assertThat(offers.get(3).getMonthlyPayment()).isEqualByComparingTo(
+                AnnuityCalculator.monthlyPayment(request.getAmount(), AnnuityCalculator.monthlyRate(new BigDecimal("10.0")), 360)
+                        .setScale(2, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    public void testProcessLoanRequests_deduplicatesPricingAndKeepsOrder() {
+        AnnuityFactorCache cache = annuityFactorCache();
+        LoanCalculatorService batchService = new LoanCalculatorService(cache, batchExecutor(), requestValidator(), scoringRuleEngine(),
+                calculationMetrics(), offerPricingCache(), statementEventPublisher(), calculationJournal());
+        LoanStatementRequestDto invalid = createValidRequest();
+        invalid.setEmail("invalid_email");
+
+        List<BatchItemResultDto<List<LoanOfferDto>>> results = batchService.processLoanRequests(
+                List.of(createValidRequest(), invalid, createValidRequest(), createValidRequest()));
+
+        assertThat(results).extracting(BatchItemResultDto::getStatus).containsExactly(
+                BatchItemStatus.OK, BatchItemStatus.VALIDATION_ERROR, BatchItemStatus.OK, BatchItemStatus.OK);
+        assertThat(results.get(0).getResult()).hasSize(4);
+        assertThat(results.get(0).getResult().get(0).getMonthlyPayment())
+                .isEqualTo(results.get(3).getResult().get(0).getMonthlyPayment());
+        assertThat(results.get(0).getResult().get(0).getStatementId())
+                .isNotEqualTo(results.get(2).getResult().get(0).getStatementId());
+        assertThat(cache.hitCount()).isZero();
+        assertThat(cache.missCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void testProcessLoanRequest_reusesCachedPricingUntilRulesChange() {
+        AnnuityFactorCache annuityCache = annuityFactorCache();
+        ScoringRuleEngine rules = scoringRuleEngine();
+        OfferPricingCache offerCache = offerPricingCache();
+        LoanCalculatorService cachedService = new LoanCalculatorService(annuityCache, batchExecutor(), requestValidator(), rules,
+                calculationMetrics(), offerCache, statementEventPublisher(), calculationJournal());
+
+        List<LoanOfferDto> first = cachedService.processLoanRequest(createValidRequest());
+        List<LoanOfferDto> second = cachedService.processLoanRequest(createValidRequest());
+
+        assertThat(offerCache.hitCount()).isEqualTo(1);
+        assertThat(annuityCache.missCount()).isEqualTo(4);
+        assertThat(second).extracting(LoanOfferDto::getMonthlyPayment)
+                .containsExactlyElementsOf(first.stream().map(LoanOfferDto::getMonthlyPayment).toList());
+        assertThat(second.get(0).getStatementId()).isNotEqualTo(first.get(0).getStatementId());
+
+        ScoringRulesProperties raised = new ScoringRulesProperties();
+        raised.setBaseRate(new BigDecimal("12.0"));
+        rules.reload(raised);
+        List<LoanOfferDto> repriced = cachedService.processLoanRequest(createValidRequest());
+
+        assertThat(offerCache.missCount()).isEqualTo(2);
+        assertThat(offerCache.size()).isEqualTo(1);
+        assertThat(repriced.get(3).getRate()).isEqualByComparingTo("12.0");
+    }
+
+    @Test
+    public void testProcessLoanRequest_sharesPricingAcrossAmountScales() {
+        OfferPricingCache offerCache = offerPricingCache();
+        LoanCalculatorService cachedService = new LoanCalculatorService(annuityFactorCache(), batchExecutor(), requestValidator(),
+                scoringRuleEngine(), calculationMetrics(), offerCache, statementEventPublisher(), calculationJournal());
+        LoanStatementRequestDto scaled = createValidRequest();
+        scaled.setAmount(new BigDecimal("10000.00"));
+
+        List<LoanOfferDto> plain = cachedService.processLoanRequest(createValidRequest());
+        List<LoanOfferDto> fromScaled = cachedService.processLoanRequest(scaled);
+
+        assertThat(offerCache.missCount()).isEqualTo(1);
+        assertThat(offerCache.hitCount()).isEqualTo(1);
+        assertThat(fromScaled.get(0).getRequestedAmount()).isEqualTo(new BigDecimal("10000.00"));
+        assertThat(fromScaled).extracting(LoanOfferDto::getTotalAmount)
+                .containsExactlyElementsOf(plain.stream().map(LoanOfferDto::getTotalAmount).toList());
+    }
+
+    @Test
+    public void testProcessLoanRequests_sharesBatchPricingAcrossAmountScales() {
+        LoanStatementRequestDto scaled = createValidRequest();
+        scaled.setAmount(new BigDecimal("10000.00"));
+
+        List<BatchItemResultDto<List<LoanOfferDto>>> results = service.processLoanRequests(List.of(createValidRequest(), scaled));
+
+        assertThat(results).extracting(BatchItemResultDto::getStatus).containsOnly(BatchItemStatus.OK);
+        assertThat(results.get(1).getResult().get(0).getRequestedAmount()).isEqualTo(new BigDecimal("10000.00"));
+        assertThat(results.get(1).getResult()).extracting(LoanOfferDto::getTotalAmount)
+                .containsExactlyElementsOf(results.get(0).getResult().stream().map(LoanOfferDto::getTotalAmount).toList());
+    }
+}
@@ -0,0 +1,92 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.LoanOfferDto;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.OfferGridDto;
+import neo.project.task.calculator.DTO.OfferGridMatrixDto;
+import neo.project.task.calculator.DTO.OfferGridRequestDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static neo.project.task.calculator.Service.ServiceFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfferGridServiceTest {
+
+    private final OfferGridService service = offerGridService();
+
+    private OfferGridRequestDto createRequest(String amountFrom, String amountTo, String amountStep, int termFrom, int termTo, int termStep) {
+        OfferGridRequestDto request = new OfferGridRequestDto();
+        request.setAmountFrom(new BigDecimal(amountFrom));
+        request.setAmountTo(new BigDecimal(amountTo));
+        request.setAmountStep(new BigDecimal(amountStep));
+        request.setTermFrom(termFrom);
+        request.setTermTo(termTo);
+        request.setTermStep(termStep);
+        return request;
+    }
+
+    private LoanStatementRequestDto createLoanRequest(BigDecimal amount, int term) {
+        LoanStatementRequestDto request = new LoanStatementRequestDto();
+        request.setAmount(amount);
+        request.setTerm(term);
+        request.setFirstName("Ivan");
+        request.setLastName("Ivanov");
+        request.setMiddleName("Ivanovich");
+        request.setEmail("ivan@example.com");
+        request.setBirthdate(LocalDate.of(1990, 1, 1));
+        request.setPassportSeries("1234");
+        request.setPassportNumber("123456");
+        return request;
+    }
+
+    @Test
+    void testGridMatchesOffersForEveryCell() {
+        OfferGridDto grid = service.calculateOfferGrid(createRequest("100000", "1000000", "150000", 6, 120, 19));
+        LoanCalculatorService offers = loanCalculatorService();
+
+        assertEquals(7, grid.getAmounts().size());
+        assertEquals(7, grid.getTerms().size());
+        assertEquals(4, grid.getOffers().size());
+        for (int row = 0; row < grid.getTerms().size(); row++) {
+            for (int column = 0; column < grid.getAmounts().size(); column++) {
+                List<LoanOfferDto> expected = offers.processLoanRequest(
+                        createLoanRequest(grid.getAmounts().get(column), grid.getTerms().get(row)));
+                for (int offer = 0; offer < expected.size(); offer++) {
+                    OfferGridMatrixDto matrix = grid.getOffers().get(offer);
+                    assertEquals(expected.get(offer).getRate(), matrix.getRate());
+                    assertEquals(expected.get(offer).getIsInsuranceEnabled(), matrix.getIsInsuranceEnabled());
+                    assertEquals(expected.get(offer).getMonthlyPayment(), matrix.getMonthlyPayments().get(row).get(column));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLargeGridIsPricedInParallel() {
+        OfferGridDto grid = service.calculateOfferGrid(createRequest("50000", "5000000", "50000", 1, 360, 6));
+
+        assertEquals(100, grid.getAmounts().size());
+        assertEquals(60, grid.getTerms().size());
+        BigDecimal expected = loanCalculatorService().processLoanRequest(createLoanRequest(new BigDecimal("2500000"), 355))
+                .get(0).getMonthlyPayment();
+        assertEquals(expected, grid.getOffers().get(0).getMonthlyPayments().get(59).get(49));
+    }
+
+    @Test
+    void testInvalidRangesAreRejected() {
+        CalculationResult<OfferGridDto> reversed = service.tryCalculateOfferGrid(createRequest("200000", "100000", "10000", 6, 12, 6));
+        CalculationResult.Invalid<OfferGridDto> failure = assertInstanceOf(CalculationResult.Invalid.class, reversed);
+        assertEquals(List.of("amountTo"), failure.fields());
+
+        CalculationResult<OfferGridDto> tooLarge = service.tryCalculateOfferGrid(createRequest("1", "1000000", "1", 1, 12, 1));
+        assertEquals(List.of("grid"), ((CalculationResult.Invalid<OfferGridDto>) tooLarge).fields());
+
+        OfferGridRequestDto noStep = createRequest("100000", "200000", "10000", 6, 12, 6);
+        noStep.setTermStep(null);
+        assertThrows(IllegalArgumentException.class, () -> service.calculateOfferGrid(noStep));
+    }
+}
@@ -0,0 +1,120 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.EmploymentDto;
+import neo.project.task.calculator.DTO.EmploymentStatus;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static neo.project.task.calculator.Service.ServiceFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestValidatorTest {
+
+    private LoanStatementRequestDto createLoanRequest() {
+        LoanStatementRequestDto request = new LoanStatementRequestDto();
+        request.setAmount(new BigDecimal("10000"));
+        request.setTerm(12);
+        request.setFirstName("Иван");
+        request.setLastName("Петров-Водкин");
+        request.setMiddleName("Ivanovich");
+        request.setEmail("ivan@example.com");
+        request.setBirthdate(LocalDate.of(1990, 1, 1));
+        request.setPassportSeries("1234");
+        request.setPassportNumber("123456");
+        return request;
+    }
+
+    private ScoringDataDto createScoringData() {
+        ScoringDataDto scoring = new ScoringDataDto();
+        scoring.setAmount(BigDecimal.valueOf(240000));
+        scoring.setTerm(24);
+        scoring.setFirstName("Ivan");
+        scoring.setLastName("Petrov");
+        scoring.setMiddleName("Ivanovich");
+        scoring.setBirthdate(LocalDate.of(1990, 1, 1));
+        scoring.setPassportSeries("1234");
+        scoring.setPassportNumber("123456");
+        EmploymentDto employment = new EmploymentDto();
+        employment.setEmploymentStatus(EmploymentStatus.EMPLOYED);
+        employment.setSalary(BigDecimal.valueOf(30000));
+        scoring.setEmployment(employment);
+        return scoring;
+    }
+
+    @Test
+    void testValidRequestsPass() {
+        RequestValidator validator = requestValidator();
+
+        assertNull(validator.firstError(createLoanRequest()));
+        assertNull(validator.firstError(createScoringData()));
+        assertDoesNotThrow(() -> validator.validate(createLoanRequest()));
+        assertDoesNotThrow(() -> validator.validate(createScoringData()));
+    }
+
+    @Test
+    void testFailFastReportsFirstError() {
+        LoanStatementRequestDto request = createLoanRequest();
+        request.setFirstName("I");
+        request.setEmail("invalid_email");
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> new RequestValidator(ValidationMode.FAIL_FAST).validate(request));
+        assertEquals("First name must be between 2 and 30 characters", ex.getMessage());
+        assertEquals(0, ex.getStackTrace().length);
+    }
+
+    @Test
+    void testCollectAllReportsEveryError() {
+        ScoringDataDto scoring = createScoringData();
+        scoring.setLastName("Petro#v");
+        scoring.setPassportSeries("12A4");
+        scoring.setPassportNumber("12345");
+
+        RequestValidator validator = new RequestValidator(ValidationMode.COLLECT_ALL);
+        List<String> errors = validator.allErrors(scoring);
+
+        assertEquals(List.of("Last name contains invalid characters", "Passport series must be exactly 4 digits",
+                "Passport number must be 6 digits"), errors);
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> validator.validate(scoring));
+        assertTrue(ex.getMessage().contains("Passport number"));
+    }
+
+    @Test
+    void testFindInvalidIsEmptyForValidRequestAndNamesFailedFields() {
+        RequestValidator validator = new RequestValidator(ValidationMode.COLLECT_ALL);
+        LoanStatementRequestDto request = createLoanRequest();
+
+        assertTrue(validator.findInvalid(request).isEmpty());
+
+        request.setEmail("invalid_email");
+        request.setPassportNumber("12345");
+        CalculationResult.Invalid<Object> invalid = validator.findInvalid(request).orElseThrow();
+        assertEquals(List.of("email", "passportNumber"), invalid.fields());
+    }
+
+    @Test
+    void testEmailScanner() {
+        assertTrue(RequestValidator.isEmail("ivan.petrov+loans@mail.example.ru"));
+        assertFalse(RequestValidator.isEmail("ivan@example"));
+        assertFalse(RequestValidator.isEmail("ivan@example.c"));
+        assertFalse(RequestValidator.isEmail("ivan@@example.com"));
+        assertFalse(RequestValidator.isEmail("@example.com"));
+        assertFalse(RequestValidator.isEmail("ivan@.com"));
+        assertFalse(RequestValidator.isEmail("ivan@example.r2"));
+    }
+
+    @Test
+    void testNameAndDigitScanners() {
+        assertTrue(RequestValidator.isName("Ёжиков-Щукин"));
+        assertFalse(RequestValidator.isName("Iv@n"));
+        assertFalse(RequestValidator.isName("Ivan1"));
+        assertTrue(RequestValidator.isDigits("0123", 4));
+        assertFalse(RequestValidator.isDigits("012", 4));
+        assertFalse(RequestValidator.isDigits("01a3", 4));
+    }
+}
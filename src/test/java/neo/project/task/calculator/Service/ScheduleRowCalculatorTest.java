@@ -0,0 +1,66 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.PaymentScheduleElementDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleRowCalculatorTest {
+
+    private final BigDecimal amount = BigDecimal.valueOf(7_500_000);
+    private final int term = 360;
+    private final BigDecimal monthlyRate = AnnuityCalculator.monthlyRate(new BigDecimal("9.5"));
+    private final BigDecimal monthlyPayment = AnnuityCalculator.monthlyPayment(amount, monthlyRate, term);
+    private final List<PaymentScheduleElementDto> reference =
+            new BigDecimalScheduleEngine().buildSchedule(amount, term, monthlyRate, monthlyPayment);
+    private final ScheduleRowCalculator calculator =
+            ScheduleRowCalculator.of(FixedPointLoan.of(amount, term, monthlyRate, monthlyPayment));
+
+    @Test
+    void testEveryRowMatchesIterativeSchedule() {
+        LocalDate start = LocalDate.now();
+        for (int number = 1; number <= term; number++) {
+            assertEquals(reference.get(number - 1), calculator.row(start, number));
+        }
+    }
+
+    @Test
+    void testReferenceEngineStartsFromCheckpoints() {
+        BigDecimalScheduleEngine engine = new BigDecimalScheduleEngine(4);
+        for (int number = 1; number <= term; number++) {
+            assertEquals(reference.get(number - 1), engine.buildRow(amount, term, monthlyRate, monthlyPayment, number));
+        }
+        List<PaymentScheduleElementDto> window = new ArrayList<>();
+        engine.scheduleRows(amount, term, monthlyRate, monthlyPayment, 95, 70).forEachRemaining(window::add);
+
+        assertEquals(reference.subList(95, 165), window);
+        assertEquals(reference.subList(352, 360), engine.buildSchedule(amount, term, monthlyRate, monthlyPayment, 352, 100));
+        assertEquals(1, engine.checkpointCacheSize());
+    }
+
+    @Test
+    void testRangesStartingAtAnyRowMatchIterativeSchedule() {
+        LocalDate start = LocalDate.now();
+
+        assertEquals(reference.subList(119, 150), calculator.rows(start, 119, 31));
+        assertEquals(reference.subList(350, 360), calculator.rows(start, 350, 100));
+        assertTrue(calculator.rows(start, 360, 10).isEmpty());
+    }
+
+    @Test
+    void testRemainingBalanceBeforePayment() {
+        assertEquals(amount.movePointRight(2).longValueExact(), calculator.remainingCentsBefore(1));
+        assertEquals(reference.get(119).getRemainingDebt().movePointRight(2).longValueExact(), calculator.remainingCentsBefore(121));
+    }
+
+    @Test
+    void testRejectsPaymentNumberOutsideTerm() {
+        assertThrows(IllegalArgumentException.class, () -> calculator.row(LocalDate.now(), 0));
+        assertThrows(IllegalArgumentException.class, () -> calculator.row(LocalDate.now(), term + 1));
+    }
+}
@@ -0,0 +1,123 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static neo.project.task.calculator.Service.ServiceFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoringRuleEngineTest {
+
+    private ScoringDataDto createScoringData() {
+        ScoringDataDto scoring = new ScoringDataDto();
+        scoring.setAmount(BigDecimal.valueOf(240000));
+        scoring.setTerm(24);
+        scoring.setFirstName("Ivan");
+        scoring.setLastName("Petrov");
+        scoring.setMiddleName("Ivanovich");
+        scoring.setBirthdate(LocalDate.now().minusYears(35));
+        scoring.setPassportSeries("1234");
+        scoring.setPassportNumber("123456");
+        scoring.setGender(Gender.MALE);
+        scoring.setMaritalStatus(MaritalStatus.MARRIED);
+        scoring.setDependentAmount(2);
+
+        EmploymentDto employment = new EmploymentDto();
+        employment.setEmploymentStatus(EmploymentStatus.EMPLOYED);
+        employment.setSalary(BigDecimal.valueOf(30000));
+        employment.setWorkExperienceCurrent(6);
+        employment.setWorkExperienceTotal(36);
+        scoring.setEmployment(employment);
+        return scoring;
+    }
+
+    @Test
+    void testDefaultRulesReproduceFixedAdjustments() {
+        ScoringRuleTable rules = scoringRuleEngine().current();
+        ScoringDataDto scoring = createScoringData();
+
+        assertEquals(-600, rules.evaluate(scoring, 35));
+
+        scoring.getEmployment().setEmploymentStatus(EmploymentStatus.SELF_EMPLOYED);
+        scoring.getEmployment().setWorkExperienceCurrent(2);
+        scoring.setDependentAmount(4);
+        scoring.setMaritalStatus(MaritalStatus.NON_MARRIED);
+        assertEquals(150, rules.evaluate(scoring, 35));
+
+        assertEquals(new BigDecimal("8.5"), ScoringRuleTable.toRate(rules.baseRate(true, true)));
+        assertEquals(new BigDecimal("10.0"), ScoringRuleTable.toRate(rules.baseRate(false, false)));
+    }
+
+    @Test
+    void testRejectionReportsRule() {
+        ScoringRuleTable rules = scoringRuleEngine().current();
+        ScoringDataDto scoring = createScoringData();
+
+        int tooOld = rules.evaluate(scoring, 66);
+        assertTrue(ScoringRuleTable.isRejection(tooOld));
+        assertEquals(ScoringRule.AGE, ScoringRuleTable.rejectionRule(tooOld));
+
+        scoring.getEmployment().setEmploymentStatus(EmploymentStatus.UNEMPLOYED);
+        assertEquals(ScoringRule.EMPLOYMENT_STATUS, ScoringRuleTable.rejectionRule(rules.evaluate(scoring, 35)));
+
+        scoring.getEmployment().setEmploymentStatus(EmploymentStatus.EMPLOYED);
+        scoring.setAmount(new BigDecimal("720000.01"));
+        assertEquals(ScoringRule.SALARY_TO_AMOUNT, ScoringRuleTable.rejectionRule(rules.evaluate(scoring, 35)));
+        scoring.setAmount(new BigDecimal("720000.00"));
+        assertFalse(ScoringRuleTable.isRejection(rules.evaluate(scoring, 35)));
+    }
+
+    @Test
+    void testServiceRejectionCarriesRule() {
+        CreditCalculationService service = creditCalculationService();
+        ScoringDataDto scoring = createScoringData();
+        // The validator rounds the salary floor to the amount's scale, so this passes it and fails scoring.
+        scoring.setAmount(new BigDecimal("720000.01"));
+
+        LoanApplicationRejectedException ex = assertThrows(LoanApplicationRejectedException.class,
+                () -> service.calculateCredit(scoring));
+        assertEquals(ScoringRule.SALARY_TO_AMOUNT, ex.getRule());
+    }
+
+    @Test
+    void testReloadSwapsCompiledTable() {
+        ScoringRuleEngine engine = scoringRuleEngine();
+        ScoringRuleTable before = engine.current();
+
+        ScoringRulesProperties rules = new ScoringRulesProperties();
+        rules.setBaseRate(new BigDecimal("12.25"));
+        rules.setMaritalStatusDelta(Map.of());
+        engine.reload(rules);
+
+        ScoringRuleTable after = engine.current();
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(new BigDecimal("12.25"), ScoringRuleTable.toRate(after.baseRate(false, false)));
+        assertEquals(-300, after.evaluate(createScoringData(), 35));
+        assertEquals(-600, before.evaluate(createScoringData(), 35));
+    }
+
+    @Test
+    void testRateLookupMatchesBasePlusDelta() {
+        ScoringRuleTable rules = scoringRuleEngine().current();
+        ScoringDataDto scoring = createScoringData();
+
+        assertEquals(250, rules.rate(scoring, 35, true, true));
+        assertEquals(400, rules.rate(scoring, 35, false, false));
+        scoring.setGender(null);
+        assertEquals(700, rules.rate(scoring, 35, false, false));
+        assertEquals(ScoringRule.AGE, ScoringRuleTable.rejectionRule(rules.rate(scoring, -1, false, false)));
+        assertEquals(ScoringRule.AGE, ScoringRuleTable.rejectionRule(rules.rate(scoring, 200, false, false)));
+    }
+
+    @Test
+    void testRejectsRatesFinerThanHundredths() {
+        ScoringRulesProperties rules = new ScoringRulesProperties();
+        rules.setInsuranceDelta(new BigDecimal("-0.125"));
+
+        assertThrows(IllegalArgumentException.class, () -> new ScoringRuleEngine(rules));
+    }
+}
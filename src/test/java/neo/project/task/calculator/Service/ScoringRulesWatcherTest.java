@@ -0,0 +1,125 @@
+package neo.project.task.calculator.Service;
+
+import neo.project.task.calculator.DTO.LoanOfferDto;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static neo.project.task.calculator.Service.ServiceFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoringRulesWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private ScoringRulesWatcher watcher;
+
+    @AfterEach
+    void tearDown() {
+        if (watcher != null) {
+            watcher.shutdown();
+        }
+    }
+
+    private static BigDecimal baseRate(ScoringRuleEngine engine) {
+        return ScoringRuleTable.toRate(engine.current().baseRate(false, false));
+    }
+
+    private LoanStatementRequestDto createRequest() {
+        LoanStatementRequestDto request = new LoanStatementRequestDto();
+        request.setAmount(new BigDecimal("10000"));
+        request.setTerm(12);
+        request.setFirstName("Ivan");
+        request.setLastName("Petrov");
+        request.setMiddleName("Ivanovich");
+        request.setEmail("ivan@example.com");
+        request.setBirthdate(LocalDate.of(1990, 1, 1));
+        request.setPassportSeries("1234");
+        request.setPassportNumber("123456");
+        return request;
+    }
+
+    @Test
+    void testPollingRebuildsTableWhenFileChanges() throws Exception {
+        Path file = directory.resolve("scoring-rules.yml");
+        Files.writeString(file, "calculator:\n  scoring:\n    base-rate: 11.0\n");
+        ScoringRuleEngine engine = scoringRuleEngine();
+
+        watcher = new ScoringRulesWatcher(engine, new StandardEnvironment(), file.toString(), Duration.ofMillis(20));
+        assertEquals(0, new BigDecimal("11.0").compareTo(baseRate(engine)));
+        long version = engine.current().getVersion();
+        Files.writeString(file, "calculator:\n  scoring:\n    base-rate: 12.5\n    insurance-delta: -2.0\n");
+        awaitVersionAbove(engine, version);
+
+        assertEquals(0, new BigDecimal("12.5").compareTo(baseRate(engine)));
+        assertEquals(0, new BigDecimal("10.5").compareTo(ScoringRuleTable.toRate(engine.current().baseRate(true, false))));
+    }
+
+    @Test
+    void testReloadFromFileDropsCachedOffers() throws IOException {
+        Path file = directory.resolve("scoring-rules.yml");
+        ScoringRuleEngine engine = scoringRuleEngine();
+        OfferPricingCache offerCache = offerPricingCache();
+        LoanCalculatorService service = new LoanCalculatorService(annuityFactorCache(), batchExecutor(), requestValidator(), engine,
+                calculationMetrics(), offerCache, statementEventPublisher(), calculationJournal());
+        watcher = new ScoringRulesWatcher(engine, new StandardEnvironment(), file.toString(), Duration.ofHours(1));
+
+        List<LoanOfferDto> before = service.processLoanRequest(createRequest());
+        service.processLoanRequest(createRequest());
+        Files.writeString(file, "calculator:\n  scoring:\n    base-rate: 12.5\n");
+        assertTrue(watcher.check());
+        List<LoanOfferDto> after = service.processLoanRequest(createRequest());
+
+        assertEquals(0, new BigDecimal("10.0").compareTo(before.get(3).getRate()));
+        assertEquals(0, new BigDecimal("12.5").compareTo(after.get(3).getRate()));
+        assertEquals(1, offerCache.hitCount());
+        assertEquals(2, offerCache.missCount());
+        assertEquals(1, offerCache.size());
+    }
+
+    @Test
+    void testFileIsLayeredOverConfigurationAndBrokenFileKeepsTable() throws IOException {
+        Path file = directory.resolve("scoring-rules.properties");
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("application",
+                Map.of("calculator.scoring.base-rate", "9.0")));
+        ScoringRuleEngine engine = scoringRuleEngine();
+        watcher = new ScoringRulesWatcher(engine, environment, file.toString(), Duration.ofHours(1));
+        assertEquals(0, new BigDecimal("10.0").compareTo(baseRate(engine)), "no file yet, nothing reloaded");
+
+        Files.writeString(file, "calculator.scoring.base-rate=13.0\n");
+        assertTrue(watcher.check());
+        assertEquals(0, new BigDecimal("13.0").compareTo(baseRate(engine)));
+        assertFalse(watcher.check());
+
+        long version = engine.current().getVersion();
+        Files.writeString(file, "calculator.scoring.min-age=70\ncalculator.scoring.max-age=30\n");
+        assertFalse(watcher.check());
+        assertEquals(version, engine.current().getVersion());
+
+        Files.delete(file);
+        assertTrue(watcher.check());
+        assertEquals(0, new BigDecimal("9.0").compareTo(baseRate(engine)));
+    }
+
+    private static void awaitVersionAbove(ScoringRuleEngine engine, long version) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (engine.current().getVersion() <= version) {
+            assertTrue(System.nanoTime() < deadline, "rules file change was not picked up");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package neo.project.task.calculator.Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.List;
+
+/**
+ * Services wired by hand with the application's default settings, for tests and benchmarks that run
+ * without a Spring context. Statement events and the journal are disabled.
+ */
+public final class ServiceFixtures {
+
+    private ServiceFixtures() {
+    }
+
+    public static CreditCalculationService creditCalculationService() {
+        return creditCalculationService(new BigDecimalScheduleEngine());
+    }
+
+    public static CreditCalculationService creditCalculationService(PaymentScheduleEngineInterface scheduleEngine) {
+        return new CreditCalculationService(scheduleEngine, annuityFactorCache(), requestValidator(), scoringRuleEngine(),
+                calculationMetrics(), statementEventPublisher(), calculationJournal());
+    }
+
+    public static LoanCalculatorService loanCalculatorService() {
+        return new LoanCalculatorService(annuityFactorCache(), batchExecutor(), requestValidator(), scoringRuleEngine(),
+                calculationMetrics(), offerPricingCache(), statementEventPublisher(), calculationJournal());
+    }
+
+    public static OfferGridService offerGridService() {
+        return new OfferGridService(annuityFactorCache(), requestValidator(), scoringRuleEngine(), calculationMetrics(), 10_000);
+    }
+
+    public static FixedPointScheduleEngine fixedPointScheduleEngine() {
+        return new FixedPointScheduleEngine(1024);
+    }
+
+    public static AnnuityFactorCache annuityFactorCache() {
+        return new AnnuityFactorCache(4096, List.of(), 0);
+    }
+
+    public static RequestValidator requestValidator() {
+        return new RequestValidator(ValidationMode.FAIL_FAST);
+    }
+
+    public static ScoringRuleEngine scoringRuleEngine() {
+        return new ScoringRuleEngine(new ScoringRulesProperties());
+    }
+
+    public static CalculationMetrics calculationMetrics() {
+        return new CalculationMetrics(new SimpleMeterRegistry());
+    }
+
+    public static OfferPricingCache offerPricingCache() {
+        return new OfferPricingCache(1024);
+    }
+
+    public static BatchExecutor batchExecutor() {
+        return new BatchExecutor(64, 10_000);
+    }
+
+    public static StatementEventPublisher statementEventPublisher() {
+        StatementEventProperties properties = new StatementEventProperties();
+        properties.setEnabled(false);
+        return new StatementEventPublisher(properties, events -> { }, new SimpleMeterRegistry());
+    }
+
+    public static CalculationJournal calculationJournal() {
+        CalculationJournalProperties properties = new CalculationJournalProperties();
+        properties.setEnabled(false);
+        return new CalculationJournal(properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,100 @@
+package neo.project.task.calculator.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, StringBuilder> flights = new SingleFlight<>();
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING) {
+            assertTrue(System.nanoTime() < deadline, "thread did not start waiting");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void testConcurrentCallerSharesRunningComputation() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        FutureTask<StringBuilder> leader = new FutureTask<>(() -> flights.execute("key", () -> {
+            computations.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new StringBuilder("value");
+        }, StringBuilder::new));
+        FutureTask<StringBuilder> follower = new FutureTask<>(() -> flights.execute("key", () -> {
+            computations.incrementAndGet();
+            return new StringBuilder("other");
+        }, StringBuilder::new));
+
+        new Thread(leader).start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        Thread followerThread = new Thread(follower);
+        followerThread.start();
+        awaitWaiting(followerThread);
+        assertEquals(1, flights.sharedCount());
+        release.countDown();
+
+        StringBuilder computed = leader.get(5, TimeUnit.SECONDS);
+        StringBuilder shared = follower.get(5, TimeUnit.SECONDS);
+        assertEquals("value", computed.toString());
+        assertEquals("value", shared.toString());
+        assertNotSame(computed, shared);
+        assertEquals(1, computations.get());
+        assertEquals(1, flights.executionCount());
+        assertEquals(0, flights.inFlightCount());
+    }
+
+    @Test
+    void testFinishedComputationIsNotReused() {
+        flights.execute("key", () -> new StringBuilder("first"), StringBuilder::new);
+        StringBuilder second = flights.execute("key", () -> new StringBuilder("second"), StringBuilder::new);
+
+        assertEquals("second", second.toString());
+        assertEquals(2, flights.executionCount());
+        assertEquals(0, flights.sharedCount());
+    }
+
+    @Test
+    void testFailureReachesWaitingCaller() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FutureTask<StringBuilder> leader = new FutureTask<>(() -> flights.execute("key", () -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("pricing failed");
+        }, StringBuilder::new));
+        FutureTask<StringBuilder> follower = new FutureTask<>(() -> flights.execute("key", StringBuilder::new, StringBuilder::new));
+
+        new Thread(leader).start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        Thread followerThread = new Thread(follower);
+        followerThread.start();
+        awaitWaiting(followerThread);
+        release.countDown();
+
+        Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, leaderFailure.getCause());
+        assertInstanceOf(IllegalStateException.class, followerFailure.getCause());
+        assertEquals(0, flights.inFlightCount());
+    }
+}
@@ -0,0 +1,203 @@
+package neo.project.task.calculator.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import neo.project.task.calculator.DTO.ApplicationStatus;
+import neo.project.task.calculator.DTO.EmailTheme;
+import neo.project.task.calculator.DTO.LoanOfferDto;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+import neo.project.task.calculator.DTO.StatementEventDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static neo.project.task.calculator.Service.ServiceFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementEventPublisherTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private StatementEventPublisher publisher;
+    private GatedSink gatedSink;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (gatedSink != null) {
+            gatedSink.gate.countDown();
+        }
+        if (publisher != null) {
+            publisher.shutdown();
+        }
+    }
+
+    private static StatementEventProperties createProperties(int capacity, EventOverflowPolicy policy) {
+        StatementEventProperties properties = new StatementEventProperties();
+        properties.setCapacity(capacity);
+        properties.setBatchSize(1);
+        properties.setOverflowPolicy(policy);
+        properties.setBlockTimeout(Duration.ofMillis(20));
+        return properties;
+    }
+
+    private static StatementEventDto createEvent(int number) {
+        StatementEventDto event = new StatementEventDto();
+        event.setStatementId(new UUID(0, number));
+        return event;
+    }
+
+    private static List<Long> numbers(List<StatementEventDto> events) {
+        List<Long> numbers = new ArrayList<>();
+        for (StatementEventDto event : events) {
+            numbers.add(event.getStatementId().getLeastSignificantBits());
+        }
+        return numbers;
+    }
+
+    private double dropped(String reason) {
+        return registry.get(StatementEventPublisher.DROPPED).tag("reason", reason).counter().count();
+    }
+
+    /**
+     * Publishes event 0, waits until the consumer is stuck in the sink with it, then fills the ring of four
+     * with events 1 - 4.
+     */
+    private void fillRing(EventOverflowPolicy policy) throws InterruptedException {
+        gatedSink = new GatedSink();
+        publisher = new StatementEventPublisher(createProperties(4, policy), gatedSink, registry);
+        assertTrue(publisher.publish(createEvent(0)));
+        assertTrue(gatedSink.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(publisher.publish(createEvent(i)));
+        }
+        assertEquals(4, publisher.queueDepth());
+    }
+
+    @Test
+    void testOfferAndCreditOutcomesReachSink() throws InterruptedException {
+        InMemoryStatementEventSink sink = new InMemoryStatementEventSink(100);
+        publisher = new StatementEventPublisher(createProperties(64, EventOverflowPolicy.DROP_NEWEST), sink, registry);
+        LoanCalculatorService offersService = new LoanCalculatorService(annuityFactorCache(), batchExecutor(),
+                requestValidator(), scoringRuleEngine(), calculationMetrics(), offerPricingCache(), publisher,
+                calculationJournal());
+        LoanStatementRequestDto request = new LoanStatementRequestDto();
+        request.setAmount(new BigDecimal("100000"));
+        request.setTerm(12);
+        request.setFirstName("Ivan");
+        request.setLastName("Ivanov");
+        request.setMiddleName("Ivanovich");
+        request.setEmail("ivan@example.com");
+        request.setBirthdate(LocalDate.of(1990, 1, 1));
+        request.setPassportSeries("1234");
+        request.setPassportNumber("123456");
+
+        ScoringDataDto scoring = new ScoringDataDto();
+        scoring.setAmount(new BigDecimal("100000.00"));
+        scoring.setTerm(12);
+        scoring.setPassportSeries("1234");
+        scoring.setPassportNumber("123456");
+        ScoringDataDto sameCredit = new ScoringDataDto();
+        sameCredit.setAmount(new BigDecimal("100000"));
+        sameCredit.setTerm(12);
+        sameCredit.setPassportSeries("1234");
+        sameCredit.setPassportNumber("123456");
+
+        List<LoanOfferDto> offers = offersService.processLoanRequest(request);
+        publisher.creditCalculated(scoring, CalculationResult.rejected("Employment status rejected", null));
+        publisher.creditCalculated(scoring, CalculationResult.invalid("Amount is required", List.of("amount")));
+        publisher.shutdown();
+
+        List<StatementEventDto> events = sink.events();
+        assertEquals(2, events.size());
+        assertEquals(offers.get(0).getStatementId(), events.get(0).getStatementId());
+        assertEquals(ApplicationStatus.PREAPPROVAL, events.get(0).getStatus().getStatus());
+        assertEquals("ivan@example.com", events.get(0).getEmail().getAddress());
+        assertEquals(EmailTheme.FINISH_REGISTRATION, events.get(0).getEmail().getTheme());
+        assertNull(events.get(0).getCorrelationId());
+        assertEquals(ApplicationStatus.CC_DENIED, events.get(1).getStatus().getStatus());
+        assertNull(events.get(1).getEmail());
+        assertNull(events.get(1).getStatementId());
+        assertEquals(StatementEventPublisher.correlationId(sameCredit), events.get(1).getCorrelationId());
+        sameCredit.setTerm(24);
+        assertNotEquals(StatementEventPublisher.correlationId(sameCredit), events.get(1).getCorrelationId());
+        assertEquals(2.0, registry.get(StatementEventPublisher.PUBLISHED).counter().count());
+        assertEquals(2, registry.get(StatementEventPublisher.PUBLISH_LATENCY).timer().count());
+    }
+
+    @Test
+    void testMemorySinkRequiresPositiveRetention() {
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryStatementEventSink(0));
+
+        InMemoryStatementEventSink sink = new InMemoryStatementEventSink(1);
+        sink.write(List.of(createEvent(1), createEvent(2)));
+        assertEquals(List.of(createEvent(2)), sink.events());
+    }
+
+    @Test
+    void testDropNewestRejectsEventWhenRingIsFull() throws InterruptedException {
+        fillRing(EventOverflowPolicy.DROP_NEWEST);
+
+        assertFalse(publisher.publish(createEvent(5)));
+        assertEquals(1.0, dropped("full"));
+
+        gatedSink.gate.countDown();
+        publisher.shutdown();
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), numbers(gatedSink.written));
+    }
+
+    @Test
+    void testDropOldestMakesRoomForNewEvent() throws InterruptedException {
+        fillRing(EventOverflowPolicy.DROP_OLDEST);
+
+        assertTrue(publisher.publish(createEvent(5)));
+        assertEquals(1.0, dropped("oldest"));
+
+        gatedSink.gate.countDown();
+        publisher.shutdown();
+        assertEquals(List.of(0L, 2L, 3L, 4L, 5L), numbers(gatedSink.written));
+    }
+
+    @Test
+    void testBlockWaitsForTimeoutThenDrops() throws InterruptedException {
+        fillRing(EventOverflowPolicy.BLOCK);
+
+        long start = System.nanoTime();
+        assertFalse(publisher.publish(createEvent(5)));
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(20).toNanos());
+        assertEquals(1.0, dropped("full"));
+    }
+
+    @Test
+    void testDisabledPublisherStartsNoConsumers() {
+        publisher = statementEventPublisher();
+
+        assertFalse(publisher.publish(createEvent(0)));
+        assertEquals(0, publisher.queueDepth());
+    }
+
+    private static final class GatedSink implements StatementEventSinkInterface {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final List<StatementEventDto> written = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void write(List<StatementEventDto> events) {
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.addAll(events);
+        }
+    }
+}
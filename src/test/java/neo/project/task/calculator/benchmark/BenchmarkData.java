@@ -0,0 +1,86 @@
+package neo.project.task.calculator.benchmark;
+
+import neo.project.task.calculator.DTO.EmploymentDto;
+import neo.project.task.calculator.DTO.EmploymentStatus;
+import neo.project.task.calculator.DTO.Gender;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.MaritalStatus;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Request fixtures shared by the benchmarks. Salaries are derived from the amount so every profile
+ * passes the affordability check and the benchmarks measure approved applications.
+ */
+public final class BenchmarkData {
+
+    /**
+     * Scoring profiles exercising different branches of the rule table.
+     */
+    public enum Profile {
+        STANDARD, PREFERRED, RISKY
+    }
+
+    private BenchmarkData() {
+    }
+
+    static ScoringDataDto scoring(Profile profile, BigDecimal amount, int term) {
+        ScoringDataDto scoring = new ScoringDataDto();
+        scoring.setAmount(amount);
+        scoring.setTerm(term);
+        scoring.setFirstName("Ivan");
+        scoring.setLastName("Petrov");
+        scoring.setMiddleName("Ivanovich");
+        scoring.setBirthdate(LocalDate.now().minusYears(35));
+        scoring.setPassportSeries("1234");
+        scoring.setPassportNumber("123456");
+        scoring.setGender(Gender.MALE);
+
+        EmploymentDto employment = new EmploymentDto();
+        employment.setSalary(amount.divide(BigDecimal.valueOf(12), 2, RoundingMode.UP));
+        switch (profile) {
+            case STANDARD -> {
+                scoring.setMaritalStatus(MaritalStatus.MARRIED);
+                scoring.setDependentAmount(1);
+                employment.setEmploymentStatus(EmploymentStatus.EMPLOYED);
+                employment.setWorkExperienceCurrent(12);
+                employment.setWorkExperienceTotal(60);
+            }
+            case PREFERRED -> {
+                scoring.setMaritalStatus(MaritalStatus.MARRIED);
+                scoring.setDependentAmount(0);
+                scoring.setIsInsuranceEnabled(true);
+                scoring.setIsSalaryClient(true);
+                employment.setEmploymentStatus(EmploymentStatus.EMPLOYED);
+                employment.setWorkExperienceCurrent(48);
+                employment.setWorkExperienceTotal(120);
+            }
+            case RISKY -> {
+                scoring.setMaritalStatus(MaritalStatus.NON_MARRIED);
+                scoring.setDependentAmount(4);
+                employment.setEmploymentStatus(EmploymentStatus.SELF_EMPLOYED);
+                employment.setWorkExperienceCurrent(1);
+                employment.setWorkExperienceTotal(10);
+            }
+        }
+        scoring.setEmployment(employment);
+        return scoring;
+    }
+
+    static LoanStatementRequestDto loanRequest(BigDecimal amount, int term) {
+        LoanStatementRequestDto request = new LoanStatementRequestDto();
+        request.setAmount(amount);
+        request.setTerm(term);
+        request.setFirstName("Ivan");
+        request.setLastName("Ivanov");
+        request.setMiddleName("Ivanovich");
+        request.setEmail("ivanov@example.com");
+        request.setBirthdate(LocalDate.now().minusYears(35));
+        request.setPassportSeries("1234");
+        request.setPassportNumber("567890");
+        return request;
+    }
+}
@@ -0,0 +1,105 @@
+package neo.project.task.calculator.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import neo.project.task.calculator.DTO.LoanOfferDto;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+import neo.project.task.calculator.Service.CalculationJournal;
+import neo.project.task.calculator.Service.CalculationJournalProperties;
+import neo.project.task.calculator.Service.CalculationResult;
+import neo.project.task.calculator.Service.CreditCalculationService;
+import neo.project.task.calculator.Service.JournalSyncPolicy;
+import neo.project.task.calculator.Service.LoanCalculatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static neo.project.task.calculator.Service.ServiceFixtures.*;
+
+/**
+ * {@link CalculationJournal} appends from four threads per sync policy; the GC profiler's
+ * {@code gc.alloc.rate.norm} should stay at zero bytes per append.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class CalculationJournalBenchmark {
+
+    @Param({"NEVER", "INTERVAL", "ALWAYS"})
+    private JournalSyncPolicy syncPolicy;
+
+    private Path directory;
+    private CalculationJournal journal;
+    private ScoringDataDto scoring;
+    private CalculationResult<?> credit;
+    private LoanStatementRequestDto request;
+    private List<LoanOfferDto> offers;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-benchmark");
+        CalculationJournalProperties properties = new CalculationJournalProperties();
+        properties.setDirectory(directory);
+        properties.setSyncPolicy(syncPolicy);
+        journal = new CalculationJournal(properties, new SimpleMeterRegistry());
+
+        scoring = BenchmarkData.scoring(BenchmarkData.Profile.STANDARD, new BigDecimal("1000000"), 60);
+        credit = creditCalculationService().tryCalculateCredit(scoring, 0, 0);
+        request = BenchmarkData.loanRequest(new BigDecimal("1000000"), 60);
+        offers = loanCalculatorService().processLoanRequest(request);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException, IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void appendCredit() {
+        journal.creditCalculated(scoring, credit);
+    }
+
+    @Benchmark
+    public void appendOffers() {
+        journal.offersCalculated(request, offers);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CalculationJournalBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,42 @@
+package neo.project.task.calculator.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link LoadGenerator} against the application on a random port and writes the report to
+ * {@code target/load-reports/<load.label>}. Skipped unless started through the {@code loadtest} profile.
+ * Per-request INFO logging is turned off so console output does not dominate the measured latencies.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"logging.level.neo.project.task.calculator=WARN",
+                "calculator.journal.enabled=true", "calculator.journal.directory=target/load-test-journal"})
+@EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+class CalculatorLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void runLoadProfile() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+
+        LatencyReport report = new LoadGenerator(URI.create("http://localhost:" + port), profile, objectMapper).run();
+
+        report.print(System.out);
+        report.write(Path.of("target", "load-reports", profile.label()));
+        assertTrue(report.completed() > 0);
+    }
+}
@@ -0,0 +1,163 @@
+package neo.project.task.calculator.benchmark;
+
+import neo.project.task.calculator.DTO.CreditDto;
+import neo.project.task.calculator.DTO.PaymentScheduleElementDto;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+import neo.project.task.calculator.Service.AnnuityCalculator;
+import neo.project.task.calculator.Service.AnnuityFactorCache;
+import neo.project.task.calculator.Service.BigDecimalScheduleEngine;
+import neo.project.task.calculator.Service.CalculationJournal;
+import neo.project.task.calculator.Service.CalculationMetrics;
+import neo.project.task.calculator.Service.CreditCalculationService;
+import neo.project.task.calculator.Service.FixedPointScheduleEngine;
+import neo.project.task.calculator.Service.PaymentScheduleEngineInterface;
+import neo.project.task.calculator.Service.RequestValidator;
+import neo.project.task.calculator.Service.ScoringRuleEngine;
+import neo.project.task.calculator.Service.ScoringRuleTable;
+import neo.project.task.calculator.Service.StatementEventPublisher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static neo.project.task.calculator.Service.ServiceFixtures.*;
+
+/**
+ * {@link CreditCalculationService} end to end and stage by stage: validation, rule lookup, annuity
+ * payment and schedule construction. {@code Mode.SampleTime} reports latency percentiles next to
+ * throughput; run through {@link #main} or the {@code benchmark} Maven profile to get allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreditCalculationBenchmark {
+
+    @Param({"6", "24", "120", "360"})
+    private int term;
+
+    @Param({"50000", "1000000"})
+    private String amount;
+
+    @Param({"STANDARD", "PREFERRED", "RISKY"})
+    private BenchmarkData.Profile profile;
+
+    private CreditCalculationService bigDecimalService;
+    private CreditCalculationService fixedPointService;
+    private RequestValidator validator;
+    private ScoringRuleTable rules;
+    private AnnuityFactorCache annuityFactorCache;
+    private PaymentScheduleEngineInterface bigDecimalEngine;
+    private PaymentScheduleEngineInterface fixedPointEngine;
+
+    private ScoringDataDto scoring;
+    private BigDecimal principal;
+    private BigDecimal monthlyRate;
+    private BigDecimal monthlyPayment;
+    private int age;
+
+    @Setup
+    public void setUp() {
+        validator = requestValidator();
+        ScoringRuleEngine ruleEngine = scoringRuleEngine();
+        rules = ruleEngine.current();
+        annuityFactorCache = annuityFactorCache();
+        bigDecimalEngine = new BigDecimalScheduleEngine();
+        fixedPointEngine = fixedPointScheduleEngine();
+        CalculationMetrics metrics = calculationMetrics();
+        StatementEventPublisher events = statementEventPublisher();
+        CalculationJournal journal = calculationJournal();
+        bigDecimalService = new CreditCalculationService(bigDecimalEngine, annuityFactorCache, validator, ruleEngine, metrics,
+                events, journal);
+        fixedPointService = new CreditCalculationService(fixedPointEngine, annuityFactorCache, validator, ruleEngine, metrics,
+                events, journal);
+
+        principal = new BigDecimal(amount);
+        scoring = BenchmarkData.scoring(profile, principal, term);
+        age = LocalDate.now().getYear() - scoring.getBirthdate().getYear();
+        CreditDto credit = bigDecimalService.calculateCredit(scoring, 0, 0);
+        monthlyRate = AnnuityCalculator.monthlyRate(credit.getRate());
+        monthlyPayment = AnnuityCalculator.monthlyPayment(principal, monthlyRate, term);
+    }
+
+    @Benchmark
+    public CreditDto calculateCreditBigDecimal() {
+        return bigDecimalService.calculateCredit(scoring);
+    }
+
+    @Benchmark
+    public CreditDto calculateCreditFixedPoint() {
+        return fixedPointService.calculateCredit(scoring);
+    }
+
+    @Benchmark
+    public CreditDto calculateCreditWithoutSchedule() {
+        return fixedPointService.calculateCredit(scoring, 0, 0);
+    }
+
+    @Benchmark
+    public List<PaymentScheduleElementDto> calculateScheduleFirstYear() {
+        return fixedPointService.calculateSchedule(scoring, 0, 12);
+    }
+
+    @Benchmark
+    public PaymentScheduleElementDto calculateScheduleLastRow() {
+        return fixedPointService.calculateScheduleRow(scoring, term);
+    }
+
+    @Benchmark
+    public String stageValidate() {
+        return validator.firstError(scoring);
+    }
+
+    @Benchmark
+    public int stageScoringRules() {
+        return rules.rate(scoring, age, Boolean.TRUE.equals(scoring.getIsInsuranceEnabled()),
+                Boolean.TRUE.equals(scoring.getIsSalaryClient()));
+    }
+
+    @Benchmark
+    public BigDecimal stageMonthlyPaymentUncached() {
+        return AnnuityCalculator.monthlyPayment(principal, monthlyRate, term);
+    }
+
+    @Benchmark
+    public BigDecimal stageMonthlyPaymentCached() {
+        return annuityFactorCache.monthlyPayment(principal, monthlyRate, term);
+    }
+
+    @Benchmark
+    public List<PaymentScheduleElementDto> stageScheduleBigDecimal() {
+        return bigDecimalEngine.buildSchedule(principal, term, monthlyRate, monthlyPayment);
+    }
+
+    @Benchmark
+    public List<PaymentScheduleElementDto> stageScheduleFixedPoint() {
+        return fixedPointEngine.buildSchedule(principal, term, monthlyRate, monthlyPayment);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CreditCalculationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
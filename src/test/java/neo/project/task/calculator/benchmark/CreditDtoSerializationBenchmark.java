@@ -0,0 +1,71 @@
+package neo.project.task.calculator.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import neo.project.task.calculator.DTO.CreditDto;
+import neo.project.task.calculator.Service.CreditCalculationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static neo.project.task.calculator.Service.ServiceFixtures.*;
+
+/**
+ * JSON serialization of a {@link CreditDto} with a full payment schedule, using an {@link ObjectMapper}
+ * configured the way Spring MVC configures its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreditDtoSerializationBenchmark {
+
+    @Param({"6", "24", "120", "360"})
+    private int term;
+
+    private ObjectWriter writer;
+    private CreditDto credit;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writerFor(CreditDto.class);
+        credit = creditCalculationService().calculateCredit(
+                BenchmarkData.scoring(BenchmarkData.Profile.STANDARD, new BigDecimal("1000000"), term));
+    }
+
+    @Benchmark
+    public byte[] writeBytes() throws JsonProcessingException {
+        return writer.writeValueAsBytes(credit);
+    }
+
+    @Benchmark
+    public String writeString() throws JsonProcessingException {
+        return writer.writeValueAsString(credit);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CreditDtoSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
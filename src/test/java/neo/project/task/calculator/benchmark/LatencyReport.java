@@ -0,0 +1,131 @@
+package neo.project.task.calculator.benchmark;
+
+import neo.project.task.calculator.benchmark.LoadProfile.Endpoint;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies (microseconds, HDR histograms) and response codes of the measured part of a load run.
+ * {@link #write} produces a summary plus one {@code .hgrm} percentile file per endpoint, which can be
+ * plotted side by side with the files of another release.
+ */
+final class LatencyReport {
+
+    static final int FAILED = -1;
+    static final int UNFINISHED = 0;
+
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final LoadProfile profile;
+    private final Map<Endpoint, ConcurrentHistogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Map<Integer, LongAdder>> statuses = new EnumMap<>(Endpoint.class);
+    private final ConcurrentHistogram sendLag = histogram();
+    private long sendingNanos;
+    private long unfinished;
+
+    LatencyReport(LoadProfile profile) {
+        this.profile = profile;
+        for (Endpoint endpoint : profile.endpoints().values()) {
+            latencies.put(endpoint, histogram());
+            statuses.put(endpoint, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * @param status HTTP status, {@link #FAILED} when the request failed without a response, or {@link #UNFINISHED}
+     *               when it was still unanswered at the end of the run
+     */
+    void record(Endpoint endpoint, long latencyNanos, int status) {
+        latencies.get(endpoint).recordValue(toMicros(latencyNanos));
+        statuses.get(endpoint).computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    void recordSendLag(long lagNanos) {
+        sendLag.recordValue(toMicros(lagNanos));
+    }
+
+    void finishSending(long sendingNanos) {
+        this.sendingNanos = sendingNanos;
+    }
+
+    void setUnfinished(long unfinished) {
+        this.unfinished = unfinished;
+    }
+
+    long completed() {
+        return total().getTotalCount();
+    }
+
+    void print(PrintStream out) {
+        out.println(profile.describe());
+        out.printf(Locale.ROOT, "%-13s %9s %9s %9s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "count", "req/s", "mean", "p50", "p90", "p99", "p99.9", "p99.99", "max", "statuses (latency in ms)");
+        for (Map.Entry<Endpoint, ConcurrentHistogram> entry : latencies.entrySet()) {
+            printRow(out, entry.getKey().key(), entry.getValue(), statusesOf(entry.getKey()).toString());
+        }
+        printRow(out, "total", total(), "");
+        out.printf(Locale.ROOT, "generator send lag: p99=%.3f ms max=%.3f ms, unfinished requests: %d%n",
+                sendLag.getValueAtPercentile(99) / 1000.0, sendLag.getMaxValue() / 1000.0, unfinished);
+    }
+
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")), true, StandardCharsets.UTF_8)) {
+            print(summary);
+        }
+        for (Map.Entry<Endpoint, ConcurrentHistogram> entry : latencies.entrySet()) {
+            writeDistribution(directory.resolve(entry.getKey().key() + ".hgrm"), entry.getValue());
+        }
+        writeDistribution(directory.resolve("total.hgrm"), total());
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, String statusCounts) {
+        double seconds = sendingNanos / 1e9;
+        out.printf(Locale.ROOT, "%-13s %9d %9.1f %9.3f", name, histogram.getTotalCount(),
+                seconds > 0 ? histogram.getTotalCount() / seconds : 0.0, histogram.getMean() / 1000.0);
+        for (double percentile : PERCENTILES) {
+            out.printf(Locale.ROOT, " %9.3f", histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf(Locale.ROOT, " %9.3f  %s%n", histogram.getMaxValue() / 1000.0, statusCounts);
+    }
+
+    private Map<Integer, Long> statusesOf(Endpoint endpoint) {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.get(endpoint).forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    private Histogram total() {
+        Histogram total = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+        latencies.values().forEach(total::add);
+        return total;
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static ConcurrentHistogram histogram() {
+        return new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_LATENCY_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
@@ -0,0 +1,194 @@
+package neo.project.task.calculator.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+import neo.project.task.calculator.Service.ScoringRulesProperties;
+import neo.project.task.calculator.benchmark.LoadProfile.Endpoint;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are sent at a fixed arrival rate regardless of how fast the
+ * application answers, and every latency is measured from the time the request was scheduled to start
+ * rather than from when it was actually sent. A stall in the application or in the generator itself
+ * therefore shows up in the percentiles instead of silently lowering the offered load (coordinated omission).
+ * Requests still unanswered when the drain timeout ends the run are recorded as unfinished, with the latency
+ * they had reached by then, rather than left out.
+ */
+final class LoadGenerator {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+    private static final BigDecimal MAX_AMOUNT_TO_SALARY = BigDecimal.valueOf(new ScoringRulesProperties().getMaxAmountToSalary());
+
+    private final URI baseUri;
+    private final LoadProfile profile;
+    private final ObjectMapper objectMapper;
+
+    LoadGenerator(URI baseUri, LoadProfile profile, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.profile = profile;
+        this.objectMapper = objectMapper;
+    }
+
+    LatencyReport run() throws InterruptedException {
+        Map<Endpoint, List<HttpRequest>> catalog = buildCatalog();
+        LatencyReport report = new LatencyReport(profile);
+        Map<Long, Pending> inFlight = new ConcurrentHashMap<>();
+        SplittableRandom schedule = new SplittableRandom(profile.seed());
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.rate();
+        long warmupRequests = (long) (profile.warmup().toNanos() / intervalNanos);
+        long totalRequests = warmupRequests + (long) (profile.duration().toNanos() / intervalNanos);
+
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            long start = System.nanoTime();
+            for (long i = 0; i < totalRequests; i++) {
+                long intendedStart = start + (long) (i * intervalNanos);
+                parkUntil(intendedStart);
+                Endpoint endpoint = profile.endpoints().pick(schedule);
+                List<HttpRequest> requests = catalog.get(endpoint);
+                HttpRequest request = requests.get(schedule.nextInt(requests.size()));
+                boolean measured = i >= warmupRequests;
+                if (measured) {
+                    report.recordSendLag(System.nanoTime() - intendedStart);
+                }
+
+                long id = i;
+                inFlight.put(id, new Pending(endpoint, intendedStart, measured));
+                client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - intendedStart;
+                    // Absent once the run has already recorded the request as unfinished.
+                    if (inFlight.remove(id) != null && measured) {
+                        report.record(endpoint, latency, response == null ? LatencyReport.FAILED : response.statusCode());
+                    }
+                });
+            }
+            report.finishSending(System.nanoTime() - start - (long) (warmupRequests * intervalNanos));
+            awaitInFlight(inFlight);
+            long unfinished = recordUnfinished(inFlight, report);
+            report.setUnfinished(unfinished);
+            if (unfinished > 0) {
+                client.shutdownNow();
+            }
+        }
+        return report;
+    }
+
+    private static long recordUnfinished(Map<Long, Pending> inFlight, LatencyReport report) {
+        long unfinished = 0;
+        long now = System.nanoTime();
+        for (Long id : List.copyOf(inFlight.keySet())) {
+            Pending pending = inFlight.remove(id);
+            if (pending == null) {
+                continue;
+            }
+            unfinished++;
+            if (pending.measured()) {
+                report.record(pending.endpoint(), now - pending.intendedStart(), LatencyReport.UNFINISHED);
+            }
+        }
+        return unfinished;
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static void awaitInFlight(Map<Long, Pending> inFlight) throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (!inFlight.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Serialized request bodies per endpoint, drawn once from the profile's distributions so the
+     * send loop only picks a prepared request.
+     */
+    private Map<Endpoint, List<HttpRequest>> buildCatalog() {
+        SplittableRandom random = new SplittableRandom(profile.seed()).split();
+        Map<Endpoint, List<HttpRequest>> catalog = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : profile.endpoints().values()) {
+            List<HttpRequest> requests = new ArrayList<>(profile.catalogSize());
+            for (int i = 0; i < profile.catalogSize(); i++) {
+                Object body;
+                if (endpoint.batch()) {
+                    List<Object> items = new ArrayList<>(profile.batchSize());
+                    for (int j = 0; j < profile.batchSize(); j++) {
+                        items.add(requestBody(endpoint, random));
+                    }
+                    body = items;
+                } else {
+                    body = requestBody(endpoint, random);
+                }
+                requests.add(HttpRequest.newBuilder(baseUri.resolve(endpoint.path()))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(body)))
+                        .build());
+            }
+            catalog.put(endpoint, requests);
+        }
+        return catalog;
+    }
+
+    private Object requestBody(Endpoint endpoint, SplittableRandom random) {
+        long step = 1_000;
+        BigDecimal amount = BigDecimal.valueOf(random.nextLong(profile.amountMin() / step, profile.amountMax() / step + 1) * step);
+        int term = profile.terms().pick(random);
+        boolean reject = random.nextDouble() < profile.rejectRatio();
+
+        if (endpoint == Endpoint.OFFERS || endpoint == Endpoint.OFFERS_BATCH) {
+            LoanStatementRequestDto request = BenchmarkData.loanRequest(amount, term);
+            if (reject) {
+                // Below the minimum age: a validation error.
+                request.setBirthdate(LocalDate.now().minusYears(17));
+            }
+            return request;
+        }
+        BenchmarkData.Profile[] profiles = BenchmarkData.Profile.values();
+        ScoringDataDto scoring = BenchmarkData.scoring(profiles[random.nextInt(profiles.length)], amount, term);
+        if (reject) {
+            // One kopeck more than the salary allows: the validator rounds its salary floor to the amount's scale
+            // and lets it through, the SALARY_TO_AMOUNT scoring rule refuses it.
+            BigDecimal salary = amount.divide(MAX_AMOUNT_TO_SALARY, 0, RoundingMode.DOWN);
+            scoring.getEmployment().setSalary(salary);
+            scoring.setAmount(salary.multiply(MAX_AMOUNT_TO_SALARY).add(new BigDecimal("0.01")));
+        }
+        return scoring;
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Pending(Endpoint endpoint, long intendedStart, boolean measured) {
+    }
+}
@@ -0,0 +1,152 @@
+package neo.project.task.calculator.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Traffic shape of a load run, read from {@code load.*} system properties. Two runs with the same profile
+ * and seed send the same sequence of requests, so reports of different releases are directly comparable.
+ */
+record LoadProfile(String label, double rate, Duration warmup, Duration duration, long seed,
+                   WeightedChoice<Endpoint> endpoints, WeightedChoice<Integer> terms, long amountMin, long amountMax,
+                   double rejectRatio, int batchSize, int catalogSize) {
+
+    /**
+     * Endpoints the generator can call; {@code key} is the name used in {@code load.mix}.
+     */
+    enum Endpoint {
+        OFFERS("offers", "/calculator/offers", false),
+        CALC("calc", "/calculator/calc", false),
+        OFFERS_BATCH("offers-batch", "/calculator/offers/batch", true),
+        CALC_BATCH("calc-batch", "/calculator/calc/batch", true);
+
+        private final String key;
+        private final String path;
+        private final boolean batch;
+
+        Endpoint(String key, String path, boolean batch) {
+            this.key = key;
+            this.path = path;
+            this.batch = batch;
+        }
+
+        String key() {
+            return key;
+        }
+
+        String path() {
+            return path;
+        }
+
+        boolean batch() {
+            return batch;
+        }
+
+        static Endpoint ofKey(String key) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equals(key)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint in load.mix: " + key);
+        }
+    }
+
+    LoadProfile {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("load.rate must be positive: " + rate);
+        }
+        if (rejectRatio < 0 || rejectRatio > 1) {
+            throw new IllegalArgumentException("load.reject-ratio must be within 0.0 - 1.0: " + rejectRatio);
+        }
+        if (amountMin < 1 || amountMax < amountMin) {
+            throw new IllegalArgumentException("Invalid amount range: " + amountMin + " - " + amountMax);
+        }
+        if (batchSize < 1 || catalogSize < 1) {
+            throw new IllegalArgumentException("load.batch-size and load.catalog-size must be positive");
+        }
+    }
+
+    static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                System.getProperty("load.label", "local"),
+                Double.parseDouble(System.getProperty("load.rate", "200")),
+                Duration.ofSeconds(Long.getLong("load.warmup", 10)),
+                Duration.ofSeconds(Long.getLong("load.duration", 30)),
+                Long.getLong("load.seed", 42),
+                WeightedChoice.parse(System.getProperty("load.mix", "offers=45,calc=45,offers-batch=5,calc-batch=5"), Endpoint::ofKey),
+                WeightedChoice.parse(System.getProperty("load.terms", "6=10,12=20,24=25,60=20,120=15,240=5,360=5"), Integer::valueOf),
+                Long.getLong("load.amount-min", 30_000),
+                Long.getLong("load.amount-max", 3_000_000),
+                Double.parseDouble(System.getProperty("load.reject-ratio", "0.1")),
+                Integer.getInteger("load.batch-size", 20),
+                Integer.getInteger("load.catalog-size", 512));
+    }
+
+    String describe() {
+        return String.format(Locale.ROOT,
+                "label=%s rate=%.1f/s warmup=%ds duration=%ds seed=%d mix=%s terms=%s amounts=%d-%d reject-ratio=%.2f batch-size=%d",
+                label, rate, warmup.toSeconds(), duration.toSeconds(), seed, endpoints.describe(Endpoint::key),
+                terms.describe(String::valueOf), amountMin, amountMax, rejectRatio, batchSize);
+    }
+
+    /**
+     * Discrete distribution given as {@code value=weight} pairs, e.g. {@code 12=30,24=70}.
+     */
+    record WeightedChoice<T>(List<T> values, double[] cumulativeWeights) {
+
+        static <T> WeightedChoice<T> parse(String spec, Function<String, T> parser) {
+            List<T> values = new ArrayList<>();
+            List<Double> weights = new ArrayList<>();
+            for (String pair : spec.split(",")) {
+                String[] parts = pair.trim().split("=");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Expected value=weight, got '" + pair + "' in " + spec);
+                }
+                double weight = Double.parseDouble(parts[1].trim());
+                if (weight > 0) {
+                    values.add(parser.apply(parts[0].trim()));
+                    weights.add(weight);
+                }
+            }
+            if (values.isEmpty()) {
+                throw new IllegalArgumentException("No positive weights in " + spec);
+            }
+            double[] cumulative = new double[weights.size()];
+            double total = 0;
+            for (int i = 0; i < cumulative.length; i++) {
+                total += weights.get(i);
+                cumulative[i] = total;
+            }
+            return new WeightedChoice<>(List.copyOf(values), cumulative);
+        }
+
+        T pick(SplittableRandom random) {
+            double point = random.nextDouble(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length - 1; i++) {
+                if (point < cumulativeWeights[i]) {
+                    return values.get(i);
+                }
+            }
+            return values.get(values.size() - 1);
+        }
+
+        String describe(Function<T, String> name) {
+            StringBuilder text = new StringBuilder();
+            double previous = 0;
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    text.append(',');
+                }
+                text.append(name.apply(values.get(i))).append('=')
+                        .append(String.format(Locale.ROOT, "%.0f", cumulativeWeights[i] - previous));
+                previous = cumulativeWeights[i];
+            }
+            return text.toString();
+        }
+    }
+}
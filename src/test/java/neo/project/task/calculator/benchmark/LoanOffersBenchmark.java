@@ -0,0 +1,78 @@
+package neo.project.task.calculator.benchmark;
+
+import neo.project.task.calculator.DTO.BatchItemResultDto;
+import neo.project.task.calculator.DTO.LoanOfferDto;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.Service.LoanCalculatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static neo.project.task.calculator.Service.ServiceFixtures.*;
+
+/**
+ * {@link LoanCalculatorService} for a single request and for a batch of 100 requests sharing ten
+ * distinct (amount, term) pairs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoanOffersBenchmark {
+
+    @Param({"6", "24", "120", "360"})
+    private int term;
+
+    @Param({"50000", "1000000"})
+    private String amount;
+
+    private LoanCalculatorService service;
+    private LoanStatementRequestDto request;
+    private List<LoanStatementRequestDto> batch;
+
+    @Setup
+    public void setUp() {
+        service = loanCalculatorService();
+        request = BenchmarkData.loanRequest(new BigDecimal(amount), term);
+        batch = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            batch.add(BenchmarkData.loanRequest(new BigDecimal(amount).add(BigDecimal.valueOf(i % 10)), term));
+        }
+    }
+
+    @Benchmark
+    public List<LoanOfferDto> processLoanRequest() {
+        return service.processLoanRequest(request);
+    }
+
+    @Benchmark
+    public List<BatchItemResultDto<List<LoanOfferDto>>> processLoanRequests() {
+        return service.processLoanRequests(batch);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoanOffersBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
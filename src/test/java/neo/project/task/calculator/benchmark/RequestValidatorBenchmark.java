@@ -0,0 +1,116 @@
+package neo.project.task.calculator.benchmark;
+
+import neo.project.task.calculator.DTO.EmploymentDto;
+import neo.project.task.calculator.DTO.EmploymentStatus;
+import neo.project.task.calculator.DTO.LoanStatementRequestDto;
+import neo.project.task.calculator.DTO.ScoringDataDto;
+import neo.project.task.calculator.Service.RequestValidator;
+import neo.project.task.calculator.Service.ValidationMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the shared validator with the previous {@code String.matches} checks. Run with the GC profiler
+ * ({@code -prof gc}, enabled by {@link #main}) and compare {@code gc.alloc.rate.norm} per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestValidatorBenchmark {
+
+    private static final String NAME_REGEX = "^[A-Za-zА-Яа-яЁё\\-]+$";
+    private static final String EMAIL_REGEX = "^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
+
+    private RequestValidator failFast;
+    private RequestValidator collectAll;
+    private LoanStatementRequestDto loanRequest;
+    private ScoringDataDto scoringData;
+
+    @Setup
+    public void setUp() {
+        failFast = new RequestValidator(ValidationMode.FAIL_FAST);
+        collectAll = new RequestValidator(ValidationMode.COLLECT_ALL);
+
+        loanRequest = new LoanStatementRequestDto();
+        loanRequest.setAmount(new BigDecimal("100000"));
+        loanRequest.setTerm(12);
+        loanRequest.setFirstName("Ivan");
+        loanRequest.setLastName("Ivanov");
+        loanRequest.setMiddleName("Ivanovich");
+        loanRequest.setEmail("ivanov@example.com");
+        loanRequest.setBirthdate(LocalDate.of(1985, 6, 15));
+        loanRequest.setPassportSeries("1234");
+        loanRequest.setPassportNumber("567890");
+
+        scoringData = new ScoringDataDto();
+        scoringData.setAmount(new BigDecimal("500000"));
+        scoringData.setTerm(12);
+        scoringData.setFirstName("Иван");
+        scoringData.setLastName("Иванов");
+        scoringData.setMiddleName("Иванович");
+        scoringData.setBirthdate(LocalDate.of(1990, 1, 1));
+        scoringData.setPassportSeries("1234");
+        scoringData.setPassportNumber("567890");
+        EmploymentDto employment = new EmploymentDto();
+        employment.setEmploymentStatus(EmploymentStatus.EMPLOYED);
+        employment.setSalary(new BigDecimal("100000"));
+        scoringData.setEmployment(employment);
+    }
+
+    @Benchmark
+    public String loanFailFast() {
+        return failFast.firstError(loanRequest);
+    }
+
+    @Benchmark
+    public Object loanCollectAll() {
+        return collectAll.allErrors(loanRequest);
+    }
+
+    @Benchmark
+    public boolean loanLegacyRegex() {
+        return loanRequest.getEmail().matches(EMAIL_REGEX)
+                && loanRequest.getPassportSeries().matches("\\d{4}")
+                && loanRequest.getPassportNumber().matches("\\d{6}");
+    }
+
+    @Benchmark
+    public String scoringFailFast() {
+        return failFast.firstError(scoringData);
+    }
+
+    @Benchmark
+    public boolean scoringLegacyRegex() {
+        return scoringData.getFirstName().matches(NAME_REGEX)
+                && scoringData.getLastName().matches(NAME_REGEX)
+                && scoringData.getMiddleName().matches(NAME_REGEX)
+                && scoringData.getPassportSeries().matches("\\d{4}")
+                && scoringData.getPassportNumber().matches("\\d{6}");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RequestValidatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}